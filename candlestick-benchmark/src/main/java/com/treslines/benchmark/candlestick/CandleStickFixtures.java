@@ -0,0 +1,166 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.benchmark.candlestick;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.treslines.candlestick.CandlePattern;
+import com.treslines.candlestick.CandleStickFactory;
+import com.treslines.data.model.Candle;
+import com.treslines.data.model.CandleSeries;
+
+/**
+ * Candle windows shared by all benchmarks. Windows are ordered like the
+ * factory expects them: the most recent candle first.
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+public final class CandleStickFixtures {
+
+	private static final Map<CandlePattern, List<Candle>> HITS = new EnumMap<>(CandlePattern.class);
+
+	static {
+		// close, open, high, low
+		HITS.put(CandlePattern.BULLISH_DOJI, window("7666,7663,7670,7306"));
+		HITS.put(CandlePattern.BULLISH_HAMMER, window("8126,8103,8126,8021"));
+		HITS.put(CandlePattern.BEARISH_DOJI, window("100,101,110,99.5"));
+		HITS.put(CandlePattern.BEARISH_SHOOTING_STAR, window("8103,8126,8176,8101"));
+		HITS.put(CandlePattern.BULLISH_ENGOLFER, window("7054,6942,7055,6940", "6965,7017,7019,6942"));
+		HITS.put(CandlePattern.BULLISH_PIERCING, window("7456,7254,7644,7253", "7377,7535,7535,7256"));
+		HITS.put(CandlePattern.BULLISH_TWEEZER_BOTTOM, window("1806,1800,1810,1780", "1800,1806,1808,1778"));
+		HITS.put(CandlePattern.BEARISH_ENGOLFER, window("7887,8001,8046,7883", "7985,7940,8004,7938"));
+		HITS.put(CandlePattern.BEARISH_DARK_CLOUD_COVER, window("476,480,484,471", "478,475,480,474"));
+		HITS.put(CandlePattern.BEARISH_TWEEZER_TOP, window("1800,1806,1810,1780", "1806,1800,1808,1778"));
+		HITS.put(CandlePattern.BULLISH_MORNING_STAR, window("600,500,566,499", "492,488,498,480", "545,650,577,540"));
+		HITS.put(CandlePattern.BULLISH_WHITE_SOLDIERS, window("850,750,855,745", "750,650,755,645", "600,500,610,490"));
+		HITS.put(CandlePattern.BULLISH_KICKER, window("400,500,545,380", "550,680,695,540", "700,800,855,690"));
+		HITS.put(CandlePattern.BEARISH_EVENING_STAR, window("400,470,481,399", "480,500,501,480", "436,200,437,199"));
+		HITS.put(CandlePattern.BEARISH_THREE_BLACK_CROWS, window("500,600,610,490", "650,750,755,645", "750,850,855,745"));
+		HITS.put(CandlePattern.BEARISH_KICKER, window("800,700,855,690", "680,550,695,540", "500,400,545,380"));
+	}
+
+	private CandleStickFixtures() {
+		// fixtures
+	}
+
+	/**
+	 * @return a window on which the given pattern matches
+	 * @throws IllegalStateException if the fixture does not match the pattern anymore
+	 */
+	public static List<Candle> hit(CandlePattern pattern) {
+		List<Candle> window = HITS.get(pattern);
+		if(!pattern.in(CandleStickFactory.evaluate(window))) {
+			throw new IllegalStateException(pattern + " fixture does not match");
+		}
+		return window;
+	}
+
+	/**
+	 * @return a window of the size the given pattern reads on which no pattern matches
+	 * @throws IllegalStateException if the fixture matches any pattern
+	 */
+	public static List<Candle> miss(CandlePattern pattern) {
+		List<Candle> window = window("505,500,530,470", "505,500,530,470", "505,500,530,470").subList(0, pattern.candles());
+		if(CandleStickFactory.evaluate(window) != 0) {
+			throw new IllegalStateException("miss fixture matches " + CandlePattern.toSet(CandleStickFactory.evaluate(window)));
+		}
+		return window;
+	}
+
+	/**
+	 * @param size number of candles
+	 * @return random candles, the most recent first
+	 */
+	public static List<Candle> history(int size, long seed) {
+		Random random = new Random(seed);
+		List<Candle> history = new ArrayList<>(size);
+		int price = 5000;
+		for (int i = 0; i < size; i++) {
+			int open = Math.max(1, price + random.nextInt(31) - 15);
+			int close = Math.max(1, open + random.nextInt(41) - 20);
+			int high = Math.max(open, close) + random.nextInt(11);
+			int low = Math.max(0, Math.min(open, close) - random.nextInt(11));
+			history.add(0, candle(close + "," + open + "," + high + "," + low));
+			price = close;
+		}
+		return history;
+	}
+
+	/**
+	 * @param size number of candles
+	 * @return random candles, oldest first, the same random walk as {@link #history(int, long)}
+	 */
+	public static CandleSeries series(int size, long seed) {
+		Random random = new Random(seed);
+		CandleSeries series = new CandleSeries(size);
+		int price = 5000;
+		for (int i = 0; i < size; i++) {
+			int open = Math.max(1, price + random.nextInt(31) - 15);
+			int close = Math.max(1, open + random.nextInt(41) - 20);
+			int high = Math.max(open, close) + random.nextInt(11);
+			int low = Math.max(0, Math.min(open, close) - random.nextInt(11));
+			series.add(open, high, low, close, 0);
+			price = close;
+		}
+		return series;
+	}
+
+	/**
+	 * @param size number of candles, at least the window size
+	 * @return the window followed by older random candles up to the given size
+	 */
+	public static List<Candle> padded(List<Candle> window, int size) {
+		List<Candle> candles = new ArrayList<>(window);
+		candles.addAll(history(size - window.size(), size));
+		return candles;
+	}
+
+	private static List<Candle> window(String... candles) {
+		List<Candle> window = new ArrayList<>();
+		for (String values : candles) {
+			window.add(candle(values));
+		}
+		return window;
+	}
+
+	private static Candle candle(String values) {
+		String[] prices = values.split(",");
+		Candle candle = new Candle();
+		candle.setClose(prices[0]);
+		candle.setOpen(prices[1]);
+		candle.setMax(prices[2]);
+		candle.setMin(prices[3]);
+		candle.setTime("17:00");
+		candle.setMarket("BTC-ETH");
+		candle.setDate("2018-01-01");
+		candle.setInterval("fiveMin");
+		candle.setBaseVolume("123456");
+		candle.setVolume("123456");
+		return candle;
+	}
+
+}
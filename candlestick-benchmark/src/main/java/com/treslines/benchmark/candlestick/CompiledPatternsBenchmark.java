@@ -0,0 +1,133 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.benchmark.candlestick;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.treslines.candlestick.AdaptivePatterns;
+import com.treslines.candlestick.CandleStickFactory;
+import com.treslines.candlestick.CompiledPatterns;
+import com.treslines.candlestick.PatternDefinitions;
+import com.treslines.data.model.CandleSeries;
+import com.treslines.data.model.NumericCandle;
+
+/**
+ * Built-in patterns against the same patterns compiled from their declarative definitions.
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompiledPatternsBenchmark {
+
+	private static final int WINDOWS = 4096;
+
+	private static final CompiledPatterns COMPILED = CompiledPatterns.compile(PatternDefinitions.standard());
+	private static final MethodHandle STANDARD = COMPILED.handle();
+
+	private final NumericCandle[] candles = new NumericCandle[WINDOWS + 2];
+	private CompiledPatterns planned;
+	private AdaptivePatterns adaptive;
+	private AdaptivePatterns adaptiveOften;
+	private int next;
+
+	@Setup
+	public void setup() {
+		CandleSeries series = CandleStickFixtures.series(candles.length, WINDOWS);
+		for (int i = 0; i < candles.length; i++) {
+			candles[i] = series.load(i, new NumericCandle());
+		}
+		AdaptivePatterns adaptive = new AdaptivePatterns(PatternDefinitions.standard(), 1, WINDOWS, 0);
+		for (int i = 0; i < WINDOWS; i++) {
+			adaptive.evaluate(candles[i + 2], candles[i + 1], candles[i]);
+		}
+		adaptive.replan();
+		planned = adaptive.getCompiled();
+		this.adaptive = new AdaptivePatterns(PatternDefinitions.standard());
+		this.adaptiveOften = new AdaptivePatterns(PatternDefinitions.standard(), AdaptivePatterns.DEFAULT_SAMPLING,
+				AdaptivePatterns.DEFAULT_SAMPLES, 1 << 20);
+	}
+
+	@Benchmark
+	public int builtIn() {
+		int i = advance();
+		return CandleStickFactory.evaluate(candles[i + 2], candles[i + 1], candles[i]);
+	}
+
+	/** the handle in a static final field, inlined by the JIT */
+	@Benchmark
+	public int compiled() throws Throwable {
+		int i = advance();
+		return (int) STANDARD.invokeExact(candles[i + 2], candles[i + 1], candles[i]);
+	}
+
+	/** the generated evaluator called over the compiled patterns object */
+	@Benchmark
+	public int compiledEvaluate() {
+		int i = advance();
+		return COMPILED.evaluate(candles[i + 2], candles[i + 1], candles[i]);
+	}
+
+	/** the same patterns with their conditions reordered by {@link AdaptivePatterns} */
+	@Benchmark
+	public int planned() {
+		int i = advance();
+		return planned.evaluate(candles[i + 2], candles[i + 1], candles[i]);
+	}
+
+	/** sampling and replanning on the caller's thread with the default settings */
+	@Benchmark
+	public int adaptive() {
+		int i = advance();
+		return adaptive.evaluate(candles[i + 2], candles[i + 1], candles[i]);
+	}
+
+	/** the same, planning again every 2^20 windows */
+	@Benchmark
+	public int adaptiveOften() {
+		int i = advance();
+		return adaptiveOften.evaluate(candles[i + 2], candles[i + 1], candles[i]);
+	}
+
+	private int advance() {
+		next = (next + 1) & (WINDOWS - 1);
+		return next;
+	}
+
+}
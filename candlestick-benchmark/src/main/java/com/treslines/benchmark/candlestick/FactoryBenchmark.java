@@ -0,0 +1,102 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.benchmark.candlestick;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.treslines.candlestick.CandlePattern;
+import com.treslines.candlestick.CandleStickFactory;
+import com.treslines.data.model.Candle;
+
+/**
+ * Cost of each factory entry point depending on the size of the list handed over.
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FactoryBenchmark {
+
+	@Param({"3", "10", "100", "1000", "10000"})
+	private int size;
+
+	private List<Candle> candles;
+
+	@Setup
+	public void setup() {
+		candles = CandleStickFixtures.padded(CandleStickFixtures.hit(CandlePattern.BULLISH_MORNING_STAR), size);
+	}
+
+	@Benchmark
+	public boolean singleBullish() {
+		return CandleStickFactory.single(candles).isBullish();
+	}
+
+	@Benchmark
+	public boolean singleBearish() {
+		return CandleStickFactory.single(candles).isBearish();
+	}
+
+	@Benchmark
+	public boolean doublBullish() {
+		return CandleStickFactory.doubl(candles).isBullish();
+	}
+
+	@Benchmark
+	public boolean doublBearish() {
+		return CandleStickFactory.doubl(candles).isBearish();
+	}
+
+	@Benchmark
+	public boolean tripleBullish() {
+		return CandleStickFactory.triple(candles).isBullish();
+	}
+
+	@Benchmark
+	public boolean tripleBearish() {
+		return CandleStickFactory.triple(candles).isBearish();
+	}
+
+	@Benchmark
+	public int evaluate() {
+		return CandleStickFactory.evaluate(candles);
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.benchmark.candlestick;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.treslines.candlestick.CandlePattern;
+import com.treslines.candlestick.CandleStickFactory;
+import com.treslines.candlestick.CandleStickFactory.CandleStick;
+import com.treslines.data.model.Candle;
+
+/**
+ * Cost of each individual pattern on a window where it matches (hit) and
+ * on a window where nothing matches (miss).
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatternBenchmark {
+
+	@Param
+	private CandlePattern pattern;
+
+	@Param({"hit", "miss"})
+	private String input;
+
+	private List<Candle> window;
+
+	@Setup
+	public void setup() {
+		window = "hit".equals(input) ? CandleStickFixtures.hit(pattern) : CandleStickFixtures.miss(pattern);
+	}
+
+	/** the group checker of the pattern, asked for the pattern's direction */
+	@Benchmark
+	public boolean checker() {
+		CandleStick checker;
+		if(pattern.candles() == 1) {
+			checker = CandleStickFactory.single(window);
+		}else if(pattern.candles() == 2) {
+			checker = CandleStickFactory.doubl(window);
+		}else {
+			checker = CandleStickFactory.triple(window);
+		}
+		return pattern.isBullish() ? checker.isBullish() : checker.isBearish();
+	}
+
+	/** all patterns in one pass, reading the pattern's bit */
+	@Benchmark
+	public boolean evaluate() {
+		return pattern.in(CandleStickFactory.evaluate(window));
+	}
+
+}
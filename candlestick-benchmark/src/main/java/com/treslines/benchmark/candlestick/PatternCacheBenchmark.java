@@ -0,0 +1,86 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.benchmark.candlestick;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.treslines.candlestick.CandleStickFactory;
+import com.treslines.candlestick.PatternCache;
+import com.treslines.data.model.Candle;
+
+/**
+ * Strategies asking about the same latest candles again and again, with and without the cache.
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatternCacheBenchmark {
+
+	private static final int WINDOWS = 64;
+
+	private List<Candle> history;
+	private PatternCache cache;
+	private int next;
+
+	@Setup
+	public void setup() {
+		history = CandleStickFixtures.history(WINDOWS + 2, 2026);
+		for (int i = 0; i < history.size(); i++) {
+			history.get(i).setId(i + 1);
+		}
+		cache = new PatternCache(1024);
+	}
+
+	@Benchmark
+	public int factory() {
+		return CandleStickFactory.evaluate(window());
+	}
+
+	@Benchmark
+	public int cached() {
+		return cache.evaluate(window());
+	}
+
+	private List<Candle> window() {
+		next = (next + 1) & (WINDOWS - 1);
+		return history.subList(next, next + 3);
+	}
+
+}
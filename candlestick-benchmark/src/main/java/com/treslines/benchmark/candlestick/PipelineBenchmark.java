@@ -0,0 +1,115 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+
+package com.treslines.benchmark.candlestick;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.treslines.candlestick.DetectionPipeline;
+import com.treslines.candlestick.StreamingCandleStickDetector;
+import com.treslines.candlestick.WaitStrategy;
+import com.treslines.data.model.Candle;
+import com.treslines.data.model.NumericCandle;
+
+/**
+ * Latency distribution of handing one closed candle over on the ingestion thread:
+ * detecting inline or passing it to a {@link DetectionPipeline} drained by a consumer
+ * thread. Needs three free cores to be meaningful with {@link WaitStrategy#BUSY_SPIN}.
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelineBenchmark {
+
+	private static final int CANDLES = 4096;
+
+	@Param({"YIELD", "PARK", "BUSY_SPIN"})
+	private WaitStrategy wait;
+
+	private final NumericCandle[] candles = new NumericCandle[CANDLES];
+	private final StreamingCandleStickDetector detector = new StreamingCandleStickDetector();
+	private DetectionPipeline pipeline;
+	private Thread consumer;
+	private int next;
+
+	@Setup
+	public void setup() {
+		List<Candle> history = CandleStickFixtures.history(CANDLES, CANDLES);
+		for (int i = 0; i < CANDLES; i++) {
+			candles[i] = NumericCandle.of(history.get(CANDLES - 1 - i));
+		}
+		pipeline = new DetectionPipeline(1024, wait);
+		consumer = new Thread() {
+			public void run() {
+				DetectionPipeline.SignalHandler handler = new DetectionPipeline.SignalHandler() {
+					public void onSignal(NumericCandle candle, int patterns) {
+						// signals are only drained
+					}
+				};
+				while (pipeline.take(handler) > 0) {
+					// until the pipeline has terminated
+				}
+			}
+		};
+		consumer.setDaemon(true);
+		consumer.start();
+	}
+
+	@TearDown
+	public void tearDown() throws InterruptedException {
+		pipeline.shutdown();
+		consumer.join();
+	}
+
+	@Benchmark
+	public int inline() {
+		next = (next + 1) & (CANDLES - 1);
+		return detector.onCandle(candles[next]);
+	}
+
+	@Benchmark
+	public void pipeline() {
+		next = (next + 1) & (CANDLES - 1);
+		pipeline.onCandle(candles[next]);
+	}
+
+}
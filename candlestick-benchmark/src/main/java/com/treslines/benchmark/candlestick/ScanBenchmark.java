@@ -0,0 +1,93 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.benchmark.candlestick;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.treslines.candlestick.CandleStickFactory;
+import com.treslines.data.model.CandleHistory;
+import com.treslines.data.model.CandleSeries;
+import com.treslines.data.model.NumericCandle;
+
+/**
+ * Whole history scans: window by window, batch kernel and fork/join on all cores.
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScanBenchmark {
+
+	@Param({"100000", "10000000"})
+	private int size;
+
+	private CandleSeries series;
+	private CandleHistory windows;
+
+	@Setup
+	public void setup() {
+		series = CandleStickFixtures.series(size, size);
+		// hides the columns, so the scan falls back to evaluating window by window
+		windows = new CandleHistory() {
+			public int size() {
+				return series.size();
+			}
+
+			public NumericCandle load(int index, NumericCandle candle) {
+				return series.load(index, candle);
+			}
+		};
+	}
+
+	@Benchmark
+	public int[] perWindow() {
+		return CandleStickFactory.scan(windows);
+	}
+
+	@Benchmark
+	public int[] sequential() {
+		return CandleStickFactory.scan(series);
+	}
+
+	@Benchmark
+	public int[] parallel() {
+		return CandleStickFactory.parallelScan(series);
+	}
+
+}
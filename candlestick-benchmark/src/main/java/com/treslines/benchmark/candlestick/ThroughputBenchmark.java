@@ -0,0 +1,97 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.benchmark.candlestick;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.treslines.candlestick.CandleStickFactory;
+import com.treslines.candlestick.StreamingCandleStickDetector;
+import com.treslines.data.model.Candle;
+
+/**
+ * Multi threaded throughput: every thread checks its own market, the way a
+ * live system checks many markets on every candle close.
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class ThroughputBenchmark {
+
+	private static final int WINDOW = 3;
+
+	private List<Candle> history;
+	private StreamingCandleStickDetector detector;
+	private int next;
+
+	@Setup
+	public void setup() {
+		history = CandleStickFixtures.history(4096, Thread.currentThread().getId());
+		detector = new StreamingCandleStickDetector();
+	}
+
+	/** rebuilds the window list on every close, the way callers use the factory today */
+	@Benchmark
+	public int factory() {
+		int index = advance();
+		List<Candle> window = history.subList(index, index + WINDOW);
+		int result = 0;
+		if(CandleStickFactory.single(window).isBullish() || CandleStickFactory.doubl(window).isBullish() || CandleStickFactory.triple(window).isBullish()) {
+			result |= 1;
+		}
+		if(CandleStickFactory.single(window).isBearish() || CandleStickFactory.doubl(window).isBearish() || CandleStickFactory.triple(window).isBearish()) {
+			result |= 2;
+		}
+		return result;
+	}
+
+	/** hands every close to a streaming detector */
+	@Benchmark
+	public int streaming() {
+		return detector.onCandle(history.get(advance()));
+	}
+
+	private int advance() {
+		next = next == history.size() - WINDOW ? 0 : next + 1;
+		return next;
+	}
+
+}
@@ -0,0 +1,82 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.benchmark.candlestick;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.treslines.candlestick.TickCandleBuilder;
+import com.treslines.data.model.CandleInterval;
+
+/**
+ * Trades per second through a candle builder, one candle closing every 1,000 trades.
+ * Run it with -prof gc to see that nothing is allocated per trade.
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickBenchmark {
+
+	private static final int TRADES = 4096;
+
+	private final double[] prices = new double[TRADES];
+	private TickCandleBuilder builder;
+	private long timestamp;
+	private int next;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(TRADES);
+		double price = 5000;
+		for (int i = 0; i < TRADES; i++) {
+			price += random.nextInt(11) - 5;
+			prices[i] = price;
+		}
+		builder = new TickCandleBuilder("BTC-ETH", CandleInterval.ONE_MIN);
+	}
+
+	@Benchmark
+	public int trade() {
+		next = (next + 1) & (TRADES - 1);
+		// 60 millis per trade, so every 1,000th trade starts a new minute
+		timestamp += 60;
+		return builder.onTrade(timestamp, prices[next], 0.5);
+	}
+
+}
@@ -0,0 +1,296 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.candlestick;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.treslines.data.model.NumericCandle;
+
+/**
+ * {@link CompiledPatterns} which reorder the conditions of every pattern to the
+ * windows they actually see. Most windows match no pattern at all, so what counts is
+ * how soon a window is rejected: a condition which is cheap and rejects many windows
+ * should run first, an expensive one which rarely rejects last.
+ * <p>
+ * Every {@code sampling}th window is copied into a ring of samples. After every
+ * {@code replanEvery} windows, each pattern's {@link PatternCondition#allOf(PatternCondition...)}
+ * terms are checked on the samples: the term with the lowest cost per rejected window
+ * goes first, the next one is chosen among the windows it lets pass, and so on. The
+ * cost of a term is estimated from the instructions it compiles to, since timing a
+ * term outside of the compiled class says little about its cost inside. The
+ * reordered patterns are compiled again and replace the current ones, patterns starting
+ * with the same term next to each other so it is checked once for all of them. A plan
+ * equal to the current one is dropped, so a class is only compiled, and has to warm up
+ * again, when the traffic has really changed.
+ * Conditions only read the candles, so their order never changes a result, just its cost.
+ * <p>
+ * Like the {@link StreamingCandleStickDetector}, an instance serves one thread.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public class AdaptivePatterns {
+
+	/** default: one window in 16 is sampled */
+	public static final int DEFAULT_SAMPLING = 16;
+	/** default: the last 1024 sampled windows are profiled */
+	public static final int DEFAULT_SAMPLES = 1024;
+	/** default: patterns are planned again after 2^26 windows, about every two seconds at full load */
+	public static final long DEFAULT_REPLAN_EVERY = 1 << 26;
+
+	private final List<PatternDefinition> definitions;
+	private final int sampling;
+	private final long replanEvery;
+	private final NumericCandle[][] samples;
+	private final int[] sizes;
+	/** slot the next sample is written to */
+	private int next;
+	/** number of slots holding a sample, up to samples.length */
+	private int filled;
+	private long windows;
+	/** windows left until the next sample, 0 samples the current one */
+	private int untilSample;
+	/** windows left until the next plan */
+	private long untilReplan;
+	private int plans;
+	private int compiles;
+	private List<PatternDefinition> plan;
+	private int[] order;
+	private CompiledPatterns compiled;
+
+	/**
+	 * @param definitions the patterns to check, at most {@link CompiledPatterns#MAX_PATTERNS}
+	 */
+	public AdaptivePatterns(List<PatternDefinition> definitions) {
+		this(definitions, DEFAULT_SAMPLING, DEFAULT_SAMPLES, DEFAULT_REPLAN_EVERY);
+	}
+
+	/**
+	 * @param definitions the patterns to check, at most {@link CompiledPatterns#MAX_PATTERNS}
+	 * @param sampling one window in sampling is copied for profiling
+	 * @param samples number of sampled windows kept, the oldest ones are replaced
+	 * @param replanEvery windows between two plans, 0 to plan only on {@link #replan()}
+	 */
+	public AdaptivePatterns(List<PatternDefinition> definitions, int sampling, int samples, long replanEvery) {
+		if(sampling < 1 || samples < 1 || replanEvery < 0) {
+			throw new IllegalArgumentException("Sampling and samples must be positive, replanEvery must not be negative");
+		}
+		this.definitions = Collections.unmodifiableList(new ArrayList<>(definitions));
+		this.sampling = sampling;
+		this.replanEvery = replanEvery;
+		this.untilReplan = replanEvery;
+		this.samples = new NumericCandle[samples][3];
+		this.sizes = new int[samples];
+		this.plan = this.definitions;
+		this.order = order(plan);
+		this.compiled = CompiledPatterns.compile(plan, order);
+	}
+
+	/**
+	 * @param current the most recent candle
+	 * @param middle the candle before current or null if there is none
+	 * @param last the candle before middle or null if there is none
+	 * @return the mask of the patterns found in this window, bit i standing for definition i
+	 */
+	public int evaluate(NumericCandle current, NumericCandle middle, NumericCandle last) {
+		windows++;
+		// countdowns rather than two long divisions per window
+		if(--untilSample < 0) {
+			untilSample = sampling - 1;
+			sample(current, middle, last);
+		}
+		if(--untilReplan == 0) {
+			untilReplan = replanEvery;
+			replan();
+		}
+		return compiled.evaluate(current, middle, last);
+	}
+
+	/**
+	 * Profiles the sampled windows and compiles the patterns in the order found, unless
+	 * it is the current order. Nothing changes while no window has been sampled.
+	 */
+	public void replan() {
+		if(filled == 0) {
+			return;
+		}
+		List<PatternDefinition> planned = new ArrayList<>(definitions.size());
+		for (PatternDefinition definition : definitions) {
+			planned.add(plan(definition, filled));
+		}
+		plans++;
+		int[] plannedOrder = order(planned);
+		if(Arrays.equals(plannedOrder, order) && sameConditions(planned, plan)) {
+			return;
+		}
+		plan = Collections.unmodifiableList(planned);
+		order = plannedOrder;
+		compiled = CompiledPatterns.compile(plan, order);
+		compiles++;
+	}
+
+	/** @return the definitions in their current order of conditions, the order of the definitions never changes */
+	public List<PatternDefinition> getPlan() {
+		return plan;
+	}
+
+	/** @return indexes of the definitions in the order they are checked */
+	public int[] getOrder() {
+		return order.clone();
+	}
+
+	/** @return the patterns currently evaluated */
+	public CompiledPatterns getCompiled() {
+		return compiled;
+	}
+
+	/** @return number of plans made so far */
+	public int getPlans() {
+		return plans;
+	}
+
+	/** @return number of plans which changed the order and were compiled */
+	public int getCompiles() {
+		return compiles;
+	}
+
+	/** @return windows evaluated so far */
+	public long getWindows() {
+		return windows;
+	}
+
+	private void sample(NumericCandle current, NumericCandle middle, NumericCandle last) {
+		int slot = next;
+		next = next + 1 == samples.length ? 0 : next + 1;
+		if(filled < samples.length) {
+			filled++;
+		}
+		NumericCandle[] window = samples[slot];
+		int size = middle == null ? 1 : last == null ? 2 : 3;
+		NumericCandle[] candles = {current, middle, last};
+		for (int i = 0; i < size; i++) {
+			if(window[i] == null) {
+				window[i] = new NumericCandle();
+			}
+			window[i].set(candles[i]);
+		}
+		sizes[slot] = size;
+	}
+
+	private static boolean sameConditions(List<PatternDefinition> planned, List<PatternDefinition> current) {
+		for (int i = 0; i < planned.size(); i++) {
+			if(!planned.get(i).getCondition().toString().equals(current.get(i).getCondition().toString())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Patterns starting with the same term are checked in a row, so the compiled class
+	 * checks that term once for all of them. Otherwise the order of the definitions is kept.
+	 */
+	private static int[] order(List<PatternDefinition> plan) {
+		Map<String, List<Integer>> leads = new LinkedHashMap<>();
+		for (int i = 0; i < plan.size(); i++) {
+			String lead = plan.get(i).getCondition().terms()[0].toString();
+			List<Integer> group = leads.get(lead);
+			if(group == null) {
+				group = new ArrayList<>();
+				leads.put(lead, group);
+			}
+			group.add(i);
+		}
+		int[] order = new int[plan.size()];
+		int next = 0;
+		for (List<Integer> group : leads.values()) {
+			for (int index : group) {
+				order[next++] = index;
+			}
+		}
+		return order;
+	}
+
+	/**
+	 * Greedy order of the terms: the one rejecting most windows per unit of cost first,
+	 * then the best one on the windows left, until no window is left.
+	 */
+	private PatternDefinition plan(PatternDefinition definition, int count) {
+		PatternCondition[] terms = definition.getCondition().terms();
+		if(terms.length == 1) {
+			return definition;
+		}
+		int[] alive = new int[count];
+		int size = 0;
+		for (int i = 0; i < count; i++) {
+			if(sizes[i] >= definition.candles()) {
+				alive[size++] = i;
+			}
+		}
+		List<PatternCondition> left = new ArrayList<>(Arrays.asList(terms));
+		List<PatternCondition> ordered = new ArrayList<>(terms.length);
+		boolean[] passed = new boolean[size];
+		boolean[] best = new boolean[size];
+		while (!left.isEmpty() && size > 0) {
+			int choice = 0;
+			double choiceRank = Double.POSITIVE_INFINITY;
+			double choiceCost = Double.POSITIVE_INFINITY;
+			for (int t = 0; t < left.size(); t++) {
+				PatternCondition term = left.get(t);
+				int rejected = 0;
+				for (int i = 0; i < size; i++) {
+					NumericCandle[] window = samples[alive[i]];
+					passed[i] = term.test(window[0], window[1], window[2]);
+					rejected += passed[i] ? 0 : 1;
+				}
+				double cost = term.cost();
+				// cost per rejected window, infinite if it rejects none of them
+				double rank = rejected == 0 ? Double.POSITIVE_INFINITY : cost * size / rejected;
+				if(rank < choiceRank || (rank == choiceRank && cost < choiceCost)) {
+					choice = t;
+					choiceRank = rank;
+					choiceCost = cost;
+					System.arraycopy(passed, 0, best, 0, size);
+				}
+			}
+			ordered.add(left.remove(choice));
+			int survivors = 0;
+			for (int i = 0; i < size; i++) {
+				if(best[i]) {
+					alive[survivors++] = alive[i];
+				}
+			}
+			size = survivors;
+		}
+		// terms never reached by a sampled window keep their order
+		ordered.addAll(left);
+		PatternCondition condition = PatternCondition.allOf(ordered.toArray(new PatternCondition[ordered.size()]));
+		return new PatternDefinition(definition.getName(), definition.isBullish(), condition);
+	}
+
+}
@@ -0,0 +1,150 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.candlestick;
+
+import java.util.EnumSet;
+
+/**
+ * All candle stick patterns checked by this library. Each pattern owns one bit
+ * of an int mask, so the patterns found in a window can be returned as a single
+ * primitive value.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public enum CandlePattern {
+
+	BULLISH_DOJI(1, true),
+	BULLISH_HAMMER(1, true),
+	BEARISH_DOJI(1, false),
+	BEARISH_SHOOTING_STAR(1, false),
+	BULLISH_ENGOLFER(2, true),
+	BULLISH_PIERCING(2, true),
+	BULLISH_TWEEZER_BOTTOM(2, true),
+	BEARISH_ENGOLFER(2, false),
+	BEARISH_DARK_CLOUD_COVER(2, false),
+	BEARISH_TWEEZER_TOP(2, false),
+	BULLISH_MORNING_STAR(3, true),
+	BULLISH_WHITE_SOLDIERS(3, true),
+	BULLISH_KICKER(3, true),
+	BEARISH_EVENING_STAR(3, false),
+	BEARISH_THREE_BLACK_CROWS(3, false),
+	BEARISH_KICKER(3, false);
+
+	/** mask of all bullish patterns */
+	public static final int BULLISH_MASK = maskOf(true);
+
+	/** mask of all bearish patterns */
+	public static final int BEARISH_MASK = maskOf(false);
+
+	/** mask of all single candle patterns, see {@link CandleStickFactory#single(java.util.List)} */
+	public static final int SINGLE_MASK = maskOf(1);
+
+	/** mask of all double candle patterns, see {@link CandleStickFactory#doubl(java.util.List)} */
+	public static final int DOUBLE_MASK = maskOf(2);
+
+	/** mask of all triple candle patterns, see {@link CandleStickFactory#triple(java.util.List)} */
+	public static final int TRIPLE_MASK = maskOf(3);
+
+	private final int candles;
+	private final boolean bullish;
+
+	private CandlePattern(int candles, boolean bullish) {
+		this.candles = candles;
+		this.bullish = bullish;
+	}
+
+	/** @return the bit of this pattern in a pattern mask */
+	public int mask() {
+		return 1 << ordinal();
+	}
+
+	/** @return how many candles this pattern reads: 1, 2 or 3 */
+	public int candles() {
+		return candles;
+	}
+
+	/** @return true if this is a bullish pattern, false if bearish */
+	public boolean isBullish() {
+		return bullish;
+	}
+
+	/**
+	 * @param mask a pattern mask
+	 * @return true if this pattern is contained in the mask
+	 */
+	public boolean in(int mask) {
+		return (mask & mask()) != 0;
+	}
+
+	/**
+	 * @param mask a pattern mask
+	 * @return true if the mask contains at least one bullish pattern
+	 */
+	public static boolean isBullish(int mask) {
+		return (mask & BULLISH_MASK) != 0;
+	}
+
+	/**
+	 * @param mask a pattern mask
+	 * @return true if the mask contains at least one bearish pattern
+	 */
+	public static boolean isBearish(int mask) {
+		return (mask & BEARISH_MASK) != 0;
+	}
+
+	/**
+	 * @param mask a pattern mask
+	 * @return the patterns contained in the mask
+	 */
+	public static EnumSet<CandlePattern> toSet(int mask) {
+		EnumSet<CandlePattern> patterns = EnumSet.noneOf(CandlePattern.class);
+		for (CandlePattern pattern : values()) {
+			if(pattern.in(mask)) {
+				patterns.add(pattern);
+			}
+		}
+		return patterns;
+	}
+
+	private static int maskOf(boolean bullish) {
+		int result = 0;
+		for (CandlePattern pattern : values()) {
+			if(pattern.bullish == bullish) {
+				result |= pattern.mask();
+			}
+		}
+		return result;
+	}
+
+	private static int maskOf(int candles) {
+		int result = 0;
+		for (CandlePattern pattern : values()) {
+			if(pattern.candles == candles) {
+				result |= pattern.mask();
+			}
+		}
+		return result;
+	}
+
+}
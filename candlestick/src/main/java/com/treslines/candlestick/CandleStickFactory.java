@@ -19,12 +19,17 @@ CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFT
 OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
 */
 
+
 package com.treslines.candlestick;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import com.treslines.data.model.Candle;
+import com.treslines.data.model.CandleHistory;
+import com.treslines.data.model.CandleSeries;
+import com.treslines.data.model.FixedPointCandle;
+import com.treslines.data.model.NumericCandle;
 
 /**
  * Candle stick pattern checker factory
@@ -33,6 +38,11 @@ import com.treslines.data.model.Candle;
  */
 public class CandleStickFactory {
 
+	/** candles scanned sequentially per task by {@link #parallelScan(CandleHistory)}, large enough to amortize the forking */
+	public static final int PARALLEL_CHUNK_SIZE = 16384;
+
+	private static final CandleStickMetrics METRICS = CandleStickMetrics.getInstance();
+
 	private CandleStickFactory() {
 		// Factory
 	}
@@ -46,6 +56,15 @@ public class CandleStickFactory {
 		return new SingleCandleStickPattern(candles);
 	}
 	
+	/**
+	 * Use it to check for single candle stick pattern signals on already parsed candles.
+	 * @param candles the most recent tick first
+	 * @return SingleCandleStickPattern on which you call isBullish() or isBearish() on it.
+	 */
+	public static CandleStick single(NumericCandle... candles) {
+		return new SingleCandleStickPattern(candles);
+	}
+	
 	/**
 	 * Use it to check for double candle stick pattern signals.
 	 * @param candles the most recent last three ticks
@@ -55,6 +74,15 @@ public class CandleStickFactory {
 		return new DoubleCandleStickPattern(candles);
 	}
 	
+	/**
+	 * Use it to check for double candle stick pattern signals on already parsed candles.
+	 * @param candles the most recent tick first
+	 * @return DoubleCandleStickPattern on which you call isBullish() or isBearish() on it.
+	 */
+	public static CandleStick doubl(NumericCandle... candles) {
+		return new DoubleCandleStickPattern(candles);
+	}
+	
 	/**
 	 * Use it to check for triple candle stick pattern signals.
 	 * @param candles the most recent last four ticks
@@ -64,68 +92,217 @@ public class CandleStickFactory {
 		return new TripleCandleStickPattern(candles);
 	}
 	
+	/**
+	 * Use it to check for triple candle stick pattern signals on already parsed candles.
+	 * @param candles the most recent tick first
+	 * @return TripleCandleStickPattern on which you call isBullish() or isBearish() on it.
+	 */
+	public static CandleStick triple(NumericCandle... candles) {
+		return new TripleCandleStickPattern(candles);
+	}
+	
+	/**
+	 * Use it to find out which patterns match, checking all of them in one pass.
+	 * @param candles the most recent last ticks, the most recent first
+	 * @return the {@link CandlePattern} mask of all matching patterns, see {@link CandlePattern#toSet(int)}
+	 */
+	public static int evaluate(List<Candle> candles) {
+		int result = 0;
+		if(Pattern.isCandleListValid(candles, 1)) {
+			NumericCandle current = NumericCandle.of(candles.get(0));
+			NumericCandle middle = Pattern.isCandleListValid(candles, 2) ? NumericCandle.of(candles.get(1)) : null;
+			NumericCandle last = middle != null && Pattern.isCandleListValid(candles, 3) ? NumericCandle.of(candles.get(2)) : null;
+			result = PatternEvaluator.evaluate(current, middle, last);
+		}
+		return result;
+	}
+	
+	/**
+	 * Use it to find out which patterns match on already parsed candles, checking all of them in one pass.
+	 * @param candles the most recent tick first
+	 * @return the {@link CandlePattern} mask of all matching patterns, see {@link CandlePattern#toSet(int)}
+	 */
+	public static int evaluate(NumericCandle... candles) {
+		int result = 0;
+		if(Pattern.isCandleArrayValid(candles, 1)) {
+			NumericCandle middle = candles.length > 1 ? candles[1] : null;
+			NumericCandle last = middle != null && candles.length > 2 ? candles[2] : null;
+			result = PatternEvaluator.evaluate(candles[0], middle, last);
+		}
+		return result;
+	}
+	
+	/**
+	 * Use it to find out which patterns match on fixed point candles. All prices are compared
+	 * exactly in ticks, see {@link com.treslines.data.model.TickSize}.
+	 * @param candles the most recent tick first, all expressed in the same tick size
+	 * @return the {@link CandlePattern} mask of all matching patterns, see {@link CandlePattern#toSet(int)}
+	 */
+	public static int evaluate(FixedPointCandle... candles) {
+		int result = 0;
+		if(Pattern.isCandleArrayValid(candles, 1)) {
+			FixedPointCandle middle = candles.length > 1 ? candles[1] : null;
+			FixedPointCandle last = middle != null && candles.length > 2 ? candles[2] : null;
+			result = FixedPointPatternEvaluator.evaluate(candles[0], middle, last);
+		}
+		return result;
+	}
+	
+	/**
+	 * Use it to check all patterns at every index of a candle history in one sequential pass.
+	 * @param series the candle history, oldest candle first, e.g. a {@link CandleSeries} (evaluated by
+	 * {@link PatternKernel}) or a {@link com.treslines.data.CandleHistoryFile} scanned in place
+	 * @return the {@link CandlePattern} mask found at each index, where index i is the most recent candle of its window
+	 */
+	public static int[] scan(CandleHistory series) {
+		int[] hits = new int[series.size()];
+		scan(series, 0, series.size(), hits);
+		return hits;
+	}
+	
+	/**
+	 * Use it to check all patterns for a range of a candle history. Windows at the start
+	 * of the range still read the two candles before it, if there are any.
+	 * @param series the candle history, oldest candle first
+	 * @param from first index to check (inclusive)
+	 * @param to last index to check (exclusive)
+	 * @param hits receives the {@link CandlePattern} mask found at each index of the range
+	 */
+	public static void scan(CandleHistory series, int from, int to, int[] hits) {
+		if(series instanceof CandleSeries) {
+			// columns in memory, evaluate them straight from the arrays
+			CandleSeries columns = (CandleSeries) series;
+			PatternKernel.evaluate(columns.getOpenColumn(), columns.getHighColumn(), columns.getLowColumn(), columns.getCloseColumn(), from, to, hits);
+			return;
+		}
+		NumericCandle current = new NumericCandle();
+		NumericCandle middle = new NumericCandle();
+		NumericCandle last = new NumericCandle();
+		if(from > 0) {
+			series.load(from - 1, current);
+		}
+		if(from > 1) {
+			series.load(from - 2, middle);
+		}
+		for (int i = from; i < to; i++) {
+			// reuse the oldest candle for the new window instead of creating a new one
+			NumericCandle recycled = last;
+			last = middle;
+			middle = current;
+			current = series.load(i, recycled);
+			hits[i] = PatternEvaluator.evaluate(current, i > 0 ? middle : null, i > 1 ? last : null);
+		}
+	}
+	
+	/**
+	 * Use it to check all patterns at every index of a long candle history on all cores of the
+	 * common fork/join pool. The result is exactly the same as the one of {@link #scan(CandleHistory)}.
+	 * @param series the candle history, oldest candle first, safe to be read from several threads
+	 * @return the {@link CandlePattern} mask found at each index, where index i is the most recent candle of its window
+	 */
+	public static int[] parallelScan(CandleHistory series) {
+		return parallelScan(series, ForkJoinPool.commonPool(), PARALLEL_CHUNK_SIZE);
+	}
+	
+	/**
+	 * Use it to check all patterns at every index of a long candle history in parallel. The history
+	 * is split into chunks scanned on their own, each one reading the two candles before it.
+	 * @param series the candle history, oldest candle first, safe to be read from several threads
+	 * @param pool the pool running the scan
+	 * @param chunkSize max candles scanned sequentially by one task
+	 * @return the {@link CandlePattern} mask found at each index, the same as {@link #scan(CandleHistory)}
+	 */
+	public static int[] parallelScan(CandleHistory series, ForkJoinPool pool, int chunkSize) {
+		if(chunkSize < 1) {
+			throw new IllegalArgumentException("Chunk size must be positive");
+		}
+		int[] hits = new int[series.size()];
+		pool.invoke(new ScanTask(series, 0, series.size(), chunkSize, hits));
+		return hits;
+	}
+	
 	public static class SingleCandleStickPattern implements CandleStick{
-		private List<Candle> candles = new ArrayList<>();
+		private NumericCandle current;
 		private SingleCandleStickPattern(List<Candle> candles) {
-			if(Pattern.isCandleListValid(candles)) {
-				this.candles = candles;
+			if(Pattern.isCandleListValid(candles, 1)) {
+				this.current = NumericCandle.of(candles.get(0));
+			}else {
+				METRICS.onInvalidWindow(CandleStickMetrics.SINGLE);
+			}
+		}
+		
+		private SingleCandleStickPattern(NumericCandle... candles) {
+			if(Pattern.isCandleArrayValid(candles, 1)) {
+				this.current = candles[0];
+			}else {
+				METRICS.onInvalidWindow(CandleStickMetrics.SINGLE);
 			}
 		}
 
 		public boolean isBullish() {
-			return isBullishDoji() || isBullishHammer(); 
+			long start = METRICS.start();
+			boolean result = isBullishDoji() || isBullishHammer();
+			METRICS.onCheck(CandleStickMetrics.SINGLE, start);
+			return result;
 		}
 		
 		public boolean isBearish() {
-			return isBearishDoji() || isBearishShootingStar(); 
+			long start = METRICS.start();
+			boolean result = isBearishDoji() || isBearishShootingStar();
+			METRICS.onCheck(CandleStickMetrics.SINGLE, start);
+			return result;
 		}
 		
 		private boolean isBullishDoji() {
 			boolean result = false;
-			if(Pattern.isCandleListValid(this.candles)) {
-				if((Pattern.isCandleBullish(this.candles.get(0)) || 
-				   Pattern.isCandleNeitherBullishNorBearish(this.candles.get(0))) &&
-				   Pattern.hasLittleOrNoRealBody(this.candles.get(0)) && 
-				   Pattern.hasLittleOrNoUpperShadow(this.candles.get(0)) && 
-				   Pattern.hasLongLowerShadow(this.candles.get(0))) {
+			if(this.current != null) {
+				if((Pattern.isCandleBullish(this.current) || 
+				   Pattern.isCandleNeitherBullishNorBearish(this.current)) &&
+				   Pattern.hasLittleOrNoRealBody(this.current) && 
+				   Pattern.hasLittleOrNoUpperShadow(this.current) && 
+				   Pattern.hasLongLowerShadow(this.current)) {
 					result = true;
 				}
 			}
+			METRICS.onPattern(CandlePattern.BULLISH_DOJI, this.current != null, result);
 			return result;
 		}
 		private boolean isBullishHammer() {
 			boolean result = false;
-			if(Pattern.isCandleListValid(this.candles)) {
-				if(Pattern.isCandleBullish(this.candles.get(0)) &&
-				   Pattern.hasLittleOrNoUpperShadow(this.candles.get(0)) && 
-				   Pattern.isLowerShadow2xLongerThanBody(this.candles.get(0))) {
+			if(this.current != null) {
+				if(Pattern.isCandleBullish(this.current) &&
+				   Pattern.hasLittleOrNoUpperShadow(this.current) && 
+				   Pattern.isLowerShadow2xLongerThanBody(this.current)) {
 					result = true;
 				}
 			}
+			METRICS.onPattern(CandlePattern.BULLISH_HAMMER, this.current != null, result);
 			return result;
 		}
 		private boolean isBearishDoji() {
 			boolean result = false;
-			if(Pattern.isCandleListValid(this.candles)) {
-				if((Pattern.isCandleBearish(this.candles.get(0)) || 
-				   Pattern.isCandleNeitherBullishNorBearish(this.candles.get(0))) &&  
-				   Pattern.hasLittleOrNoRealBody(this.candles.get(0)) && 
-				   Pattern.hasLittleOrNoLowerShadow(this.candles.get(0)) && 
-				   Pattern.hasLongUpperShadow(this.candles.get(0))) {
+			if(this.current != null) {
+				if((Pattern.isCandleBearish(this.current) || 
+				   Pattern.isCandleNeitherBullishNorBearish(this.current)) &&  
+				   Pattern.hasLittleOrNoRealBody(this.current) && 
+				   Pattern.hasLittleOrNoLowerShadow(this.current) && 
+				   Pattern.hasLongUpperShadow(this.current)) {
 					result = true;
 				}
 			}
+			METRICS.onPattern(CandlePattern.BEARISH_DOJI, this.current != null, result);
 			return result;
 		}
 		private boolean isBearishShootingStar() {
 			boolean result = false;
-			if(Pattern.isCandleListValid(this.candles)) {
-				if(Pattern.isCandleBearish(this.candles.get(0)) && 
-				   Pattern.hasLittleOrNoLowerShadow(this.candles.get(0)) && 
-				   Pattern.isUpperShadow2xLongerThanBody(this.candles.get(0))) {
+			if(this.current != null) {
+				if(Pattern.isCandleBearish(this.current) && 
+				   Pattern.hasLittleOrNoLowerShadow(this.current) && 
+				   Pattern.isUpperShadow2xLongerThanBody(this.current)) {
 					result = true;
 				}
 			}
+			METRICS.onPattern(CandlePattern.BEARISH_SHOOTING_STAR, this.current != null, result);
 			return result;
 		}
 	}
@@ -136,91 +313,116 @@ public class CandleStickFactory {
 	 * @return DoubleCandleStickPattern on which you call isBullish() or isBearish() on it.
 	 */
 	public static class DoubleCandleStickPattern implements CandleStick{
-		private List<Candle> candles = new ArrayList<>();
+		private NumericCandle current;
+		private NumericCandle previous;
 		private DoubleCandleStickPattern(List<Candle> candles) {
-			if(candles != null && !candles.isEmpty() && candles.size() > 1) {
-				this.candles = candles;
+			if(Pattern.isCandleListValid(candles, 2)) {
+				this.current = NumericCandle.of(candles.get(0));
+				this.previous = NumericCandle.of(candles.get(1));
+			}else {
+				METRICS.onInvalidWindow(CandleStickMetrics.DOUBLE);
+			}
+		}
+		
+		private DoubleCandleStickPattern(NumericCandle... candles) {
+			if(Pattern.isCandleArrayValid(candles, 2)) {
+				this.current = candles[0];
+				this.previous = candles[1];
+			}else {
+				METRICS.onInvalidWindow(CandleStickMetrics.DOUBLE);
 			}
 		}
 		
 		public boolean isBullish() {
-			return isBullishEngolfer() || isBullishPiercing() || isBullishTweezerBottom(); 
+			long start = METRICS.start();
+			boolean result = isBullishEngolfer() || isBullishPiercing() || isBullishTweezerBottom();
+			METRICS.onCheck(CandleStickMetrics.DOUBLE, start);
+			return result;
 		}
 		
 		public boolean isBearish() {
-			return isBearishEngolfer() || isBearishDarkCloudCover() || isBearishTweezerTop(); 
+			long start = METRICS.start();
+			boolean result = isBearishEngolfer() || isBearishDarkCloudCover() || isBearishTweezerTop();
+			METRICS.onCheck(CandleStickMetrics.DOUBLE, start);
+			return result;
 		}
 		
 		private boolean isBullishEngolfer() {
 			boolean result = false;
-			if(Pattern.isCandleListValid(this.candles)) {
-				if(Pattern.isCandleBullish(this.candles.get(0)) &&
-				   Pattern.isCandleBearish(this.candles.get(1)) &&
-				   Pattern.isPreviousCandleShorterThanCurrent(this.candles) &&
-				   Pattern.isPreviousCandleEntirelyContainedInBodyOfCurrent(this.candles)) {
+			if(this.current != null) {
+				if(Pattern.isCandleBullish(this.current) &&
+				   Pattern.isCandleBearish(this.previous) &&
+				   Pattern.isPreviousCandleShorterThanCurrent(this.current, this.previous) &&
+				   Pattern.isPreviousCandleEntirelyContainedInBodyOfCurrent(this.current, this.previous)) {
 					result = true;
 				}
 			}
+			METRICS.onPattern(CandlePattern.BULLISH_ENGOLFER, this.current != null, result);
 			return result;
 		}
 		private boolean isBullishTweezerBottom() {
 			boolean result = false;
-			if(Pattern.isCandleListValid(this.candles)) {
-				if(Pattern.isCandleBullish(this.candles.get(0)) &&
-				   Pattern.isCandleBearish(this.candles.get(1)) &&
-				   Pattern.doBothCandlesShareSameOrAlmostSameBody(this.candles) &&
-				   Pattern.doBothCandlesShareSameOrAlmostSameLow(this.candles)) {
+			if(this.current != null) {
+				if(Pattern.isCandleBullish(this.current) &&
+				   Pattern.isCandleBearish(this.previous) &&
+				   Pattern.doBothCandlesShareSameOrAlmostSameBody(this.current, this.previous) &&
+				   Pattern.doBothCandlesShareSameOrAlmostSameLow(this.current, this.previous)) {
 					result = true;
 				}
 			}
+			METRICS.onPattern(CandlePattern.BULLISH_TWEEZER_BOTTOM, this.current != null, result);
 			return result;
 		}
 		private boolean isBullishPiercing() {
 			boolean result = false;
-			if(Pattern.isCandleListValid(this.candles)) {
-				if(Pattern.isCandleBullish(this.candles.get(0)) &&
-				   Pattern.isCandleBearish(this.candles.get(1)) &&
-				   Pattern.openedCurrentCandleBellowOrAtClosingFromPrevious(this.candles) &&
-				   Pattern.closedCurrentCandleAt50PercentOrAboveOfBodyFromPrevious(this.candles)) {
+			if(this.current != null) {
+				if(Pattern.isCandleBullish(this.current) &&
+				   Pattern.isCandleBearish(this.previous) &&
+				   Pattern.openedCurrentCandleBellowOrAtClosingFromPrevious(this.current, this.previous) &&
+				   Pattern.closedCurrentCandleAt50PercentOrAboveOfBodyFromPrevious(this.current, this.previous)) {
 					result = true;
 				}
 			}
+			METRICS.onPattern(CandlePattern.BULLISH_PIERCING, this.current != null, result);
 			return result;
 		}
 		private boolean isBearishEngolfer() {
 			boolean result = false;
-			if(Pattern.isCandleListValid(this.candles)) {
-				if(Pattern.isCandleBullish(this.candles.get(1)) &&
-				   Pattern.isCandleBearish(this.candles.get(0)) &&
-				   Pattern.isPreviousCandleShorterThanCurrent(this.candles) &&
-				   Pattern.isPreviousCandleEntirelyContainedInBodyOfCurrent(this.candles)) {
+			if(this.current != null) {
+				if(Pattern.isCandleBullish(this.previous) &&
+				   Pattern.isCandleBearish(this.current) &&
+				   Pattern.isPreviousCandleShorterThanCurrent(this.current, this.previous) &&
+				   Pattern.isPreviousCandleEntirelyContainedInBodyOfCurrent(this.current, this.previous)) {
 					result = true;
 				}
 			}
+			METRICS.onPattern(CandlePattern.BEARISH_ENGOLFER, this.current != null, result);
 			return result;
 		}
 		private boolean isBearishDarkCloudCover() {
 			boolean result = false;
-			if(Pattern.isCandleListValid(this.candles)) {
-				if(Pattern.isCandleBullish(this.candles.get(1)) &&
-				   Pattern.isCandleBearish(this.candles.get(0)) &&
-				   Pattern.openedCurrentCandleAboveOrAtClosingFromPrevious(this.candles) &&
-				   Pattern.closedCurrentCandleAt50PercentOrBellowOfBodyFromPrevious(this.candles)) {
+			if(this.current != null) {
+				if(Pattern.isCandleBullish(this.previous) &&
+				   Pattern.isCandleBearish(this.current) &&
+				   Pattern.openedCurrentCandleAboveOrAtClosingFromPrevious(this.current, this.previous) &&
+				   Pattern.closedCurrentCandleAt50PercentOrBellowOfBodyFromPrevious(this.current, this.previous)) {
 					result = true;
 				}
 			}
+			METRICS.onPattern(CandlePattern.BEARISH_DARK_CLOUD_COVER, this.current != null, result);
 			return result;
 		}
 		private boolean isBearishTweezerTop() {
 			boolean result = false;
-			if(Pattern.isCandleListValid(this.candles)) {
-				if(Pattern.isCandleBullish(this.candles.get(1)) &&
-				   Pattern.isCandleBearish(this.candles.get(0)) &&
-				   Pattern.doBothCandlesShareSameOrAlmostSameBody(this.candles) &&
-				   Pattern.doBothCandlesShareSameOrAlmostSameHigh(this.candles)) {
+			if(this.current != null) {
+				if(Pattern.isCandleBullish(this.previous) &&
+				   Pattern.isCandleBearish(this.current) &&
+				   Pattern.doBothCandlesShareSameOrAlmostSameBody(this.current, this.previous) &&
+				   Pattern.doBothCandlesShareSameOrAlmostSameHigh(this.current, this.previous)) {
 					result = true;
 				}
 			}
+			METRICS.onPattern(CandlePattern.BEARISH_TWEEZER_TOP, this.current != null, result);
 			return result;
 		}
 	}
@@ -231,105 +433,133 @@ public class CandleStickFactory {
 	 * @return TripleCandleStickPattern on which you call isBullish() or isBearish() on it.
 	 */
 	public static class TripleCandleStickPattern implements CandleStick{
-		private List<Candle> candles = new ArrayList<>();
+		private NumericCandle current;
+		private NumericCandle middle;
+		private NumericCandle last;
 		
 		private TripleCandleStickPattern(List<Candle> candles) {
-			if(candles != null && !candles.isEmpty() && candles.size() > 2) {
-				this.candles = candles;
+			if(Pattern.isCandleListValid(candles, 3)) {
+				this.current = NumericCandle.of(candles.get(0));
+				this.middle = NumericCandle.of(candles.get(1));
+				this.last = NumericCandle.of(candles.get(2));
+			}else {
+				METRICS.onInvalidWindow(CandleStickMetrics.TRIPLE);
+			}
+		}
+		
+		private TripleCandleStickPattern(NumericCandle... candles) {
+			if(Pattern.isCandleArrayValid(candles, 3)) {
+				this.current = candles[0];
+				this.middle = candles[1];
+				this.last = candles[2];
+			}else {
+				METRICS.onInvalidWindow(CandleStickMetrics.TRIPLE);
 			}
 		}
 		
 		public boolean isBearish() {
-			return isBearishEveningStar() || isBearishThreeBlackCrows() || isBearishKicker();
+			long start = METRICS.start();
+			boolean result = isBearishEveningStar() || isBearishThreeBlackCrows() || isBearishKicker();
+			METRICS.onCheck(CandleStickMetrics.TRIPLE, start);
+			return result;
 		}
 		
 		public boolean isBullish() {
-			return isBullishMorningStar() || isBullishWhiteSoldiers() || isBullishKicker();
+			long start = METRICS.start();
+			boolean result = isBullishMorningStar() || isBullishWhiteSoldiers() || isBullishKicker();
+			METRICS.onCheck(CandleStickMetrics.TRIPLE, start);
+			return result;
 		}
 		
 		private boolean isBullishWhiteSoldiers() {
 			boolean result = false;
-			if(Pattern.isCandleListValid(this.candles)) {
-				if(Pattern.isCandleBullish(this.candles.get(0)) &&
-				   Pattern.isCandleBullish(this.candles.get(1)) &&
-				   Pattern.isCandleBullish(this.candles.get(2)) &&
-				   Pattern.formedThreeConsecutiveLongCandles(this.candles) &&
-				   Pattern.eachCandleClosedSuccessivelyHigher(this.candles)) {
+			if(this.current != null) {
+				if(Pattern.isCandleBullish(this.current) &&
+				   Pattern.isCandleBullish(this.middle) &&
+				   Pattern.isCandleBullish(this.last) &&
+				   Pattern.formedThreeConsecutiveLongCandles(this.current, this.middle, this.last) &&
+				   Pattern.eachCandleClosedSuccessivelyHigher(this.current, this.middle, this.last)) {
 					result = true;
 				}
 			}
+			METRICS.onPattern(CandlePattern.BULLISH_WHITE_SOLDIERS, this.current != null, result);
 			return result;
 		}
 		
 		private boolean isBullishKicker() {
 			boolean result = false;
-			if(Pattern.isCandleListValid(this.candles)) {
-				if(Pattern.isCandleBearish(this.candles.get(0)) &&
-				   Pattern.isCandleBearish(this.candles.get(1)) &&
-				   Pattern.isCandleBearish(this.candles.get(2)) &&
-				   Pattern.eachCandleClosedAtSuccessivelyLowerShadow(this.candles)) {
+			if(this.current != null) {
+				if(Pattern.isCandleBearish(this.current) &&
+				   Pattern.isCandleBearish(this.middle) &&
+				   Pattern.isCandleBearish(this.last) &&
+				   Pattern.eachCandleClosedAtSuccessivelyLowerShadow(this.current, this.middle, this.last)) {
 					result = true;
 				}
 			}
+			METRICS.onPattern(CandlePattern.BULLISH_KICKER, this.current != null, result);
 			return result;
 		}
 		
 		private boolean isBullishMorningStar() {
 			boolean result = false;
-			if(Pattern.isCandleListValid(this.candles)) {
-				if(Pattern.isCandleBullish(this.candles.get(0)) &&
-				   Pattern.isCandleBullish(this.candles.get(1)) &&
-				   Pattern.isCandleBearish(this.candles.get(2)) &&
-				   Pattern.formedTinyMiddleCandle(this.candles) &&
-				   Pattern.currentBodySmallerThanLast(this.candles) &&
-				   Pattern.tinyClosedBelowCurrentAndLast(this.candles) &&
-				   Pattern.closedCurrentCandleAt50PercentOrMoreOfBodyFromLast(this.candles)) {
+			if(this.current != null) {
+				if(Pattern.isCandleBullish(this.current) &&
+				   Pattern.isCandleBullish(this.middle) &&
+				   Pattern.isCandleBearish(this.last) &&
+				   Pattern.formedTinyMiddleCandle(this.current, this.middle, this.last) &&
+				   Pattern.currentBodySmallerThanLast(this.current, this.last) &&
+				   Pattern.tinyClosedBelowCurrentAndLast(this.current, this.middle, this.last) &&
+				   Pattern.closedCurrentCandleAt50PercentOrMoreOfBodyFromLast(this.current, this.last)) {
 					result = true;
 				}
 			}
+			METRICS.onPattern(CandlePattern.BULLISH_MORNING_STAR, this.current != null, result);
 			return result;
 		}
 		
 		private boolean isBearishThreeBlackCrows() {
 			boolean result = false;
-			if(Pattern.isCandleListValid(this.candles)) {
-				if(Pattern.isCandleBearish(this.candles.get(0)) &&
-				   Pattern.isCandleBearish(this.candles.get(1)) &&
-				   Pattern.isCandleBearish(this.candles.get(2)) &&
-				   Pattern.formedThreeConsecutiveLongCandles(this.candles) &&
-				   Pattern.eachCandleClosedSuccessivelyLower(this.candles)) {
+			if(this.current != null) {
+				if(Pattern.isCandleBearish(this.current) &&
+				   Pattern.isCandleBearish(this.middle) &&
+				   Pattern.isCandleBearish(this.last) &&
+				   Pattern.formedThreeConsecutiveLongCandles(this.current, this.middle, this.last) &&
+				   Pattern.eachCandleClosedSuccessivelyLower(this.current, this.middle, this.last)) {
 					result = true;
 				}
 			}
+			METRICS.onPattern(CandlePattern.BEARISH_THREE_BLACK_CROWS, this.current != null, result);
 			return result;
 		}
 		
 		public boolean isBearishEveningStar() {
 			boolean result = false;
-			if(Pattern.isCandleListValid(this.candles)) {
-				if(Pattern.isCandleBearish(this.candles.get(0)) &&
-				   Pattern.isCandleBearish(this.candles.get(1)) &&
-				   Pattern.isCandleBullish(this.candles.get(2)) &&
-				   Pattern.formedTinyMiddleCandle(this.candles) &&
-				   Pattern.currentBodySmallerThanLast(this.candles) &&
-				   Pattern.tinyClosedAboveCurrentAndLast(this.candles) &&
-				   Pattern.closedLastCandleAt50PercentOrMoreOfBodyFromCurrent(this.candles)) {
+			if(this.current != null) {
+				if(Pattern.isCandleBearish(this.current) &&
+				   Pattern.isCandleBearish(this.middle) &&
+				   Pattern.isCandleBullish(this.last) &&
+				   Pattern.formedTinyMiddleCandle(this.current, this.middle, this.last) &&
+				   Pattern.currentBodySmallerThanLast(this.current, this.last) &&
+				   Pattern.tinyClosedAboveCurrentAndLast(this.current, this.middle, this.last) &&
+				   Pattern.closedLastCandleAt50PercentOrMoreOfBodyFromCurrent(this.current, this.last)) {
 					result = true;
 				}
 			}
+			METRICS.onPattern(CandlePattern.BEARISH_EVENING_STAR, this.current != null, result);
 			return result;
 		}
 		
 		private boolean isBearishKicker() {
 			boolean result = false;
-			if(Pattern.isCandleListValid(this.candles)) {
-				if(Pattern.isCandleBullish(this.candles.get(0)) &&
-				   Pattern.isCandleBullish(this.candles.get(1)) &&
-				   Pattern.isCandleBullish(this.candles.get(2)) &&
-				   Pattern.eachCandleClosedAtSuccessivelyHigherShadow(this.candles)) {
+			if(this.current != null) {
+				if(Pattern.isCandleBullish(this.current) &&
+				   Pattern.isCandleBullish(this.middle) &&
+				   Pattern.isCandleBullish(this.last) &&
+				   Pattern.eachCandleClosedAtSuccessivelyHigherShadow(this.current, this.middle, this.last)) {
 					result = true;
 				}
 			}
+			METRICS.onPattern(CandlePattern.BEARISH_KICKER, this.current != null, result);
 			return result;
 		}
 	}
@@ -354,151 +584,139 @@ public class CandleStickFactory {
 	}
 	
 	private static class Pattern{
-		private static boolean isCandleBullish(Candle candle) {
-			return Double.valueOf(candle.getClose()) > Double.valueOf(candle.getOpen());
+		private static boolean isCandleBullish(NumericCandle candle) {
+			return candle.features().isBullish();
 		}
 		
-		public static boolean closedLastCandleAt50PercentOrMoreOfBodyFromCurrent(List<Candle> candles) {
-			Candle current = candles.get(0);
-			Candle last = candles.get(2);
+		public static boolean closedLastCandleAt50PercentOrMoreOfBodyFromCurrent(NumericCandle current, NumericCandle last) {
 			double lastBodyTop = getCandleBodyTop(last);
 			double curBodyTop = getCandleBodyTop(current);
 			double currentBodyTop50Percent = curBodyTop - (getCandleBody(current)/2);
 			return lastBodyTop >= currentBodyTop50Percent;
 		}
 
-		public static boolean tinyClosedAboveCurrentAndLast(List<Candle> candles) {
-			double curBodyTop = getCandleBodyTop(candles.get(0));
-			double middleBodyBottom = getCandleBodyBottom(candles.get(1));
-			double lastBodyTop = getCandleBodyTop(candles.get(2));
+		public static boolean tinyClosedAboveCurrentAndLast(NumericCandle current, NumericCandle middle, NumericCandle last) {
+			double curBodyTop = getCandleBodyTop(current);
+			double middleBodyBottom = getCandleBodyBottom(middle);
+			double lastBodyTop = getCandleBodyTop(last);
 			return middleBodyBottom > curBodyTop && middleBodyBottom > lastBodyTop && curBodyTop > lastBodyTop;
 		}
 
-		public static boolean tinyClosedBelowCurrentAndLast(List<Candle> candles) {
-			double curBodyBottom = getCandleBodyBottom(candles.get(0));
-			double middleBodyTop = getCandleBodyTop(candles.get(1));
-			double lastBodyBottom = getCandleBodyBottom(candles.get(2));
+		public static boolean tinyClosedBelowCurrentAndLast(NumericCandle current, NumericCandle middle, NumericCandle last) {
+			double curBodyBottom = getCandleBodyBottom(current);
+			double middleBodyTop = getCandleBodyTop(middle);
+			double lastBodyBottom = getCandleBodyBottom(last);
 			return middleBodyTop < curBodyBottom && middleBodyTop < lastBodyBottom && lastBodyBottom > curBodyBottom;
 		}
 
-		public static boolean currentBodySmallerThanLast(List<Candle> candles) {
-			double curBody = getCandleBody(candles.get(0));
-			double lastBody = getCandleBody(candles.get(2));
+		public static boolean currentBodySmallerThanLast(NumericCandle current, NumericCandle last) {
+			double curBody = getCandleBody(current);
+			double lastBody = getCandleBody(last);
 			return curBody < lastBody;
 		}
 
-		public static boolean doBothCandlesShareSameOrAlmostSameBody(List<Candle> candles) {
-			double curBody = getCandleBody(candles.get(0));
-			double prevBody = getCandleBody(candles.get(0));
+		public static boolean doBothCandlesShareSameOrAlmostSameBody(NumericCandle current, NumericCandle previous) {
+			double curBody = getCandleBody(current);
+			double prevBody = getCandleBody(current);
 			double percentage = 0.5;
 			return curBody == prevBody || valuePlusMinus(percentage, curBody, prevBody);
 		}
 
-		public static boolean closedCurrentCandleAt50PercentOrBellowOfBodyFromPrevious(List<Candle> candles) {
-			Candle current = candles.get(0);
-			Candle previous = candles.get(1);
+		public static boolean closedCurrentCandleAt50PercentOrBellowOfBodyFromPrevious(NumericCandle current, NumericCandle previous) {
 			double curBodyBottom = getCandleBodyBottom(current);
 			double prevBodyBottom = getCandleBodyBottom(previous);
 			double prevBodyBottom50Percent = prevBodyBottom + (getCandleBody(previous)/2);
 			return curBodyBottom < prevBodyBottom50Percent || curBodyBottom == prevBodyBottom50Percent;
 		}
 
-		public static boolean eachCandleClosedAtSuccessivelyHigherShadow(List<Candle> candles) {
-			double lastUpperShadow = Double.valueOf(candles.get(2).getMax());
-			double midBottom = getCandleBodyBottom(candles.get(1));
-			double midLowerShadow = Double.valueOf(candles.get(1).getMin());
-			double midUpperShadow = Double.valueOf(candles.get(1).getMax());
-			double curBottom = getCandleBodyBottom(candles.get(0));
-			double curLowerShadow = Double.valueOf(candles.get(0).getMin());
+		public static boolean eachCandleClosedAtSuccessivelyHigherShadow(NumericCandle current, NumericCandle middle, NumericCandle last) {
+			double lastUpperShadow = last.getMax();
+			double midBottom = getCandleBodyBottom(middle);
+			double midLowerShadow = middle.getMin();
+			double midUpperShadow = middle.getMax();
+			double curBottom = getCandleBodyBottom(current);
+			double curLowerShadow = current.getMin();
 			return lastUpperShadow <= midBottom && lastUpperShadow >= midLowerShadow && midUpperShadow <= curBottom && midUpperShadow >= curLowerShadow;
 		}
 
-		public static boolean eachCandleClosedAtSuccessivelyLowerShadow(List<Candle> candles) {
-			double curUpperShadow = Double.valueOf(candles.get(0).getMax());
-			double midBottom = getCandleBodyBottom(candles.get(1));
-			double midLowerShadow = Double.valueOf(candles.get(1).getMin());
-			double midUpperShadow = Double.valueOf(candles.get(1).getMax());
-			double lastBottom = getCandleBodyBottom(candles.get(2));
-			double lastLowerShadow = Double.valueOf(candles.get(2).getMin());
+		public static boolean eachCandleClosedAtSuccessivelyLowerShadow(NumericCandle current, NumericCandle middle, NumericCandle last) {
+			double curUpperShadow = current.getMax();
+			double midBottom = getCandleBodyBottom(middle);
+			double midLowerShadow = middle.getMin();
+			double midUpperShadow = middle.getMax();
+			double lastBottom = getCandleBodyBottom(last);
+			double lastLowerShadow = last.getMin();
 			return curUpperShadow <= midBottom && curUpperShadow >= midLowerShadow &&  midUpperShadow <= lastBottom && midUpperShadow >= lastLowerShadow;
 		}
 
 
-		public static boolean closedCurrentCandleAt50PercentOrMoreOfBodyFromLast(List<Candle> candles) {
-			Candle current = candles.get(0);
-			Candle last = candles.get(2);
+		public static boolean closedCurrentCandleAt50PercentOrMoreOfBodyFromLast(NumericCandle current, NumericCandle last) {
 			double curBodyTop = getCandleBodyTop(current);
 			double lastBodyBottom = getCandleBodyBottom(last);
 			double lastBodyBottom50Percent = lastBodyBottom + (getCandleBody(last)/2);
 			return curBodyTop >= lastBodyBottom50Percent;
 		}
 
-		public static boolean formedTinyMiddleCandle(List<Candle> candles) {
-			double curBody = getCandleBody(candles.get(0));
-			double prevBody = getCandleBody(candles.get(1));
-			double lastBody = getCandleBody(candles.get(2));
+		public static boolean formedTinyMiddleCandle(NumericCandle current, NumericCandle middle, NumericCandle last) {
+			double curBody = getCandleBody(current);
+			double prevBody = getCandleBody(middle);
+			double lastBody = getCandleBody(last);
 			return prevBody < curBody && prevBody < lastBody;
 		}
 
-		public static boolean openedCurrentCandleBellowOrAtClosingFromPrevious(List<Candle> candles) {
-			Candle current = candles.get(0);
-			Candle previous = candles.get(1);
+		public static boolean openedCurrentCandleBellowOrAtClosingFromPrevious(NumericCandle current, NumericCandle previous) {
 			double curBodyTop = getCandleBodyTop(current);
 			double prevBodyTop = getCandleBodyTop(previous);
 			return curBodyTop < prevBodyTop || curBodyTop == prevBodyTop;
 		}
 
-		public static boolean doBothCandlesShareSameOrAlmostSameHigh(List<Candle> candles) {
-			double curShadowUpper = getCandleUpperShadow(candles.get(0));
-			double prevShadowUpper = getCandleUpperShadow(candles.get(0));
+		public static boolean doBothCandlesShareSameOrAlmostSameHigh(NumericCandle current, NumericCandle previous) {
+			double curShadowUpper = getCandleUpperShadow(current);
+			double prevShadowUpper = getCandleUpperShadow(current);
 			double percentage = 0.5; 
 			return curShadowUpper == prevShadowUpper || valuePlusMinus(percentage, curShadowUpper, prevShadowUpper);
 		}
 
-		private static boolean eachCandleClosedSuccessivelyLower(List<Candle> candles) {
-			double curTop = getCandleBodyTop(candles.get(0));
-			double midTop = getCandleBodyTop(candles.get(1));
-			double lastTop = getCandleBodyTop(candles.get(2));
+		private static boolean eachCandleClosedSuccessivelyLower(NumericCandle current, NumericCandle middle, NumericCandle last) {
+			double curTop = getCandleBodyTop(current);
+			double midTop = getCandleBodyTop(middle);
+			double lastTop = getCandleBodyTop(last);
 			return lastTop > midTop && midTop > curTop;
 		}
 
-		private static boolean eachCandleClosedSuccessivelyHigher(List<Candle> candles) {
-			double curTop = getCandleBodyTop(candles.get(0));
-			double midTop = getCandleBodyTop(candles.get(1));
-			double lastTop = getCandleBodyTop(candles.get(2));
+		private static boolean eachCandleClosedSuccessivelyHigher(NumericCandle current, NumericCandle middle, NumericCandle last) {
+			double curTop = getCandleBodyTop(current);
+			double midTop = getCandleBodyTop(middle);
+			double lastTop = getCandleBodyTop(last);
 			return lastTop < midTop && midTop < curTop;
 		}
 
-		private static boolean formedThreeConsecutiveLongCandles(List<Candle> candles) {
-			double coef1 = Pattern.getCandleBody(candles.get(0))/Pattern.getCandleUpperShadow(candles.get(0));
-			double coef2 = Pattern.getCandleBody(candles.get(0))/Pattern.getCandleLowerShadow(candles.get(0));
-			double coef3 = Pattern.getCandleBody(candles.get(1))/Pattern.getCandleUpperShadow(candles.get(1));
-			double coef4 = Pattern.getCandleBody(candles.get(1))/Pattern.getCandleLowerShadow(candles.get(1));
-			double coef5 = Pattern.getCandleBody(candles.get(2))/Pattern.getCandleUpperShadow(candles.get(2));
-			double coef6 = Pattern.getCandleBody(candles.get(2))/Pattern.getCandleLowerShadow(candles.get(2));
+		private static boolean formedThreeConsecutiveLongCandles(NumericCandle current, NumericCandle middle, NumericCandle last) {
+			double coef1 = Pattern.getCandleBody(current)/Pattern.getCandleUpperShadow(current);
+			double coef2 = Pattern.getCandleBody(current)/Pattern.getCandleLowerShadow(current);
+			double coef3 = Pattern.getCandleBody(middle)/Pattern.getCandleUpperShadow(middle);
+			double coef4 = Pattern.getCandleBody(middle)/Pattern.getCandleLowerShadow(middle);
+			double coef5 = Pattern.getCandleBody(last)/Pattern.getCandleUpperShadow(last);
+			double coef6 = Pattern.getCandleBody(last)/Pattern.getCandleLowerShadow(last);
 			return coef1 >= 5 && coef2 >= 5 && coef3 >= 5 && coef4 >= 5 && coef5 >= 5 && coef6 >= 5; 
 		}
 
-		private static boolean closedCurrentCandleAt50PercentOrAboveOfBodyFromPrevious(List<Candle> candles) {
-			Candle current = candles.get(0);
-			Candle previous = candles.get(1);
+		private static boolean closedCurrentCandleAt50PercentOrAboveOfBodyFromPrevious(NumericCandle current, NumericCandle previous) {
 			double curBodyTop = getCandleBodyTop(current);
 			double prevBodyBottom = getCandleBodyBottom(previous);
 			double prevBodyBottom50Percent = prevBodyBottom + (getCandleBody(previous)/2);
 			return curBodyTop > prevBodyBottom50Percent || curBodyTop == prevBodyBottom50Percent;
 		}
 
-		private static boolean openedCurrentCandleAboveOrAtClosingFromPrevious(List<Candle> candles) {
-			Candle current = candles.get(0);
-			Candle previous = candles.get(1);
+		private static boolean openedCurrentCandleAboveOrAtClosingFromPrevious(NumericCandle current, NumericCandle previous) {
 			double curBodyTop = getCandleBodyTop(current);
 			double prevBodyTop = getCandleBodyTop(previous);
 			return curBodyTop > prevBodyTop || curBodyTop == prevBodyTop;
 		}
 
-		private static boolean doBothCandlesShareSameOrAlmostSameLow(List<Candle> candles) {
-			double curShadowLow = getCandleLowerShadow(candles.get(0));
-			double prevShadowLow = getCandleLowerShadow(candles.get(0));
+		private static boolean doBothCandlesShareSameOrAlmostSameLow(NumericCandle current, NumericCandle previous) {
+			double curShadowLow = getCandleLowerShadow(current);
+			double prevShadowLow = getCandleLowerShadow(current);
 			double percentage = 0.5; 
 			return curShadowLow == prevShadowLow || valuePlusMinus(percentage, curShadowLow, prevShadowLow);
 		}
@@ -510,9 +728,7 @@ public class CandleStickFactory {
 			return previous <= high && previous >= low;
 		}
 
-		private static boolean isPreviousCandleEntirelyContainedInBodyOfCurrent(List<Candle> candles) {
-			Candle current = candles.get(0);
-			Candle previous = candles.get(1);
+		private static boolean isPreviousCandleEntirelyContainedInBodyOfCurrent(NumericCandle current, NumericCandle previous) {
 			double curBodyTop = getCandleBodyTop(current);
 			double curBodyBottom = getCandleBodyBottom(current);
 			double prevBodyTop = getCandleBodyTop(previous);
@@ -520,53 +736,51 @@ public class CandleStickFactory {
 			return curBodyTop > prevBodyTop && curBodyBottom < prevBodyBottom;
 		}
 
-		private static boolean isPreviousCandleShorterThanCurrent(List<Candle> candles) {
-			Candle current = candles.get(0);
-			Candle previous = candles.get(1);
+		private static boolean isPreviousCandleShorterThanCurrent(NumericCandle current, NumericCandle previous) {
 			double curBody = getCandleBody(current);
 			double prevBody = getCandleBody(previous);
 			return prevBody < curBody;
 		}
 
-		private static boolean hasLittleOrNoLowerShadow(Candle candle) {
+		private static boolean hasLittleOrNoLowerShadow(NumericCandle candle) {
 			double coefficient = Pattern.getCandleLowerShadow(candle)/Pattern.getCandleBody(candle);
 			return coefficient <= 2; // lower shadow <= 2x body size
 		}
 
-		private static boolean hasLittleOrNoUpperShadow(Candle candle) {
+		private static boolean hasLittleOrNoUpperShadow(NumericCandle candle) {
 			double coefficient = Pattern.getCandleUpperShadow(candle)/Pattern.getCandleBody(candle);
 			return coefficient <= 2; // upper shadow <= 2x body size
 		}
 
-		private static boolean isCandleBearish(Candle candle) {
-			return Double.valueOf(candle.getClose()) < Double.valueOf(candle.getOpen());
+		private static boolean isCandleBearish(NumericCandle candle) {
+			return candle.features().isBearish();
 		}
 		
-		private static boolean isCandleNeitherBullishNorBearish(Candle candle) {
-			return Double.valueOf(candle.getClose()) == Double.valueOf(candle.getOpen());
+		private static boolean isCandleNeitherBullishNorBearish(NumericCandle candle) {
+			return candle.features().isNeitherBullishNorBearish();
 		}
 		
-		private static boolean hasLongUpperShadow(Candle candle) {
+		private static boolean hasLongUpperShadow(NumericCandle candle) {
 			double coefficient = Pattern.getCandleUpperShadow(candle)/Pattern.getCandleBody(candle);
 			return coefficient >= 5; // upper shadow >= 5x body size
 		}
 		
-		private static boolean hasLongLowerShadow(Candle candle) {
+		private static boolean hasLongLowerShadow(NumericCandle candle) {
 			double coefficient = Pattern.getCandleLowerShadow(candle)/Pattern.getCandleBody(candle);
 			return coefficient >= 5; // lower shadow >= 5x body size
 		}
 		
-		private static boolean isUpperShadow2xLongerThanBody(Candle candle) {
+		private static boolean isUpperShadow2xLongerThanBody(NumericCandle candle) {
 			double coefficient = Pattern.getCandleUpperShadow(candle)/Pattern.getCandleBody(candle);
 			return coefficient >= 2; // upper shadow >= 2x body size
 		}
 		
-		private static boolean isLowerShadow2xLongerThanBody(Candle candle) {
+		private static boolean isLowerShadow2xLongerThanBody(NumericCandle candle) {
 			double coefficient = Pattern.getCandleLowerShadow(candle)/Pattern.getCandleBody(candle);
 			return coefficient >= 2; // lower shadow >= 2x body size
 		}
 		
-		private static boolean hasLittleOrNoRealBody(Candle candle) {
+		private static boolean hasLittleOrNoRealBody(NumericCandle candle) {
 			boolean result = false;
 			if(Pattern.isCandleNeitherBullishNorBearish(candle)) {
 				result = true;
@@ -577,76 +791,50 @@ public class CandleStickFactory {
 			return result;
 		}
 		
-		private static double getCandleBody(Candle candle) {
-			double candleBody = Double.valueOf(candle.getClose()) - Double.valueOf(candle.getOpen());
-			if(candleBody<0) {
-				candleBody = candleBody * (-1);
-			}
-			return candleBody;
+		private static double getCandleBody(NumericCandle candle) {
+			return candle.features().getBody();
 		}
 		
-		private static double getCandleBodyTop(Candle candle) {
-			double candleBodyTop = 0;
-			if(Pattern.isCandleBullish(candle)) {
-				candleBodyTop = Double.valueOf(candle.getClose());
-			}else if(Pattern.isCandleBearish(candle)) {
-				candleBodyTop = Double.valueOf(candle.getOpen());
-			}else {
-				// neither bullish nor bearish
-				candleBodyTop = Double.valueOf(candle.getClose());
-			}
-			return candleBodyTop;
+		private static double getCandleBodyTop(NumericCandle candle) {
+			return candle.features().getBodyTop();
 		}
 		
-		private static double getCandleBodyBottom(Candle candle) {
-			double candleBodyBottom = 0;
-			if(Pattern.isCandleBullish(candle)) {
-				candleBodyBottom = Double.valueOf(candle.getOpen());
-			}else if(Pattern.isCandleBearish(candle)) {
-				candleBodyBottom = Double.valueOf(candle.getClose());
-			}else {
-				// neither bullish nor bearish
-				candleBodyBottom = Double.valueOf(candle.getClose());
-			}
-			return candleBodyBottom;
+		private static double getCandleBodyBottom(NumericCandle candle) {
+			return candle.features().getBodyBottom();
 		}
 		
-		private static double getCandleUpperShadow(Candle candle) {
-			double candleUpperShadow = 0;
-			if(Pattern.isCandleBullish(candle)) {
-				candleUpperShadow = Double.valueOf(candle.getMax()) - Double.valueOf(candle.getClose());
-			}else if(Pattern.isCandleBearish(candle)) {
-				candleUpperShadow = Double.valueOf(candle.getMax()) - Double.valueOf(candle.getOpen());
-			}else {
-				// neither bullish nor bearish
-				candleUpperShadow = Double.valueOf(candle.getMax()) - Double.valueOf(candle.getClose());
-			}
-			return candleUpperShadow;
+		private static double getCandleUpperShadow(NumericCandle candle) {
+			return candle.features().getUpperShadow();
 		}
 		
-		private static double getCandleLowerShadow(Candle candle) {
-			double candleLowerShadow = 0;
-			if(Pattern.isCandleBullish(candle)) {
-				candleLowerShadow = Double.valueOf(candle.getOpen()) - Double.valueOf(candle.getMin());
-			}else if(Pattern.isCandleBearish(candle)) {
-				candleLowerShadow = Double.valueOf(candle.getClose()) - Double.valueOf(candle.getMin());
-			}else {
-				// neither bullish nor bearish
-				candleLowerShadow = Double.valueOf(candle.getOpen()) - Double.valueOf(candle.getMin());
-			}
-			return candleLowerShadow;
+		private static double getCandleLowerShadow(NumericCandle candle) {
+			return candle.features().getLowerShadow();
 		}
 		
-		private static double getCandleFullSize(Candle candle) {
-			return Double.valueOf(candle.getMax()) - Double.valueOf(candle.getMin());
+		private static double getCandleFullSize(NumericCandle candle) {
+			return candle.features().getFullSize();
+		}
+		
+		private static boolean isCandleListValid(List<Candle> candles, int size) {
+			// only the candles a pattern reads are checked, no matter how long the list is
+			if(candles == null || candles.size() < size) {
+				return false;
+			}else {
+				for (int i = 0; i < size; i++) {
+					if(candles.get(i).isEmpty()) {
+						return false;
+					}
+				}
+			}
+			return true;
 		}
 		
-		private static boolean isCandleListValid(List<Candle> candles) {
-			if(candles.isEmpty()) {
+		private static boolean isCandleArrayValid(Object[] candles, int size) {
+			if(candles == null || candles.length < size) {
 				return false;
 			}else {
-				for (Candle candle : candles) {
-					if(candle.isEmpty()) {
+				for (int i = 0; i < size; i++) {
+					if(candles[i] == null) {
 						return false;
 					}
 				}
@@ -0,0 +1,286 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.candlestick;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counters of the pattern checks done through {@link CandleStickFactory#single(java.util.List)},
+ * {@link CandleStickFactory#doubl(java.util.List)} and {@link CandleStickFactory#triple(java.util.List)}:
+ * per pattern how often it was checked, found or rejected for an invalid window, and
+ * per entry point how long isBullish() and isBearish() took.
+ * <p>
+ * All counters are {@link LongAdder}s, striped over the threads updating them, so
+ * recording takes no lock and threads do not fight over one cache line. Reading the
+ * clock costs about as much as a single candle check, so only one check in
+ * {@value #SAMPLING} is timed; latencies are kept in buckets of powers of two
+ * nanoseconds. Call {@link #register()} once to expose them over JMX, e.g. to jconsole.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public final class CandleStickMetrics implements CandleStickMetricsMBean {
+
+	/** name the metrics are registered with */
+	public static final String OBJECT_NAME = "com.treslines.candlestick:type=CandleStickMetrics";
+
+	static final int SINGLE = 0;
+	static final int DOUBLE = 1;
+	static final int TRIPLE = 2;
+
+	/** one check in SAMPLING is timed, a power of two */
+	public static final int SAMPLING = 64;
+
+	/** bucket i counts latencies below 2^i nanoseconds, the last one all above */
+	private static final int BUCKETS = 40;
+	private static final String[] ENTRY_POINTS = {"single", "doubl", "triple"};
+
+	private static final CandleStickMetrics INSTANCE = new CandleStickMetrics();
+
+	private volatile boolean enabled = !"false".equals(System.getProperty("candlestick.metrics"));
+
+	private final LongAdder[] evaluations = adders(CandlePattern.values().length);
+	private final LongAdder[] hits = adders(CandlePattern.values().length);
+	private final LongAdder[] rejections = adders(CandlePattern.values().length);
+	private final LongAdder[] invalidWindows = adders(ENTRY_POINTS.length);
+	private final LongAdder[] checks = adders(ENTRY_POINTS.length);
+	private final LongAdder[][] latencies = new LongAdder[ENTRY_POINTS.length][];
+
+	private CandleStickMetrics() {
+		for (int i = 0; i < latencies.length; i++) {
+			latencies[i] = adders(BUCKETS);
+		}
+	}
+
+	/** @return the metrics of all factory checks in this JVM */
+	public static CandleStickMetrics getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Registers the metrics with the platform MBean server, nothing happens if they are already registered.
+	 * @throws IllegalStateException if the MBean server refuses them
+	 */
+	public static void register() {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			server.registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+		} catch (InstanceAlreadyExistsException e) {
+			// registered before
+		} catch (JMException e) {
+			throw new IllegalStateException("Could not register " + OBJECT_NAME, e);
+		}
+	}
+
+	/**
+	 * Removes the metrics from the platform MBean server, nothing happens if they are not registered.
+	 */
+	public static void unregister() {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			server.unregisterMBean(new ObjectName(OBJECT_NAME));
+		} catch (InstanceNotFoundException e) {
+			// not registered
+		} catch (JMException e) {
+			throw new IllegalStateException("Could not unregister " + OBJECT_NAME, e);
+		}
+	}
+
+	// ---- recording, called by the factory
+
+	/** records one check of a pattern, valid if the window passed the factory's validation */
+	void onPattern(CandlePattern pattern, boolean valid, boolean hit) {
+		if(!enabled) {
+			return;
+		}
+		if(!valid) {
+			rejections[pattern.ordinal()].increment();
+		}else {
+			evaluations[pattern.ordinal()].increment();
+			if(hit) {
+				hits[pattern.ordinal()].increment();
+			}
+		}
+	}
+
+	void onInvalidWindow(int entryPoint) {
+		if(enabled) {
+			invalidWindows[entryPoint].increment();
+		}
+	}
+
+	/** @return start of a sampled check to hand over to {@link #onCheck(int, long)}, 0 if not timed, -1 while disabled */
+	long start() {
+		if(!enabled) {
+			return -1;
+		}
+		return (ThreadLocalRandom.current().nextInt() & (SAMPLING - 1)) == 0 ? System.nanoTime() : 0;
+	}
+
+	void onCheck(int entryPoint, long start) {
+		if(start == -1) {
+			return;
+		}
+		checks[entryPoint].increment();
+		if(start != 0) {
+			long nanos = System.nanoTime() - start;
+			int bucket = Math.min(BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(Math.max(0, nanos)));
+			latencies[entryPoint][bucket].increment();
+		}
+	}
+
+	// ---- MBean
+
+	@Override
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	@Override
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	@Override
+	public String[] getPatterns() {
+		CandlePattern[] patterns = CandlePattern.values();
+		String[] names = new String[patterns.length];
+		for (int i = 0; i < patterns.length; i++) {
+			names[i] = patterns[i].name();
+		}
+		return names;
+	}
+
+	@Override
+	public long[] getEvaluations() {
+		return sums(evaluations);
+	}
+
+	@Override
+	public long[] getHits() {
+		return sums(hits);
+	}
+
+	@Override
+	public long[] getRejections() {
+		return sums(rejections);
+	}
+
+	@Override
+	public String[] getEntryPoints() {
+		return ENTRY_POINTS.clone();
+	}
+
+	@Override
+	public long[] getInvalidWindows() {
+		return sums(invalidWindows);
+	}
+
+	@Override
+	public long[] getChecks() {
+		return sums(checks);
+	}
+
+	@Override
+	public long[] getLatencyBucketNanos() {
+		long[] bounds = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS - 1; i++) {
+			bounds[i] = 1L << i;
+		}
+		bounds[BUCKETS - 1] = Long.MAX_VALUE;
+		return bounds;
+	}
+
+	@Override
+	public long[] getSingleLatency() {
+		return sums(latencies[SINGLE]);
+	}
+
+	@Override
+	public long[] getDoubleLatency() {
+		return sums(latencies[DOUBLE]);
+	}
+
+	@Override
+	public long[] getTripleLatency() {
+		return sums(latencies[TRIPLE]);
+	}
+
+	@Override
+	public void reset() {
+		reset(evaluations);
+		reset(hits);
+		reset(rejections);
+		reset(invalidWindows);
+		reset(checks);
+		for (LongAdder[] latency : latencies) {
+			reset(latency);
+		}
+	}
+
+	/** @return evaluations of the given pattern */
+	public long getEvaluations(CandlePattern pattern) {
+		return evaluations[pattern.ordinal()].sum();
+	}
+
+	/** @return hits of the given pattern */
+	public long getHits(CandlePattern pattern) {
+		return hits[pattern.ordinal()].sum();
+	}
+
+	/** @return rejections of the given pattern */
+	public long getRejections(CandlePattern pattern) {
+		return rejections[pattern.ordinal()].sum();
+	}
+
+	private static LongAdder[] adders(int size) {
+		LongAdder[] adders = new LongAdder[size];
+		for (int i = 0; i < size; i++) {
+			adders[i] = new LongAdder();
+		}
+		return adders;
+	}
+
+	private static long[] sums(LongAdder[] adders) {
+		long[] sums = new long[adders.length];
+		for (int i = 0; i < adders.length; i++) {
+			sums[i] = adders[i].sum();
+		}
+		return sums;
+	}
+
+	private static void reset(LongAdder[] adders) {
+		for (LongAdder adder : adders) {
+			adder.reset();
+		}
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.candlestick;
+
+/**
+ * JMX view of {@link CandleStickMetrics}, registered as
+ * {@value CandleStickMetrics#OBJECT_NAME}. Per pattern arrays follow the order of
+ * {@link #getPatterns()}, per entry point arrays the order of {@link #getEntryPoints()}.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public interface CandleStickMetricsMBean {
+
+	/** @return true while metrics are recorded */
+	boolean isEnabled();
+
+	/** @param enabled false to stop recording, the counters keep their values */
+	void setEnabled(boolean enabled);
+
+	/** @return names of the patterns, see {@link CandlePattern} */
+	String[] getPatterns();
+
+	/** @return per pattern: checks on a valid window */
+	long[] getEvaluations();
+
+	/** @return per pattern: checks which found the pattern */
+	long[] getHits();
+
+	/** @return per pattern: checks on a window rejected as invalid, e.g. too few or empty candles */
+	long[] getRejections();
+
+	/** @return names of the entry points: single, doubl and triple */
+	String[] getEntryPoints();
+
+	/** @return per entry point: candle lists rejected as invalid by the factory */
+	long[] getInvalidWindows();
+
+	/** @return per entry point: isBullish() and isBearish() calls */
+	long[] getChecks();
+
+	/** @return upper bound in nanoseconds of every latency bucket, the last one open ended */
+	long[] getLatencyBucketNanos();
+
+	/** @return latency histogram of the sampled isBullish() and isBearish() calls on single */
+	long[] getSingleLatency();
+
+	/** @return latency histogram of the sampled isBullish() and isBearish() calls on doubl */
+	long[] getDoubleLatency();
+
+	/** @return latency histogram of the sampled isBullish() and isBearish() calls on triple */
+	long[] getTripleLatency();
+
+	/** Sets all counters back to zero. */
+	void reset();
+
+}
@@ -0,0 +1,192 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.candlestick;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.treslines.data.model.NumericCandle;
+
+/**
+ * A list of {@link PatternDefinition}s compiled into the bytecode of one class, which
+ * returns the mask of the patterns found in a window: bit i is set if definition i
+ * matches. The conditions short circuit like the built-in checkers and windows too
+ * short for a pattern skip it. The class is loaded once per compile and is a plain
+ * {@link Evaluator} to the JIT, which inlines it into the caller like hand written code.
+ * <p>
+ * Held in a static final field, the {@link #handle()} is a constant for the JIT as well:
+ * <pre>
+ * static final MethodHandle PATTERNS = CompiledPatterns.compile(definitions).handle();
+ * int mask = (int) PATTERNS.invokeExact(current, middle, last);
+ * </pre>
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public final class CompiledPatterns {
+
+	/** the mask is an int, one bit per definition */
+	public static final int MAX_PATTERNS = Integer.SIZE;
+
+	private static final String PREFIX = "com/treslines/candlestick/GeneratedPatterns";
+	private static final AtomicInteger CLASSES = new AtomicInteger();
+	private static final MethodHandle EVALUATE;
+
+	static {
+		try {
+			EVALUATE = MethodHandles.lookup().findVirtual(Evaluator.class, "evaluate",
+					MethodType.methodType(int.class, NumericCandle.class, NumericCandle.class, NumericCandle.class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/**
+	 * Implemented by the generated classes.
+	 */
+	public interface Evaluator {
+
+		/**
+		 * @param current the most recent candle
+		 * @param middle the candle before current or null if there is none
+		 * @param last the candle before middle or null if there is none
+		 * @return the mask of the patterns found in this window
+		 */
+		int evaluate(NumericCandle current, NumericCandle middle, NumericCandle last);
+	}
+
+	private final List<PatternDefinition> definitions;
+	private final Evaluator evaluator;
+	private final int bullishMask;
+	private final int bearishMask;
+
+	private CompiledPatterns(List<PatternDefinition> definitions, Evaluator evaluator) {
+		this.definitions = definitions;
+		this.evaluator = evaluator;
+		int bullish = 0;
+		for (int i = 0; i < definitions.size(); i++) {
+			bullish |= definitions.get(i).isBullish() ? 1 << i : 0;
+		}
+		this.bullishMask = bullish;
+		this.bearishMask = (int) ((1L << definitions.size()) - 1) & ~bullish;
+	}
+
+	/**
+	 * @param definitions the patterns to check, at most {@link #MAX_PATTERNS}
+	 * @return the compiled patterns, bit i of a mask standing for definition i
+	 */
+	public static CompiledPatterns compile(List<PatternDefinition> definitions) {
+		int[] order = new int[definitions.size()];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		return compile(definitions, order);
+	}
+
+	/**
+	 * @param definitions the patterns to check, at most {@link #MAX_PATTERNS}
+	 * @param order indexes of the definitions in the order they are checked, the bits stay the same
+	 * @return the compiled patterns, bit i of a mask standing for definition i
+	 */
+	static CompiledPatterns compile(List<PatternDefinition> definitions, int[] order) {
+		if(definitions.isEmpty() || definitions.size() > MAX_PATTERNS) {
+			throw new IllegalArgumentException("Between 1 and " + MAX_PATTERNS + " patterns can be compiled");
+		}
+		String name = PREFIX + CLASSES.incrementAndGet();
+		byte[] bytes = new PatternClassWriter().write(name, definitions, order);
+		try {
+			Class<?> type = new PatternLoader().define(name.replace('/', '.'), bytes);
+			Evaluator evaluator = (Evaluator) type.getConstructor().newInstance();
+			return new CompiledPatterns(Collections.unmodifiableList(new ArrayList<>(definitions)), evaluator);
+		} catch (ReflectiveOperationException e) {
+			// the writer always emits a public class with a public constructor
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @param current the most recent candle
+	 * @param middle the candle before current or null if there is none
+	 * @param last the candle before middle or null if there is none
+	 * @return the mask of the patterns found in this window
+	 */
+	public int evaluate(NumericCandle current, NumericCandle middle, NumericCandle last) {
+		return evaluator.evaluate(current, middle, last);
+	}
+
+	/** @return the generated evaluator */
+	public Evaluator getEvaluator() {
+		return evaluator;
+	}
+
+	/** @return (NumericCandle current, NumericCandle middle, NumericCandle last)int returning the mask of a window */
+	public MethodHandle handle() {
+		return EVALUATE.bindTo(evaluator);
+	}
+
+	/** @return the compiled definitions, definition i standing for bit i of a mask */
+	public List<PatternDefinition> getDefinitions() {
+		return definitions;
+	}
+
+	/** @return mask of all bullish definitions */
+	public int getBullishMask() {
+		return bullishMask;
+	}
+
+	/** @return mask of all bearish definitions */
+	public int getBearishMask() {
+		return bearishMask;
+	}
+
+	/** @return names of the definitions found in the given mask */
+	public List<String> names(int mask) {
+		List<String> names = new ArrayList<>();
+		for (int i = 0; i < definitions.size(); i++) {
+			if((mask & 1 << i) != 0) {
+				names.add(definitions.get(i).getName());
+			}
+		}
+		return names;
+	}
+
+	/**
+	 * Loads one generated class, which can be unloaded again together with its compiled patterns.
+	 */
+	private static final class PatternLoader extends ClassLoader {
+
+		private PatternLoader() {
+			super(CompiledPatterns.class.getClassLoader());
+		}
+
+		private Class<?> define(String name, byte[] bytes) {
+			return defineClass(name, bytes, 0, bytes.length);
+		}
+	}
+
+}
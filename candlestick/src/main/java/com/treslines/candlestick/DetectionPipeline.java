@@ -0,0 +1,262 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+
+package com.treslines.candlestick;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.treslines.data.model.NumericCandle;
+
+/**
+ * Moves detection off the ingestion thread. Closed candles go through one
+ * {@link SpscRing} to a detection thread, which keeps a {@link StreamingCandleStickDetector}
+ * per market and interval, and the patterns found go through a second ring back
+ * to one consumer thread. Both rings are preallocated, so after the first candle of
+ * each stream nothing is allocated and no lock is taken; a slow detection pass no
+ * longer stalls the feed until the ring in between is full.
+ * <p>
+ * One thread feeds {@link #onCandle(NumericCandle)}, one thread drains the signals with
+ * {@link #poll(SignalHandler)} or {@link #take(SignalHandler)}. Full and empty rings are
+ * waited on with the given {@link WaitStrategy}.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public class DetectionPipeline {
+
+	/**
+	 * Receives the patterns found, on the consumer thread.
+	 */
+	public interface SignalHandler {
+
+		/**
+		 * @param candle the candle that completed the patterns, only valid during the call
+		 * @param patterns the {@link CandlePattern} mask found in the window
+		 */
+		public void onSignal(NumericCandle candle, int patterns);
+	}
+
+	private final SpscRing<NumericCandle> candles;
+	private final SpscRing<Signal> signals;
+	private final WaitStrategy wait;
+	private final Detector detector;
+	private volatile boolean running = true;
+	/** the thread passing candles in, the only one allowed to shut the pipeline down */
+	private volatile Thread producer;
+
+	/**
+	 * @param capacity slots of each ring, a power of two
+	 * @param wait how the three threads wait on full or empty rings
+	 */
+	public DetectionPipeline(int capacity, WaitStrategy wait) {
+		NumericCandle[] candleSlots = new NumericCandle[capacity];
+		Signal[] signalSlots = new Signal[capacity];
+		for (int i = 0; i < capacity; i++) {
+			candleSlots[i] = new NumericCandle();
+			signalSlots[i] = new Signal();
+		}
+		this.candles = new SpscRing<>(candleSlots);
+		this.signals = new SpscRing<>(signalSlots);
+		this.wait = wait;
+		this.detector = new Detector();
+		this.detector.start();
+	}
+
+	/**
+	 * Ingestion thread only. Copies a closed candle into the pipeline, waiting while it is
+	 * full. Candles of the same market and interval must be passed from the oldest to
+	 * the most recent one.
+	 * @param candle the candle that just closed, may be reused once this returns
+	 * @throws IllegalStateException if the pipeline has been shut down
+	 */
+	public void onCandle(NumericCandle candle) {
+		int counter = 0;
+		while (!offer(candle)) {
+			counter = wait.idle(counter);
+		}
+	}
+
+	/**
+	 * Ingestion thread only. Copies a closed candle into the pipeline unless it is full.
+	 * @param candle the candle that just closed, may be reused once this returns
+	 * @return false if the pipeline is full
+	 * @throws IllegalStateException if the pipeline has been shut down
+	 */
+	public boolean offer(NumericCandle candle) {
+		if(!running) {
+			throw new IllegalStateException("Pipeline has been shut down");
+		}
+		if(producer != Thread.currentThread()) {
+			producer = Thread.currentThread();
+		}
+		NumericCandle slot = candles.claim();
+		if(slot == null) {
+			return false;
+		}
+		slot.set(candle);
+		candles.publish();
+		return true;
+	}
+
+	/**
+	 * Consumer thread only. Hands all signals waiting to the given handler, without waiting.
+	 * @return number of signals handled
+	 */
+	public int poll(SignalHandler handler) {
+		int count = 0;
+		Signal signal;
+		while ((signal = signals.peek()) != null) {
+			try {
+				handler.onSignal(signal.candle, signal.patterns);
+			} finally {
+				signals.release();
+			}
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Consumer thread only. Waits until at least one signal arrives or the pipeline has
+	 * terminated, then hands all signals waiting to the given handler.
+	 * @return number of signals handled, 0 only once the pipeline has terminated
+	 */
+	public int take(SignalHandler handler) {
+		int counter = 0;
+		int count;
+		while ((count = poll(handler)) == 0) {
+			if(isTerminated()) {
+				// signals published just before the detector ended
+				return poll(handler);
+			}
+			counter = wait.idle(counter);
+		}
+		return count;
+	}
+
+	/** @return number of candles waiting to be checked */
+	public int getPendingCandles() {
+		return candles.size();
+	}
+
+	/** @return number of signals waiting for the consumer */
+	public int getPendingSignals() {
+		return signals.size();
+	}
+
+	/**
+	 * Ingestion thread only. Stops accepting candles. Candles already passed in are still
+	 * checked, as long as the consumer keeps draining the signals. Called from the thread
+	 * that passed them in, every candle is published before the detection thread can see
+	 * the pipeline stopped, so none is left behind in the ring.
+	 * @throws IllegalStateException if called from another thread than the one passing candles in
+	 */
+	public void shutdown() {
+		Thread ingestion = producer;
+		if(ingestion != null && ingestion != Thread.currentThread()) {
+			throw new IllegalStateException("Pipeline must be shut down by its ingestion thread " + ingestion.getName());
+		}
+		running = false;
+	}
+
+	/** @return true once the detection thread has finished after {@link #shutdown()} */
+	public boolean isTerminated() {
+		return !detector.isAlive();
+	}
+
+	/**
+	 * Waits until the detection thread has finished after {@link #shutdown()}.
+	 * @return true if it finished in time
+	 */
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		detector.join(Math.max(1, unit.toMillis(timeout)));
+		return isTerminated();
+	}
+
+	/**
+	 * Preallocated slot of the signal ring.
+	 */
+	private static final class Signal {
+		private final NumericCandle candle = new NumericCandle();
+		private int patterns;
+	}
+
+	/**
+	 * Detection thread owning the detectors. Only this thread touches them.
+	 */
+	private class Detector extends Thread {
+		private final Map<String, Map<String, StreamingCandleStickDetector>> detectors = new HashMap<>();
+
+		private Detector() {
+			super("candlestick-pipeline");
+			setDaemon(true);
+		}
+
+		@Override
+		public void run() {
+			int counter = 0;
+			while (running || candles.size() > 0) {
+				NumericCandle candle = candles.peek();
+				if(candle == null) {
+					counter = wait.idle(counter);
+					continue;
+				}
+				counter = 0;
+				int patterns = detectorOf(candle).onCandle(candle);
+				if(patterns != 0) {
+					publish(candle, patterns);
+				}
+				candles.release();
+			}
+		}
+
+		private void publish(NumericCandle candle, int patterns) {
+			Signal signal;
+			int counter = 0;
+			// a full signal ring holds detection back rather than dropping signals
+			while ((signal = signals.claim()) == null) {
+				counter = wait.idle(counter);
+			}
+			signal.candle.set(candle);
+			signal.patterns = patterns;
+			signals.publish();
+		}
+
+		private StreamingCandleStickDetector detectorOf(NumericCandle candle) {
+			Map<String, StreamingCandleStickDetector> intervals = detectors.get(candle.getMarket());
+			if(intervals == null) {
+				intervals = new HashMap<>();
+				detectors.put(candle.getMarket(), intervals);
+			}
+			StreamingCandleStickDetector detector = intervals.get(candle.getInterval());
+			if(detector == null) {
+				detector = new StreamingCandleStickDetector();
+				intervals.put(candle.getInterval(), detector);
+			}
+			return detector;
+		}
+	}
+
+}
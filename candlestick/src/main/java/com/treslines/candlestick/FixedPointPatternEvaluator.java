@@ -0,0 +1,201 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+
+package com.treslines.candlestick;
+
+import com.treslines.data.model.FixedPointCandle;
+
+/**
+ * Fixed point twin of {@link PatternEvaluator}. Prices are whole numbers of ticks,
+ * ratios are compared by cross multiplication and halves by doubling both sides,
+ * so every check is exact. Division by zero keeps the semantics of the double based
+ * checkers (x/0 is infinite for x != 0 and never matches for x == 0), so both
+ * evaluators agree on every window whose prices are representable in ticks.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+final class FixedPointPatternEvaluator {
+
+	private FixedPointPatternEvaluator() {
+		// static evaluator
+	}
+
+	/**
+	 * @param current the most recent candle
+	 * @param middle the candle before current or null if there is none
+	 * @param last the candle before middle or null if there is none
+	 * @return the {@link CandlePattern} mask found in this window
+	 */
+	static int evaluate(FixedPointCandle current, FixedPointCandle middle, FixedPointCandle last) {
+		Shape cur = new Shape(current);
+
+		int result = 0;
+		boolean littleBody = cur.neither || atLeast(cur.fullSize, cur.body, 7);
+		if((cur.bullish || cur.neither) && littleBody && atMost(cur.upperShadow, cur.body, 2) && atLeast(cur.lowerShadow, cur.body, 5)) {
+			result |= CandlePattern.BULLISH_DOJI.mask();
+		}
+		if(cur.bullish && atMost(cur.upperShadow, cur.body, 2) && atLeast(cur.lowerShadow, cur.body, 2)) {
+			result |= CandlePattern.BULLISH_HAMMER.mask();
+		}
+		if((cur.bearish || cur.neither) && littleBody && atMost(cur.lowerShadow, cur.body, 2) && atLeast(cur.upperShadow, cur.body, 5)) {
+			result |= CandlePattern.BEARISH_DOJI.mask();
+		}
+		if(cur.bearish && atMost(cur.lowerShadow, cur.body, 2) && atLeast(cur.upperShadow, cur.body, 2)) {
+			result |= CandlePattern.BEARISH_SHOOTING_STAR.mask();
+		}
+		if(middle == null) {
+			return result;
+		}
+
+		Shape mid = new Shape(middle);
+		if(cur.bullish && mid.bearish) {
+			if(mid.body < cur.body && cur.bodyTop > mid.bodyTop && cur.bodyBottom < mid.bodyBottom) {
+				result |= CandlePattern.BULLISH_ENGOLFER.mask();
+			}
+			// bodyTop >= bottom + body/2, doubled
+			if(cur.bodyTop <= mid.bodyTop && 2*cur.bodyTop >= 2*mid.bodyBottom + mid.body) {
+				result |= CandlePattern.BULLISH_PIERCING.mask();
+			}
+			// the reference checker compares the current candle with itself here
+			if(sameOrAlmostSame(cur.body, cur.body) && sameOrAlmostSame(cur.lowerShadow, cur.lowerShadow)) {
+				result |= CandlePattern.BULLISH_TWEEZER_BOTTOM.mask();
+			}
+		}
+		if(mid.bullish && cur.bearish) {
+			if(mid.body < cur.body && cur.bodyTop > mid.bodyTop && cur.bodyBottom < mid.bodyBottom) {
+				result |= CandlePattern.BEARISH_ENGOLFER.mask();
+			}
+			if(cur.bodyTop >= mid.bodyTop && 2*cur.bodyBottom <= 2*mid.bodyBottom + mid.body) {
+				result |= CandlePattern.BEARISH_DARK_CLOUD_COVER.mask();
+			}
+			// the reference checker compares the current candle with itself here
+			if(sameOrAlmostSame(cur.body, cur.body) && sameOrAlmostSame(cur.upperShadow, cur.upperShadow)) {
+				result |= CandlePattern.BEARISH_TWEEZER_TOP.mask();
+			}
+		}
+		if(last == null) {
+			return result;
+		}
+
+		Shape lst = new Shape(last);
+		if(cur.bullish && mid.bullish) {
+			if(lst.bearish && isTinyMiddle(cur, mid, lst)
+					&& mid.bodyTop < cur.bodyBottom && mid.bodyTop < lst.bodyBottom && lst.bodyBottom > cur.bodyBottom
+					&& 2*cur.bodyTop >= 2*lst.bodyBottom + lst.body) {
+				result |= CandlePattern.BULLISH_MORNING_STAR.mask();
+			}
+			if(lst.bullish) {
+				if(lst.bodyTop < mid.bodyTop && mid.bodyTop < cur.bodyTop && isLong(cur) && isLong(mid) && isLong(lst)) {
+					result |= CandlePattern.BULLISH_WHITE_SOLDIERS.mask();
+				}
+				if(last.getMax() <= mid.bodyBottom && last.getMax() >= middle.getMin() && middle.getMax() <= cur.bodyBottom && middle.getMax() >= current.getMin()) {
+					result |= CandlePattern.BEARISH_KICKER.mask();
+				}
+			}
+		}
+		if(cur.bearish && mid.bearish) {
+			if(lst.bullish && isTinyMiddle(cur, mid, lst)
+					&& mid.bodyBottom > cur.bodyTop && mid.bodyBottom > lst.bodyTop && cur.bodyTop > lst.bodyTop
+					&& 2*lst.bodyTop >= 2*cur.bodyTop - cur.body) {
+				result |= CandlePattern.BEARISH_EVENING_STAR.mask();
+			}
+			if(lst.bearish) {
+				if(lst.bodyTop > mid.bodyTop && mid.bodyTop > cur.bodyTop && isLong(cur) && isLong(mid) && isLong(lst)) {
+					result |= CandlePattern.BEARISH_THREE_BLACK_CROWS.mask();
+				}
+				if(current.getMax() <= mid.bodyBottom && current.getMax() >= middle.getMin() && middle.getMax() <= lst.bodyBottom && middle.getMax() >= last.getMin()) {
+					result |= CandlePattern.BULLISH_KICKER.mask();
+				}
+			}
+		}
+		return result;
+	}
+
+	/** @return a/b >= k without dividing */
+	private static boolean atLeast(long a, long b, long k) {
+		if(b > 0) {
+			return a >= k*b;
+		}
+		if(b < 0) {
+			return a <= k*b;
+		}
+		// a/0 is +Infinity for a > 0, -Infinity for a < 0 and NaN for a == 0
+		return a > 0;
+	}
+
+	/** @return a/b <= k without dividing */
+	private static boolean atMost(long a, long b, long k) {
+		if(b > 0) {
+			return a <= k*b;
+		}
+		if(b < 0) {
+			return a >= k*b;
+		}
+		return a < 0;
+	}
+
+	private static boolean isTinyMiddle(Shape cur, Shape mid, Shape lst) {
+		return mid.body < cur.body && mid.body < lst.body && cur.body < lst.body;
+	}
+
+	private static boolean isLong(Shape candle) {
+		// body >= 5x upper shadow and >= 5x lower shadow
+		return atLeast(candle.body, candle.upperShadow, 5) && atLeast(candle.body, candle.lowerShadow, 5);
+	}
+
+	private static boolean sameOrAlmostSame(long current, long previous) {
+		// previous within current +/- 0.5%, scaled by 200
+		return current == previous || (200*previous <= 201*current && 200*previous >= 199*current);
+	}
+
+	/** Geometric features of a fixed point candle, see CandleFeatures. */
+	private static final class Shape {
+
+		final boolean bullish;
+		final boolean bearish;
+		final boolean neither;
+		final long body;
+		final long bodyTop;
+		final long bodyBottom;
+		final long upperShadow;
+		final long lowerShadow;
+		final long fullSize;
+
+		Shape(FixedPointCandle candle) {
+			long open = candle.getOpen();
+			long close = candle.getClose();
+			bullish = close > open;
+			bearish = close < open;
+			neither = close == open;
+			body = Math.abs(close - open);
+			bodyTop = bearish ? open : close;
+			bodyBottom = bearish ? close : open;
+			upperShadow = candle.getMax() - (bearish ? open : close);
+			lowerShadow = (bearish ? close : open) - candle.getMin();
+			fullSize = candle.getMax() - candle.getMin();
+		}
+
+	}
+
+}
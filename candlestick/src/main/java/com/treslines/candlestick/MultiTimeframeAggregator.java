@@ -0,0 +1,209 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.candlestick;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import com.treslines.data.model.Candle;
+import com.treslines.data.model.CandleInterval;
+import com.treslines.data.model.NumericCandle;
+
+/**
+ * Rolls the candles of one market at a base interval up into higher intervals while they
+ * arrive, e.g. one minute candles into 5 minute, 15 minute, hourly and 4 hour candles.
+ * Every interval only keeps its open candle, updated in O(1) per input, and its own
+ * {@link StreamingCandleStickDetector}, which checks the single, double and triple patterns
+ * as soon as that candle closes. No history is ever read again.
+ * A candle closes with the last base candle it covers, or with the first base candle of
+ * a later one if the base candles have a gap.
+ * Not thread safe, use one aggregator per market and feed it from a single thread.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public class MultiTimeframeAggregator {
+
+	private final String market;
+	private final CandleInterval base;
+	private final CandleStickListener listener;
+	private final Timeframe[] timeframes;
+	private long lastTimestamp = Long.MIN_VALUE;
+
+	/**
+	 * @param market the market of all candles, set on the candles passed to the listener
+	 * @param base interval of the incoming candles
+	 * @param listener receives the patterns found on every interval, may be null
+	 * @param intervals the intervals to build and check, each one a multiple of the base interval
+	 * @throws IllegalArgumentException if an interval is not a multiple of the base interval
+	 */
+	public MultiTimeframeAggregator(String market, CandleInterval base, CandleStickListener listener, CandleInterval... intervals) {
+		this.market = market;
+		this.base = base;
+		this.listener = listener;
+		this.timeframes = new Timeframe[intervals.length];
+		for (int i = 0; i < intervals.length; i++) {
+			if(!intervals[i].isMultipleOf(base)) {
+				throw new IllegalArgumentException(intervals[i].getName() + " is not a multiple of " + base.getName());
+			}
+			timeframes[i] = new Timeframe(intervals[i]);
+		}
+	}
+
+	/**
+	 * Use it whenever a base candle closes. Empty candles (see {@link Candle#isEmpty()}) are ignored.
+	 * @param candle the base candle that just closed, its date (yyyy-MM-dd) and time (HH:mm[:ss]) in UTC being its start
+	 * @throws NumberFormatException if one of the prices or volumes is not a number
+	 * @throws java.time.format.DateTimeParseException if the date or time cannot be parsed
+	 */
+	public void onCandle(Candle candle) {
+		if(candle == null || candle.isEmpty()) {
+			return;
+		}
+		LocalDateTime start = LocalDateTime.parse(candle.getDate() + "T" + candle.getTime());
+		NumericCandle values = NumericCandle.of(candle);
+		onCandle(start.toInstant(ZoneOffset.UTC).toEpochMilli(), values.getOpen(), values.getMax(), values.getMin(), values.getClose(),
+				values.getVolume(), values.getBaseVolume());
+	}
+
+	/**
+	 * Use it whenever a base candle closes.
+	 * @param timestamp start of the candle in UTC epoch millis
+	 * @throws IllegalArgumentException if the candle is older than the previous one
+	 */
+	public void onCandle(long timestamp, double open, double high, double low, double close, double volume, double baseVolume) {
+		if(timestamp < lastTimestamp) {
+			throw new IllegalArgumentException("Candles must be fed from the oldest to the most recent one");
+		}
+		lastTimestamp = timestamp;
+		for (Timeframe timeframe : timeframes) {
+			timeframe.add(timestamp, open, high, low, close, volume, baseVolume);
+		}
+	}
+
+	/**
+	 * Closes the open candle of every interval, e.g. at the end of a replay. The next base
+	 * candle starts new candles, even if they cover the same time.
+	 */
+	public void flush() {
+		for (Timeframe timeframe : timeframes) {
+			if(timeframe.building) {
+				timeframe.close();
+			}
+		}
+	}
+
+	/**
+	 * @param interval one of the intervals of this aggregator
+	 * @return the {@link CandlePattern} mask found when the last candle of this interval closed
+	 */
+	public int getPatterns(CandleInterval interval) {
+		return timeframeOf(interval).detector.getPatterns();
+	}
+
+	/**
+	 * @param interval one of the intervals of this aggregator
+	 * @return the last closed candle of this interval, null before the first one closes. Do not modify it.
+	 */
+	public NumericCandle getCandle(CandleInterval interval) {
+		Timeframe timeframe = timeframeOf(interval);
+		return timeframe.closed ? timeframe.last : null;
+	}
+
+	public String getMarket() {
+		return market;
+	}
+
+	public CandleInterval getBase() {
+		return base;
+	}
+
+	private Timeframe timeframeOf(CandleInterval interval) {
+		for (Timeframe timeframe : timeframes) {
+			if(timeframe.interval == interval) {
+				return timeframe;
+			}
+		}
+		throw new IllegalArgumentException("Interval " + interval.getName() + " is not aggregated");
+	}
+
+	/**
+	 * Open candle and detector of one interval.
+	 */
+	private final class Timeframe {
+		private final CandleInterval interval;
+		private final StreamingCandleStickDetector detector = new StreamingCandleStickDetector();
+		private final NumericCandle candle = new NumericCandle();
+		private final NumericCandle last = new NumericCandle();
+		private long start;
+		/** true while a candle of this interval has base candles and is not closed yet */
+		private boolean building;
+		private boolean closed;
+
+		private Timeframe(CandleInterval interval) {
+			this.interval = interval;
+			candle.setMarket(market);
+			candle.setInterval(interval.getName());
+		}
+
+		private void add(long timestamp, double open, double high, double low, double close, double volume, double baseVolume) {
+			long bucket = interval.start(timestamp);
+			if(building && bucket != start) {
+				// gap in the base candles, the open candle will not get any more
+				close();
+			}
+			if(building) {
+				candle.setMax(Math.max(candle.getMax(), high));
+				candle.setMin(Math.min(candle.getMin(), low));
+				candle.setVolume(candle.getVolume() + volume);
+				candle.setBaseVolume(candle.getBaseVolume() + baseVolume);
+			}else {
+				start = bucket;
+				building = true;
+				candle.setOpen(open);
+				candle.setMax(high);
+				candle.setMin(low);
+				candle.setVolume(volume);
+				candle.setBaseVolume(baseVolume);
+			}
+			candle.setClose(close);
+			if(timestamp + base.getMillis() >= start + interval.getMillis()) {
+				close();
+			}
+		}
+
+		private void close() {
+			building = false;
+			closed = true;
+			LocalDateTime time = LocalDateTime.ofEpochSecond(Math.floorDiv(start, 1000L), 0, ZoneOffset.UTC);
+			candle.setDate(time.toLocalDate().toString());
+			candle.setTime(time.toLocalTime().toString());
+			last.set(candle);
+			int patterns = detector.onCandle(candle);
+			if(patterns != 0 && listener != null) {
+				listener.onPatterns(last.toCandle(), patterns);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,226 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.candlestick;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.treslines.data.model.Candle;
+import com.treslines.data.model.Entity;
+
+/**
+ * Bounded cache of pattern masks for strategies asking about the same candles many
+ * times per close. A result is keyed by market, interval and {@link Entity#getId()} of
+ * the most recent candle, plus the number of candles checked (1 to 3), so a repeated
+ * query is a hash lookup instead of a new evaluation.
+ * <p>
+ * The cache is split into segments, each a small LRU map behind its own lock, so
+ * threads asking about different markets rarely wait for each other. Candles are
+ * expected to be closed: a candle updated in place keeps the result cached for its id.
+ * Candles not stored yet (id 0) are evaluated every time and never cached.
+ * <pre>
+ * int patterns = cache.evaluate(candles);
+ * boolean isTripleBullish = CandlePattern.isBullish(patterns &amp; CandlePattern.TRIPLE_MASK);
+ * </pre>
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public class PatternCache {
+
+	private static final int DEFAULT_SEGMENTS = 16;
+
+	private final Segment[] segments;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * @param capacity max results kept, the least recently used ones are evicted first
+	 */
+	public PatternCache(int capacity) {
+		this(capacity, Math.min(DEFAULT_SEGMENTS, Math.max(1, capacity / DEFAULT_SEGMENTS)));
+	}
+
+	/**
+	 * @param capacity max results kept, the least recently used ones of a segment are evicted first
+	 * @param segments number of independently locked segments, sharing the capacity
+	 */
+	public PatternCache(int capacity, int segments) {
+		if(capacity < 1 || segments < 1 || segments > capacity) {
+			throw new IllegalArgumentException("Capacity and segments must be positive and segments at most capacity");
+		}
+		this.segments = new Segment[segments];
+		for (int i = 0; i < segments; i++) {
+			// spread the capacity, the first segments taking the remainder
+			this.segments[i] = new Segment(capacity / segments + (i < capacity % segments ? 1 : 0));
+		}
+	}
+
+	/**
+	 * Same result as {@link CandleStickFactory#evaluate(List)}, cached for the most recent candle.
+	 * @param candles the most recent last ticks, the most recent first
+	 * @return the {@link CandlePattern} mask of all matching patterns
+	 */
+	public int evaluate(List<Candle> candles) {
+		if(candles == null || candles.isEmpty() || candles.get(0).getId() == 0) {
+			return CandleStickFactory.evaluate(candles);
+		}
+		Candle current = candles.get(0);
+		Key key = new Key(current.getMarket(), current.getInterval(), current.getId(), Math.min(candles.size(), 3));
+		// the high bits of the mixed hash pick the segment, the low ones are left to its map
+		Segment segment = segments[(key.hashCode() * 0x9E3779B9 >>> 16) % segments.length];
+		Integer cached = segment.get(key);
+		if(cached != null) {
+			hits.increment();
+			return cached;
+		}
+		misses.increment();
+		// evaluated outside the lock, a concurrent miss on the same key just computes the same mask
+		int result = CandleStickFactory.evaluate(candles);
+		segment.put(key, result);
+		return result;
+	}
+
+	/** Removes all cached results, the counters are kept. */
+	public void clear() {
+		for (Segment segment : segments) {
+			segment.clear();
+		}
+	}
+
+	/** @return number of results currently cached */
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			size += segment.size();
+		}
+		return size;
+	}
+
+	/** @return queries answered from the cache */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/** @return queries evaluated and cached */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/** @return results evicted to keep the cache within its capacity */
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+	/** @return hits / (hits + misses) or 0 if nothing was asked yet */
+	public double getHitRatio() {
+		long hit = hits.sum();
+		long total = hit + misses.sum();
+		return total == 0 ? 0 : (double) hit / total;
+	}
+
+	/**
+	 * LRU map of one segment, guarded by itself.
+	 */
+	private class Segment {
+		private final Map<Key, Integer> results;
+
+		private Segment(final int capacity) {
+			this.results = new LinkedHashMap<Key, Integer>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Key, Integer> eldest) {
+					if(size() > capacity) {
+						evictions.increment();
+						return true;
+					}
+					return false;
+				}
+			};
+		}
+
+		private synchronized Integer get(Key key) {
+			return results.get(key);
+		}
+
+		private synchronized void put(Key key, int result) {
+			results.put(key, result);
+		}
+
+		private synchronized void clear() {
+			results.clear();
+		}
+
+		private synchronized int size() {
+			return results.size();
+		}
+	}
+
+	/**
+	 * Market, interval and id of the most recent candle and the number of candles checked.
+	 */
+	private static final class Key {
+		private final String market;
+		private final String interval;
+		private final int id;
+		private final int candles;
+		private final int hash;
+
+		private Key(String market, String interval, int id, int candles) {
+			this.market = market;
+			this.interval = interval;
+			this.id = id;
+			this.candles = candles;
+			int result = market == null ? 0 : market.hashCode();
+			result = 31 * result + (interval == null ? 0 : interval.hashCode());
+			result = 31 * result + id;
+			this.hash = 31 * result + candles;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if(this == other) {
+				return true;
+			}
+			if(!(other instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) other;
+			return id == key.id && candles == key.candles && equal(market, key.market) && equal(interval, key.interval);
+		}
+
+		private static boolean equal(String left, String right) {
+			return left == null ? right == null : left.equals(right);
+		}
+	}
+
+}
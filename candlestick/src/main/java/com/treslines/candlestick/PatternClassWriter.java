@@ -0,0 +1,494 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.candlestick;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.treslines.candlestick.PatternCondition.Comparison;
+import com.treslines.candlestick.PatternCondition.Measure;
+import com.treslines.candlestick.PatternCondition.Position;
+
+/**
+ * Minimal class file writer for {@link CompiledPatterns}. It emits one public final class
+ * implementing {@link CompiledPatterns.Evaluator}, whose evaluate method runs the
+ * conditions of every pattern as straight short circuit code, the same instructions
+ * javac emits for the hand written checkers. Patterns in a row starting with the same
+ * condition check it only once, like the color checks shared by PatternEvaluator. Class files are written in version 49
+ * (Java 5), which still loads on every current JVM and needs no stack map frames.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+final class PatternClassWriter {
+
+	private static final int VERSION = 49;
+	private static final int ACC_PUBLIC = 0x0001;
+	private static final int ACC_FINAL = 0x0010;
+	private static final int ACC_SUPER = 0x0020;
+
+	private static final String NUMERIC_CANDLE = "com/treslines/data/model/NumericCandle";
+	private static final String FEATURES = "com/treslines/data/model/CandleFeatures";
+	private static final String EVALUATOR = "com/treslines/candlestick/CompiledPatterns$Evaluator";
+	private static final String EVALUATE = "(L" + NUMERIC_CANDLE + ";L" + NUMERIC_CANDLE + ";L" + NUMERIC_CANDLE + ";)I";
+
+	/** local variables of evaluate: this, the three candles, the mask, their features and three doubles for near() */
+	private static final int MASK = 4;
+	private static final int FEATURES_OF = 5;
+	private static final int FIRST = 8;
+	private static final int SECOND = 10;
+	private static final int THIRD = 12;
+	private static final int LOCALS = 14;
+	private static final int STACK = 16;
+
+	private static final int ILOAD = 0x15;
+	private static final int ALOAD = 0x19;
+	private static final int ASTORE = 0x3a;
+	private static final int ACONST_NULL = 0x01;
+	private static final int DLOAD = 0x18;
+	private static final int ISTORE = 0x36;
+	private static final int DSTORE = 0x39;
+	private static final int ICONST_0 = 0x03;
+	private static final int LDC_W = 0x13;
+	private static final int LDC2_W = 0x14;
+	private static final int DADD = 0x63;
+	private static final int DSUB = 0x67;
+	private static final int DMUL = 0x6b;
+	private static final int DDIV = 0x6f;
+	private static final int IOR = 0x80;
+	private static final int DCMPL = 0x97;
+	private static final int DCMPG = 0x98;
+	private static final int IFEQ = 0x99;
+	private static final int IFNE = 0x9a;
+	private static final int IFLT = 0x9b;
+	private static final int IFGE = 0x9c;
+	private static final int IFGT = 0x9d;
+	private static final int IFLE = 0x9e;
+	private static final int GOTO = 0xa7;
+	private static final int IRETURN = 0xac;
+	private static final int RETURN = 0xb1;
+	private static final int INVOKEVIRTUAL = 0xb6;
+	private static final int INVOKESPECIAL = 0xb7;
+	private static final int IFNULL = 0xc6;
+
+	private final Bytes pool = new Bytes();
+	private final Map<String, Integer> constants = new HashMap<>();
+	private int poolSize = 1;
+
+	private final Bytes code = new Bytes();
+	private int[] labels = new int[16];
+	private int labelCount;
+	private int[] jumps = new int[16];
+	private int jumpCount;
+
+	/**
+	 * @param className internal name of the class to write, e.g. com/treslines/candlestick/GeneratedPatterns1
+	 * @param definitions the patterns, definition i setting bit i of the mask
+	 * @param order indexes of the definitions in the order they are checked
+	 * @return the class file
+	 */
+	byte[] write(String className, java.util.List<PatternDefinition> definitions, int[] order) {
+		int thisClass = classRef(className);
+		int superClass = classRef("java/lang/Object");
+		int evaluator = classRef(EVALUATOR);
+		int objectInit = methodRef("java/lang/Object", "<init>", "()V");
+		int initName = utf8("<init>");
+		int initType = utf8("()V");
+		int evaluateName = utf8("evaluate");
+		int evaluateType = utf8(EVALUATE);
+		int codeName = utf8("Code");
+
+		// constructor: super()
+		code.u1(ALOAD).u1(0).u1(INVOKESPECIAL).u2(objectInit).u1(RETURN);
+		byte[] constructor = code.toArray();
+		code.reset();
+
+		code.u1(ICONST_0).u1(ISTORE).u1(MASK);
+		// features of every candle read once, like PatternEvaluator, null for a missing candle
+		for (Position position : Position.values()) {
+			int missing = newLabel();
+			code.u1(ACONST_NULL).u1(ASTORE).u1(FEATURES_OF + position.ordinal());
+			code.u1(ALOAD).u1(1 + position.ordinal());
+			jump(IFNULL, missing);
+			code.u1(ALOAD).u1(1 + position.ordinal());
+			invoke(NUMERIC_CANDLE, "features", "()L" + FEATURES + ";");
+			code.u1(ASTORE).u1(FEATURES_OF + position.ordinal());
+			mark(missing);
+		}
+		int i = 0;
+		while (i < order.length) {
+			PatternCondition lead = definitions.get(order[i]).getCondition().terms()[0];
+			int end = i + 1;
+			while (end < order.length && lead.toString().equals(definitions.get(order[end]).getCondition().terms()[0].toString())) {
+				end++;
+			}
+			if(end - i == 1) {
+				PatternDefinition definition = definitions.get(order[i]);
+				int skip = newLabel();
+				guard(1, definition.candles(), skip);
+				definition.getCondition().jumpIfFalse(this, skip);
+				set(order[i]);
+				mark(skip);
+			}else {
+				// patterns in a row starting with the same term check it once
+				int skipAll = newLabel();
+				guard(1, lead.candles(), skipAll);
+				lead.jumpIfFalse(this, skipAll);
+				for (int k = i; k < end; k++) {
+					PatternDefinition definition = definitions.get(order[k]);
+					PatternCondition[] terms = definition.getCondition().terms();
+					int skip = newLabel();
+					guard(lead.candles(), definition.candles(), skip);
+					for (int t = 1; t < terms.length; t++) {
+						terms[t].jumpIfFalse(this, skip);
+					}
+					set(order[k]);
+					mark(skip);
+				}
+				mark(skipAll);
+			}
+			i = end;
+		}
+		code.u1(ILOAD).u1(MASK).u1(IRETURN);
+		resolve();
+		byte[] evaluate = code.toArray();
+
+		Bytes file = new Bytes();
+		file.u4(0xCAFEBABE).u2(0).u2(VERSION);
+		file.u2(poolSize).bytes(pool.toArray());
+		file.u2(ACC_PUBLIC | ACC_FINAL | ACC_SUPER).u2(thisClass).u2(superClass);
+		file.u2(1).u2(evaluator);
+		// no fields
+		file.u2(0);
+		file.u2(2);
+		method(file, initName, initType, codeName, 1, 1, constructor);
+		method(file, evaluateName, evaluateType, codeName, STACK, LOCALS, evaluate);
+		// no attributes
+		file.u2(0);
+		return file.toArray();
+	}
+
+	private static void method(Bytes file, int name, int type, int codeName, int stack, int locals, byte[] instructions) {
+		file.u2(ACC_PUBLIC).u2(name).u2(type).u2(1);
+		file.u2(codeName).u4(12 + instructions.length).u2(stack).u2(locals).u4(instructions.length).bytes(instructions);
+		// no exception table, no attributes
+		file.u2(0).u2(0);
+	}
+
+	/** jumps to the label if one of the candles from position from up to candles is missing, a pattern reading a candle needs it */
+	private void guard(int from, int candles, int label) {
+		for (int position = from; position < candles; position++) {
+			code.u1(ALOAD).u1(1 + position);
+			jump(IFNULL, label);
+		}
+	}
+
+	/** sets the bit of the given definition in the mask */
+	private void set(int definition) {
+		code.u1(ILOAD).u1(MASK).u1(LDC_W).u2(integer(1 << definition)).u1(IOR).u1(ISTORE).u1(MASK);
+	}
+
+	// ---- instructions used by the conditions
+
+	/** pushes the given double value of a candle */
+	void operand(Position position, Measure measure) {
+		int candle = 1 + position.ordinal();
+		int features = FEATURES_OF + position.ordinal();
+		switch (measure) {
+		case OPEN:
+			price(candle, "getOpen");
+			break;
+		case CLOSE:
+			price(candle, "getClose");
+			break;
+		case MAX:
+			price(candle, "getMax");
+			break;
+		case MIN:
+			price(candle, "getMin");
+			break;
+		case BODY:
+			feature(features, "getBody", "()D");
+			break;
+		case BODY_TOP:
+			feature(features, "getBodyTop", "()D");
+			break;
+		case BODY_BOTTOM:
+			feature(features, "getBodyBottom", "()D");
+			break;
+		case UPPER_SHADOW:
+			feature(features, "getUpperShadow", "()D");
+			break;
+		case LOWER_SHADOW:
+			feature(features, "getLowerShadow", "()D");
+			break;
+		default:
+			feature(features, "getFullSize", "()D");
+			break;
+		}
+	}
+
+	/** jumps to the label unless the given color getter of CandleFeatures returns true for the candle */
+	void color(Position position, String getter, int label) {
+		feature(FEATURES_OF + position.ordinal(), getter, "()Z");
+		jump(IFEQ, label);
+	}
+
+	/** pops two doubles, left below right, and jumps to the label unless left compares as given to right */
+	void compare(Comparison comparison, int label) {
+		// NaN compares false, the same as javac's instructions for the source comparison
+		switch (comparison) {
+		case LESS:
+			code.u1(DCMPG);
+			jump(IFGE, label);
+			break;
+		case LESS_OR_EQUAL:
+			code.u1(DCMPG);
+			jump(IFGT, label);
+			break;
+		case EQUAL:
+			code.u1(DCMPL);
+			jump(IFNE, label);
+			break;
+		case GREATER_OR_EQUAL:
+			code.u1(DCMPL);
+			jump(IFLT, label);
+			break;
+		default:
+			code.u1(DCMPL);
+			jump(IFLE, label);
+			break;
+		}
+	}
+
+	void constant(double value) {
+		code.u1(LDC2_W).u2(doubleConstant(value));
+	}
+
+	void divide() {
+		code.u1(DDIV);
+	}
+
+	/** pops value, factor and scaled and pushes value + (factor*scaled) */
+	void multiplyAdd() {
+		code.u1(DMUL).u1(DADD);
+	}
+
+	/**
+	 * Pops current and previous and jumps to the label unless they are the same or
+	 * previous lies within the given percent of current, see sameOrAlmostSame of the built-in checkers.
+	 */
+	void near(double percent, int label) {
+		int match = newLabel();
+		code.u1(DSTORE).u1(SECOND).u1(DSTORE).u1(FIRST);
+		code.u1(DLOAD).u1(FIRST).u1(DLOAD).u1(SECOND).u1(DCMPL);
+		jump(IFEQ, match);
+		// drift = ((current*percent)/100)
+		code.u1(DLOAD).u1(FIRST);
+		constant(percent);
+		code.u1(DMUL);
+		constant(100);
+		code.u1(DDIV).u1(DSTORE).u1(THIRD);
+		code.u1(DLOAD).u1(SECOND).u1(DLOAD).u1(FIRST).u1(DLOAD).u1(THIRD).u1(DADD);
+		compare(Comparison.LESS_OR_EQUAL, label);
+		code.u1(DLOAD).u1(SECOND).u1(DLOAD).u1(FIRST).u1(DLOAD).u1(THIRD).u1(DSUB);
+		compare(Comparison.GREATER_OR_EQUAL, label);
+		mark(match);
+	}
+
+	void jump(int label) {
+		jump(GOTO, label);
+	}
+
+	int newLabel() {
+		if(labelCount == labels.length) {
+			labels = Arrays.copyOf(labels, labelCount * 2);
+		}
+		labels[labelCount] = -1;
+		return labelCount++;
+	}
+
+	void mark(int label) {
+		labels[label] = code.size();
+	}
+
+	private void jump(int opcode, int label) {
+		if(jumpCount == jumps.length) {
+			jumps = Arrays.copyOf(jumps, jumpCount * 2);
+		}
+		// offset of the instruction, its 16 bit target is patched by resolve()
+		jumps[jumpCount++] = code.size();
+		code.u1(opcode).u2(label);
+	}
+
+	private void resolve() {
+		byte[] bytes = code.buffer();
+		for (int i = 0; i < jumpCount; i++) {
+			int at = jumps[i];
+			int label = (bytes[at + 1] & 0xFF) << 8 | (bytes[at + 2] & 0xFF);
+			int offset = labels[label] - at;
+			if(offset > Short.MAX_VALUE) {
+				throw new IllegalArgumentException("Too many conditions to compile into one method");
+			}
+			bytes[at + 1] = (byte) (offset >> 8);
+			bytes[at + 2] = (byte) offset;
+		}
+	}
+
+	private void price(int candle, String getter) {
+		code.u1(ALOAD).u1(candle);
+		invoke(NUMERIC_CANDLE, getter, "()D");
+	}
+
+	private void feature(int features, String getter, String type) {
+		code.u1(ALOAD).u1(features);
+		invoke(FEATURES, getter, type);
+	}
+
+	private void invoke(String owner, String name, String type) {
+		code.u1(INVOKEVIRTUAL).u2(methodRef(owner, name, type));
+	}
+
+	// ---- constant pool
+
+	private int utf8(String value) {
+		Integer index = constants.get("U" + value);
+		if(index == null) {
+			byte[] bytes = value.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+			pool.u1(1).u2(bytes.length).bytes(bytes);
+			index = add("U" + value, 1);
+		}
+		return index;
+	}
+
+	private int classRef(String name) {
+		Integer index = constants.get("C" + name);
+		if(index == null) {
+			int utf8 = utf8(name);
+			pool.u1(7).u2(utf8);
+			index = add("C" + name, 1);
+		}
+		return index;
+	}
+
+	private int methodRef(String owner, String name, String type) {
+		String key = "M" + owner + "." + name + type;
+		Integer index = constants.get(key);
+		if(index == null) {
+			int ownerIndex = classRef(owner);
+			int nameIndex = utf8(name);
+			int typeIndex = utf8(type);
+			pool.u1(12).u2(nameIndex).u2(typeIndex);
+			int nameAndType = add("N" + key, 1);
+			pool.u1(10).u2(ownerIndex).u2(nameAndType);
+			index = add(key, 1);
+		}
+		return index;
+	}
+
+	private int integer(int value) {
+		Integer index = constants.get("I" + value);
+		if(index == null) {
+			pool.u1(3).u4(value);
+			index = add("I" + value, 1);
+		}
+		return index;
+	}
+
+	private int doubleConstant(double value) {
+		long bits = Double.doubleToRawLongBits(value);
+		Integer index = constants.get("D" + bits);
+		if(index == null) {
+			pool.u1(6).u4((int) (bits >>> 32)).u4((int) bits);
+			// doubles take two entries
+			index = add("D" + bits, 2);
+		}
+		return index;
+	}
+
+	private int add(String key, int entries) {
+		int index = poolSize;
+		poolSize += entries;
+		if(poolSize > 0xFFFF) {
+			throw new IllegalArgumentException("Too many constants to compile into one class");
+		}
+		constants.put(key, index);
+		return index;
+	}
+
+	/**
+	 * Growable big endian byte buffer.
+	 */
+	private static final class Bytes {
+		private byte[] bytes = new byte[256];
+		private int size;
+
+		private Bytes u1(int value) {
+			ensure(1);
+			bytes[size++] = (byte) value;
+			return this;
+		}
+
+		private Bytes u2(int value) {
+			ensure(2);
+			bytes[size++] = (byte) (value >> 8);
+			bytes[size++] = (byte) value;
+			return this;
+		}
+
+		private Bytes u4(int value) {
+			return u2(value >>> 16).u2(value & 0xFFFF);
+		}
+
+		private Bytes bytes(byte[] values) {
+			ensure(values.length);
+			System.arraycopy(values, 0, bytes, size, values.length);
+			size += values.length;
+			return this;
+		}
+
+		private void ensure(int more) {
+			if(size + more > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + more));
+			}
+		}
+
+		private int size() {
+			return size;
+		}
+
+		private byte[] buffer() {
+			return bytes;
+		}
+
+		private byte[] toArray() {
+			return Arrays.copyOf(bytes, size);
+		}
+
+		private void reset() {
+			size = 0;
+		}
+	}
+
+}
@@ -0,0 +1,494 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.candlestick;
+
+import com.treslines.data.model.CandleFeatures;
+import com.treslines.data.model.NumericCandle;
+
+/**
+ * Declarative condition on the candles of a window, the building block of a
+ * {@link PatternDefinition}. Conditions are plain values; {@link CompiledPatterns}
+ * turns them into the bytecode of one class taking the current, middle and last
+ * candle, the same instructions javac emits for hand written checks. Ratios and sums
+ * are computed exactly as the built-in patterns do, so a division by a zero body
+ * behaves the same.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public abstract class PatternCondition {
+
+	/** Candle of the window a value is read from. */
+	public enum Position {
+		CURRENT,
+		MIDDLE,
+		LAST
+	}
+
+	/** Value of a candle, see {@link CandleFeatures} for the geometric ones. */
+	public enum Measure {
+		OPEN,
+		CLOSE,
+		MAX,
+		MIN,
+		BODY,
+		BODY_TOP,
+		BODY_BOTTOM,
+		UPPER_SHADOW,
+		LOWER_SHADOW,
+		FULL_SIZE
+	}
+
+	/** Comparison of a left value with a right one. */
+	public enum Comparison {
+		LESS,
+		LESS_OR_EQUAL,
+		EQUAL,
+		GREATER_OR_EQUAL,
+		GREATER
+	}
+
+	/** cost units, see {@link #cost()}: a double division costs several times a comparison */
+	private static final int OPERAND = 2;
+	private static final int COMPARISON = 2;
+	private static final int MULTIPLY = 2;
+	private static final int DIVISION = 8;
+
+	PatternCondition() {
+		// closed set of conditions, created over the static factories
+	}
+
+	/** Writes the instructions checking this condition, jumping to the given label if it does not hold. */
+	abstract void jumpIfFalse(PatternClassWriter writer, int label);
+
+	/**
+	 * Checks this condition without compiling it, used to profile conditions.
+	 * @return true if this condition holds, the candles read must not be null
+	 */
+	abstract boolean test(NumericCandle current, NumericCandle middle, NumericCandle last);
+
+	/** @return how many candles this condition reads: 1, 2 or 3 */
+	abstract int candles();
+
+	/** @return estimated cost of the compiled condition, about one unit per simple instruction and more for divisions */
+	abstract int cost();
+
+	/** @return the conditions which all have to hold, just this one unless it is an {@link #allOf(PatternCondition...)} */
+	PatternCondition[] terms() {
+		return new PatternCondition[] {this};
+	}
+
+	/**
+	 * A value of one candle of the window, e.g. the body of the current candle.
+	 */
+	public static final class Operand {
+		private final Position position;
+		private final Measure measure;
+
+		private Operand(Position position, Measure measure) {
+			this.position = position;
+			this.measure = measure;
+		}
+
+		private void push(PatternClassWriter writer) {
+			writer.operand(position, measure);
+		}
+
+		private double value(NumericCandle current, NumericCandle middle, NumericCandle last) {
+			NumericCandle candle = position == Position.CURRENT ? current : position == Position.MIDDLE ? middle : last;
+			switch (measure) {
+			case OPEN:
+				return candle.getOpen();
+			case CLOSE:
+				return candle.getClose();
+			case MAX:
+				return candle.getMax();
+			case MIN:
+				return candle.getMin();
+			case BODY:
+				return candle.features().getBody();
+			case BODY_TOP:
+				return candle.features().getBodyTop();
+			case BODY_BOTTOM:
+				return candle.features().getBodyBottom();
+			case UPPER_SHADOW:
+				return candle.features().getUpperShadow();
+			case LOWER_SHADOW:
+				return candle.features().getLowerShadow();
+			default:
+				return candle.features().getFullSize();
+			}
+		}
+
+		private int candles() {
+			return position.ordinal() + 1;
+		}
+
+		@Override
+		public String toString() {
+			return position.name().toLowerCase() + "." + measure.name().toLowerCase();
+		}
+	}
+
+	/** @return the given value of the candle at the given position */
+	public static Operand of(Position position, Measure measure) {
+		return new Operand(position, measure);
+	}
+
+	/** @return the given value of the most recent candle */
+	public static Operand current(Measure measure) {
+		return new Operand(Position.CURRENT, measure);
+	}
+
+	/** @return the given value of the candle before the current one */
+	public static Operand middle(Measure measure) {
+		return new Operand(Position.MIDDLE, measure);
+	}
+
+	/** @return the given value of the candle before the middle one */
+	public static Operand last(Measure measure) {
+		return new Operand(Position.LAST, measure);
+	}
+
+	/** @return true if the close of the given candle is above its open */
+	public static PatternCondition bullish(Position position) {
+		return new Color("isBullish", position, "bullish");
+	}
+
+	/** @return true if the close of the given candle is below its open */
+	public static PatternCondition bearish(Position position) {
+		return new Color("isBearish", position, "bearish");
+	}
+
+	/** @return true if the close of the given candle equals its open */
+	public static PatternCondition neither(Position position) {
+		return new Color("isNeitherBullishNorBearish", position, "neither");
+	}
+
+	/** @return true if dividend / divisor compares as given to value, e.g. lower shadow / body &gt;= 2 */
+	public static PatternCondition ratio(Operand dividend, Operand divisor, Comparison comparison, double value) {
+		return new Ratio(dividend, divisor, comparison, value);
+	}
+
+	/** @return true if left compares as given to right */
+	public static PatternCondition compare(Operand left, Comparison comparison, Operand right) {
+		return new Compare(left, comparison, right, 0, null);
+	}
+
+	/** @return true if left compares as given to right + factor * scaled, e.g. a body top above the middle of a body */
+	public static PatternCondition compare(Operand left, Comparison comparison, Operand right, double factor, Operand scaled) {
+		return new Compare(left, comparison, right, factor, scaled);
+	}
+
+	/** @return true if previous lies within the given percent of current, either way */
+	public static PatternCondition near(Operand current, Operand previous, double percent) {
+		return new Near(current, previous, percent);
+	}
+
+	/** @return true if all conditions hold, checked in the given order and stopping at the first one failing */
+	public static PatternCondition allOf(PatternCondition... conditions) {
+		return new Junction(true, conditions);
+	}
+
+	/** @return true if any condition holds, checked in the given order and stopping at the first one holding */
+	public static PatternCondition anyOf(PatternCondition... conditions) {
+		return new Junction(false, conditions);
+	}
+
+	private static boolean holds(double left, Comparison comparison, double right) {
+		switch (comparison) {
+		case LESS:
+			return left < right;
+		case LESS_OR_EQUAL:
+			return left <= right;
+		case EQUAL:
+			return left == right;
+		case GREATER_OR_EQUAL:
+			return left >= right;
+		default:
+			return left > right;
+		}
+	}
+
+	private static final class Color extends PatternCondition {
+		private static final int BULLISH = 0;
+		private static final int BEARISH = 1;
+		private static final int NEITHER = 2;
+
+		private final String getter;
+		private final Position position;
+		private final String name;
+		private final int color;
+
+		private Color(String getter, Position position, String name) {
+			this.getter = getter;
+			this.position = position;
+			this.name = name;
+			this.color = "isBullish".equals(getter) ? BULLISH : "isBearish".equals(getter) ? BEARISH : NEITHER;
+		}
+
+		@Override
+		void jumpIfFalse(PatternClassWriter writer, int label) {
+			writer.color(position, getter, label);
+		}
+
+		@Override
+		boolean test(NumericCandle current, NumericCandle middle, NumericCandle last) {
+			NumericCandle candle = position == Position.CURRENT ? current : position == Position.MIDDLE ? middle : last;
+			CandleFeatures features = candle.features();
+			if(color == BULLISH) {
+				return features.isBullish();
+			}
+			return color == BEARISH ? features.isBearish() : features.isNeitherBullishNorBearish();
+		}
+
+		@Override
+		int candles() {
+			return position.ordinal() + 1;
+		}
+
+		@Override
+		int cost() {
+			// a getter of features already loaded and a branch
+			return COMPARISON;
+		}
+
+		@Override
+		public String toString() {
+			return name + "(" + position.name().toLowerCase() + ")";
+		}
+	}
+
+	private static final class Ratio extends PatternCondition {
+		private final Operand dividend;
+		private final Operand divisor;
+		private final Comparison comparison;
+		private final double value;
+
+		private Ratio(Operand dividend, Operand divisor, Comparison comparison, double value) {
+			this.dividend = dividend;
+			this.divisor = divisor;
+			this.comparison = comparison;
+			this.value = value;
+		}
+
+		@Override
+		void jumpIfFalse(PatternClassWriter writer, int label) {
+			dividend.push(writer);
+			divisor.push(writer);
+			writer.divide();
+			writer.constant(value);
+			writer.compare(comparison, label);
+		}
+
+		@Override
+		boolean test(NumericCandle current, NumericCandle middle, NumericCandle last) {
+			return holds(dividend.value(current, middle, last)/divisor.value(current, middle, last), comparison, value);
+		}
+
+		@Override
+		int candles() {
+			return Math.max(dividend.candles(), divisor.candles());
+		}
+
+		@Override
+		int cost() {
+			return 2 * OPERAND + DIVISION + COMPARISON;
+		}
+
+		@Override
+		public String toString() {
+			return dividend + " / " + divisor + " " + comparison + " " + value;
+		}
+	}
+
+	private static final class Compare extends PatternCondition {
+		private final Operand left;
+		private final Comparison comparison;
+		private final Operand right;
+		private final double factor;
+		private final Operand scaled;
+
+		private Compare(Operand left, Comparison comparison, Operand right, double factor, Operand scaled) {
+			this.left = left;
+			this.comparison = comparison;
+			this.right = right;
+			this.factor = factor;
+			this.scaled = scaled;
+		}
+
+		@Override
+		void jumpIfFalse(PatternClassWriter writer, int label) {
+			left.push(writer);
+			right.push(writer);
+			if(scaled != null) {
+				writer.constant(factor);
+				scaled.push(writer);
+				writer.multiplyAdd();
+			}
+			writer.compare(comparison, label);
+		}
+
+		@Override
+		boolean test(NumericCandle current, NumericCandle middle, NumericCandle last) {
+			double value = right.value(current, middle, last);
+			if(scaled != null) {
+				value = value + (factor*scaled.value(current, middle, last));
+			}
+			return holds(left.value(current, middle, last), comparison, value);
+		}
+
+		@Override
+		int candles() {
+			return Math.max(Math.max(left.candles(), right.candles()), scaled == null ? 1 : scaled.candles());
+		}
+
+		@Override
+		int cost() {
+			return 2 * OPERAND + (scaled == null ? 0 : OPERAND + MULTIPLY + 1) + COMPARISON;
+		}
+
+		@Override
+		public String toString() {
+			return left + " " + comparison + " " + right + (scaled == null ? "" : " + " + factor + " * " + scaled);
+		}
+	}
+
+	private static final class Near extends PatternCondition {
+		private final Operand current;
+		private final Operand previous;
+		private final double percent;
+
+		private Near(Operand current, Operand previous, double percent) {
+			this.current = current;
+			this.previous = previous;
+			this.percent = percent;
+		}
+
+		@Override
+		void jumpIfFalse(PatternClassWriter writer, int label) {
+			current.push(writer);
+			previous.push(writer);
+			writer.near(percent, label);
+		}
+
+		@Override
+		boolean test(NumericCandle current, NumericCandle middle, NumericCandle last) {
+			double now = this.current.value(current, middle, last);
+			double before = previous.value(current, middle, last);
+			double drift = ((now*percent)/100);
+			return now == before || (before <= now + drift && before >= now - drift);
+		}
+
+		@Override
+		int candles() {
+			return Math.max(current.candles(), previous.candles());
+		}
+
+		@Override
+		int cost() {
+			// drift, up to three comparisons and the loads and stores of the locals
+			return 2 * OPERAND + MULTIPLY + DIVISION + 3 * COMPARISON + 6;
+		}
+
+		@Override
+		public String toString() {
+			return previous + " within " + percent + "% of " + current;
+		}
+	}
+
+	private static final class Junction extends PatternCondition {
+		private final boolean all;
+		private final PatternCondition[] conditions;
+
+		private Junction(boolean all, PatternCondition[] conditions) {
+			if(conditions.length == 0) {
+				throw new IllegalArgumentException("At least one condition is needed");
+			}
+			this.all = all;
+			this.conditions = conditions.clone();
+		}
+
+		@Override
+		void jumpIfFalse(PatternClassWriter writer, int label) {
+			if(all) {
+				for (PatternCondition condition : conditions) {
+					condition.jumpIfFalse(writer, label);
+				}
+				return;
+			}
+			int match = writer.newLabel();
+			for (int i = 0; i < conditions.length - 1; i++) {
+				int next = writer.newLabel();
+				conditions[i].jumpIfFalse(writer, next);
+				writer.jump(match);
+				writer.mark(next);
+			}
+			conditions[conditions.length - 1].jumpIfFalse(writer, label);
+			writer.mark(match);
+		}
+
+		@Override
+		boolean test(NumericCandle current, NumericCandle middle, NumericCandle last) {
+			for (PatternCondition condition : conditions) {
+				if(condition.test(current, middle, last) != all) {
+					return !all;
+				}
+			}
+			return all;
+		}
+
+		@Override
+		PatternCondition[] terms() {
+			return all ? conditions.clone() : super.terms();
+		}
+
+		@Override
+		int candles() {
+			int candles = 1;
+			for (PatternCondition condition : conditions) {
+				candles = Math.max(candles, condition.candles());
+			}
+			return candles;
+		}
+
+		@Override
+		int cost() {
+			int cost = 0;
+			for (PatternCondition condition : conditions) {
+				cost += condition.cost();
+			}
+			return cost;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder text = new StringBuilder(all ? "allOf(" : "anyOf(");
+			for (int i = 0; i < conditions.length; i++) {
+				text.append(i == 0 ? "" : ", ").append(conditions[i]);
+			}
+			return text.append(')').toString();
+		}
+	}
+
+}
@@ -0,0 +1,74 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.candlestick;
+
+/**
+ * A named pattern: the condition its window has to meet and whether it signals a
+ * bullish or a bearish turn. Compile a list of definitions with {@link CompiledPatterns}.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public final class PatternDefinition {
+
+	private final String name;
+	private final boolean bullish;
+	private final PatternCondition condition;
+
+	/**
+	 * @param name name of the pattern, e.g. "BULLISH_HAMMER"
+	 * @param bullish true for a bullish pattern, false for a bearish one
+	 * @param condition the condition the window has to meet
+	 */
+	public PatternDefinition(String name, boolean bullish, PatternCondition condition) {
+		if(name == null || condition == null) {
+			throw new IllegalArgumentException("Name and condition are needed");
+		}
+		this.name = name;
+		this.bullish = bullish;
+		this.condition = condition;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public boolean isBullish() {
+		return bullish;
+	}
+
+	public PatternCondition getCondition() {
+		return condition;
+	}
+
+	/** @return how many candles this pattern reads: 1, 2 or 3. Windows with less candles never match. */
+	public int candles() {
+		return condition.candles();
+	}
+
+	@Override
+	public String toString() {
+		return name + ": " + condition;
+	}
+
+}
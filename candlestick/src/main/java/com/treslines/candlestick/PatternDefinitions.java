@@ -0,0 +1,145 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.candlestick;
+
+import static com.treslines.candlestick.PatternCondition.allOf;
+import static com.treslines.candlestick.PatternCondition.anyOf;
+import static com.treslines.candlestick.PatternCondition.bearish;
+import static com.treslines.candlestick.PatternCondition.bullish;
+import static com.treslines.candlestick.PatternCondition.compare;
+import static com.treslines.candlestick.PatternCondition.current;
+import static com.treslines.candlestick.PatternCondition.last;
+import static com.treslines.candlestick.PatternCondition.middle;
+import static com.treslines.candlestick.PatternCondition.near;
+import static com.treslines.candlestick.PatternCondition.neither;
+import static com.treslines.candlestick.PatternCondition.of;
+import static com.treslines.candlestick.PatternCondition.ratio;
+import static com.treslines.candlestick.PatternCondition.Comparison.GREATER;
+import static com.treslines.candlestick.PatternCondition.Comparison.GREATER_OR_EQUAL;
+import static com.treslines.candlestick.PatternCondition.Comparison.LESS;
+import static com.treslines.candlestick.PatternCondition.Comparison.LESS_OR_EQUAL;
+import static com.treslines.candlestick.PatternCondition.Measure.BODY;
+import static com.treslines.candlestick.PatternCondition.Measure.BODY_BOTTOM;
+import static com.treslines.candlestick.PatternCondition.Measure.BODY_TOP;
+import static com.treslines.candlestick.PatternCondition.Measure.FULL_SIZE;
+import static com.treslines.candlestick.PatternCondition.Measure.LOWER_SHADOW;
+import static com.treslines.candlestick.PatternCondition.Measure.MAX;
+import static com.treslines.candlestick.PatternCondition.Measure.MIN;
+import static com.treslines.candlestick.PatternCondition.Measure.UPPER_SHADOW;
+import static com.treslines.candlestick.PatternCondition.Position.CURRENT;
+import static com.treslines.candlestick.PatternCondition.Position.LAST;
+import static com.treslines.candlestick.PatternCondition.Position.MIDDLE;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.treslines.candlestick.PatternCondition.Operand;
+import com.treslines.candlestick.PatternCondition.Position;
+
+/**
+ * The built-in patterns of {@link CandleStickFactory} as {@link PatternDefinition}s, in
+ * the order of {@link CandlePattern}, so that their compiled masks are the same. Use them
+ * with other thresholds, or as a starting point for your own patterns.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public final class PatternDefinitions {
+
+	private PatternDefinitions() {
+		// static definitions
+	}
+
+	/** @return the built-in patterns with their built-in thresholds */
+	public static List<PatternDefinition> standard() {
+		return standard(PatternThresholds.DEFAULT);
+	}
+
+	/**
+	 * @param thresholds the thresholds to use instead of the built-in ones
+	 * @return the built-in patterns, one per {@link CandlePattern} and in the same order
+	 */
+	public static List<PatternDefinition> standard(PatternThresholds thresholds) {
+		double shadow = thresholds.getShadow();
+		double dojiShadow = thresholds.getDojiShadow();
+		double level = thresholds.getBodyLevel();
+		double tolerance = thresholds.getTolerance();
+		PatternCondition littleBody = anyOf(neither(CURRENT), ratio(current(FULL_SIZE), current(BODY), GREATER_OR_EQUAL, thresholds.getLittleBody()));
+		PatternCondition engulfs = allOf(compare(middle(BODY), LESS, current(BODY)), compare(current(BODY_TOP), GREATER, middle(BODY_TOP)),
+				compare(current(BODY_BOTTOM), LESS, middle(BODY_BOTTOM)));
+		PatternCondition tinyMiddle = allOf(compare(middle(BODY), LESS, current(BODY)), compare(middle(BODY), LESS, last(BODY)),
+				compare(current(BODY), LESS, last(BODY)));
+		PatternCondition allLong = allOf(isLong(CURRENT, thresholds), isLong(MIDDLE, thresholds), isLong(LAST, thresholds));
+
+		List<PatternDefinition> patterns = new ArrayList<>();
+		add(patterns, CandlePattern.BULLISH_DOJI, anyOf(bullish(CURRENT), neither(CURRENT)), littleBody,
+				ratio(current(UPPER_SHADOW), current(BODY), LESS_OR_EQUAL, shadow), ratio(current(LOWER_SHADOW), current(BODY), GREATER_OR_EQUAL, dojiShadow));
+		add(patterns, CandlePattern.BULLISH_HAMMER, bullish(CURRENT),
+				ratio(current(UPPER_SHADOW), current(BODY), LESS_OR_EQUAL, shadow), ratio(current(LOWER_SHADOW), current(BODY), GREATER_OR_EQUAL, shadow));
+		add(patterns, CandlePattern.BEARISH_DOJI, anyOf(bearish(CURRENT), neither(CURRENT)), littleBody,
+				ratio(current(LOWER_SHADOW), current(BODY), LESS_OR_EQUAL, shadow), ratio(current(UPPER_SHADOW), current(BODY), GREATER_OR_EQUAL, dojiShadow));
+		add(patterns, CandlePattern.BEARISH_SHOOTING_STAR, bearish(CURRENT),
+				ratio(current(LOWER_SHADOW), current(BODY), LESS_OR_EQUAL, shadow), ratio(current(UPPER_SHADOW), current(BODY), GREATER_OR_EQUAL, shadow));
+		add(patterns, CandlePattern.BULLISH_ENGOLFER, bullish(CURRENT), bearish(MIDDLE), engulfs);
+		add(patterns, CandlePattern.BULLISH_PIERCING, bullish(CURRENT), bearish(MIDDLE), compare(current(BODY_TOP), LESS_OR_EQUAL, middle(BODY_TOP)),
+				compare(current(BODY_TOP), GREATER_OR_EQUAL, middle(BODY_BOTTOM), level, middle(BODY)));
+		// the reference checker compares the current candle with itself here
+		add(patterns, CandlePattern.BULLISH_TWEEZER_BOTTOM, bullish(CURRENT), bearish(MIDDLE), near(current(BODY), current(BODY), tolerance),
+				near(current(LOWER_SHADOW), current(LOWER_SHADOW), tolerance));
+		add(patterns, CandlePattern.BEARISH_ENGOLFER, bullish(MIDDLE), bearish(CURRENT), engulfs);
+		add(patterns, CandlePattern.BEARISH_DARK_CLOUD_COVER, bullish(MIDDLE), bearish(CURRENT), compare(current(BODY_TOP), GREATER_OR_EQUAL, middle(BODY_TOP)),
+				compare(current(BODY_BOTTOM), LESS_OR_EQUAL, middle(BODY_BOTTOM), level, middle(BODY)));
+		// the reference checker compares the current candle with itself here
+		add(patterns, CandlePattern.BEARISH_TWEEZER_TOP, bullish(MIDDLE), bearish(CURRENT), near(current(BODY), current(BODY), tolerance),
+				near(current(UPPER_SHADOW), current(UPPER_SHADOW), tolerance));
+		add(patterns, CandlePattern.BULLISH_MORNING_STAR, bullish(CURRENT), bullish(MIDDLE), bearish(LAST), tinyMiddle,
+				compare(middle(BODY_TOP), LESS, current(BODY_BOTTOM)), compare(middle(BODY_TOP), LESS, last(BODY_BOTTOM)),
+				compare(last(BODY_BOTTOM), GREATER, current(BODY_BOTTOM)), compare(current(BODY_TOP), GREATER_OR_EQUAL, last(BODY_BOTTOM), level, last(BODY)));
+		add(patterns, CandlePattern.BULLISH_WHITE_SOLDIERS, bullish(CURRENT), bullish(MIDDLE), bullish(LAST),
+				compare(last(BODY_TOP), LESS, middle(BODY_TOP)), compare(middle(BODY_TOP), LESS, current(BODY_TOP)), allLong);
+		add(patterns, CandlePattern.BULLISH_KICKER, bearish(CURRENT), bearish(MIDDLE), bearish(LAST),
+				compare(current(MAX), LESS_OR_EQUAL, middle(BODY_BOTTOM)), compare(current(MAX), GREATER_OR_EQUAL, middle(MIN)),
+				compare(middle(MAX), LESS_OR_EQUAL, last(BODY_BOTTOM)), compare(middle(MAX), GREATER_OR_EQUAL, last(MIN)));
+		add(patterns, CandlePattern.BEARISH_EVENING_STAR, bearish(CURRENT), bearish(MIDDLE), bullish(LAST), tinyMiddle,
+				compare(middle(BODY_BOTTOM), GREATER, current(BODY_TOP)), compare(middle(BODY_BOTTOM), GREATER, last(BODY_TOP)),
+				compare(current(BODY_TOP), GREATER, last(BODY_TOP)), compare(last(BODY_TOP), GREATER_OR_EQUAL, current(BODY_TOP), -level, current(BODY)));
+		add(patterns, CandlePattern.BEARISH_THREE_BLACK_CROWS, bearish(CURRENT), bearish(MIDDLE), bearish(LAST),
+				compare(last(BODY_TOP), GREATER, middle(BODY_TOP)), compare(middle(BODY_TOP), GREATER, current(BODY_TOP)), allLong);
+		add(patterns, CandlePattern.BEARISH_KICKER, bullish(CURRENT), bullish(MIDDLE), bullish(LAST),
+				compare(last(MAX), LESS_OR_EQUAL, middle(BODY_BOTTOM)), compare(last(MAX), GREATER_OR_EQUAL, middle(MIN)),
+				compare(middle(MAX), LESS_OR_EQUAL, current(BODY_BOTTOM)), compare(middle(MAX), GREATER_OR_EQUAL, current(MIN)));
+		return patterns;
+	}
+
+	private static void add(List<PatternDefinition> patterns, CandlePattern pattern, PatternCondition... conditions) {
+		patterns.add(new PatternDefinition(pattern.name(), pattern.isBullish(), allOf(conditions)));
+	}
+
+	private static PatternCondition isLong(Position position, PatternThresholds thresholds) {
+		// body >= 5x upper shadow and >= 5x lower shadow
+		Operand body = of(position, BODY);
+		return allOf(ratio(body, of(position, UPPER_SHADOW), GREATER_OR_EQUAL, thresholds.getLongBody()),
+				ratio(body, of(position, LOWER_SHADOW), GREATER_OR_EQUAL, thresholds.getLongBody()));
+	}
+
+}
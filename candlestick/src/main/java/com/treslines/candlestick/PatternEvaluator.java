@@ -0,0 +1,141 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.candlestick;
+
+import com.treslines.data.model.CandleFeatures;
+import com.treslines.data.model.CandleShape;
+import com.treslines.data.model.NumericCandle;
+
+/**
+ * Checks all patterns of a window in one pass. Colors, bodies and shadows are read
+ * from the cached {@link CandleFeatures} of each candle and shared by every pattern
+ * reading them, so the result is the same as calling each private pattern checker
+ * of {@link CandleStickFactory} one by one, at a fraction of the cost. The
+ * {@link CandleShape} codes of the candles pick the patterns worth comparing across
+ * candles from a {@link ShapeTable}.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+final class PatternEvaluator {
+
+	private static final int BULLISH_DOUBLES = CandlePattern.BULLISH_ENGOLFER.mask();
+	private static final int BEARISH_DOUBLES = CandlePattern.BEARISH_ENGOLFER.mask();
+
+	private PatternEvaluator() {
+		// static evaluator
+	}
+
+	/**
+	 * @param current the most recent candle
+	 * @param middle the candle before current or null if there is none
+	 * @param last the candle before middle or null if there is none
+	 * @return the {@link CandlePattern} mask found in this window
+	 */
+	static int evaluate(NumericCandle current, NumericCandle middle, NumericCandle last) {
+		CandleFeatures cur = current.features();
+		// the single candle patterns are decided by the shape of the current candle
+		int result = ShapeTable.single(cur.getShape());
+		if(middle == null) {
+			return result;
+		}
+
+		CandleFeatures mid = middle.features();
+		int candidates = ShapeTable.doubles(cur.getColor(), mid.getColor());
+		if((candidates & BULLISH_DOUBLES) != 0) {
+			if(mid.getBody() < cur.getBody() && cur.getBodyTop() > mid.getBodyTop() && cur.getBodyBottom() < mid.getBodyBottom()) {
+				result |= CandlePattern.BULLISH_ENGOLFER.mask();
+			}
+			if(cur.getBodyTop() <= mid.getBodyTop() && cur.getBodyTop() >= mid.getBodyBottom() + (mid.getBody()/2)) {
+				result |= CandlePattern.BULLISH_PIERCING.mask();
+			}
+			// the reference checker compares the current candle with itself here
+			if(sameOrAlmostSame(cur.getBody(), cur.getBody()) && sameOrAlmostSame(cur.getLowerShadow(), cur.getLowerShadow())) {
+				result |= CandlePattern.BULLISH_TWEEZER_BOTTOM.mask();
+			}
+		}else if((candidates & BEARISH_DOUBLES) != 0) {
+			if(mid.getBody() < cur.getBody() && cur.getBodyTop() > mid.getBodyTop() && cur.getBodyBottom() < mid.getBodyBottom()) {
+				result |= CandlePattern.BEARISH_ENGOLFER.mask();
+			}
+			if(cur.getBodyTop() >= mid.getBodyTop() && cur.getBodyBottom() <= mid.getBodyBottom() + (mid.getBody()/2)) {
+				result |= CandlePattern.BEARISH_DARK_CLOUD_COVER.mask();
+			}
+			// the reference checker compares the current candle with itself here
+			if(sameOrAlmostSame(cur.getBody(), cur.getBody()) && sameOrAlmostSame(cur.getUpperShadow(), cur.getUpperShadow())) {
+				result |= CandlePattern.BEARISH_TWEEZER_TOP.mask();
+			}
+		}
+		if(last == null) {
+			return result;
+		}
+
+		CandleFeatures lst = last.features();
+		candidates = ShapeTable.triples(cur.getColor(), mid.getColor(), lst.getColor());
+		if(candidates == 0) {
+			return result;
+		}
+		if(CandlePattern.BULLISH_MORNING_STAR.in(candidates)) {
+			if(isTinyMiddle(cur, mid, lst)
+					&& mid.getBodyTop() < cur.getBodyBottom() && mid.getBodyTop() < lst.getBodyBottom() && lst.getBodyBottom() > cur.getBodyBottom()
+					&& cur.getBodyTop() >= lst.getBodyBottom() + (lst.getBody()/2)) {
+				result |= CandlePattern.BULLISH_MORNING_STAR.mask();
+			}
+		}else if(CandlePattern.BULLISH_WHITE_SOLDIERS.in(candidates)) {
+			if(lst.getBodyTop() < mid.getBodyTop() && mid.getBodyTop() < cur.getBodyTop() && isLong(cur, mid, lst)) {
+				result |= CandlePattern.BULLISH_WHITE_SOLDIERS.mask();
+			}
+			if(last.getMax() <= mid.getBodyBottom() && last.getMax() >= middle.getMin() && middle.getMax() <= cur.getBodyBottom() && middle.getMax() >= current.getMin()) {
+				result |= CandlePattern.BEARISH_KICKER.mask();
+			}
+		}else if(CandlePattern.BEARISH_EVENING_STAR.in(candidates)) {
+			if(isTinyMiddle(cur, mid, lst)
+					&& mid.getBodyBottom() > cur.getBodyTop() && mid.getBodyBottom() > lst.getBodyTop() && cur.getBodyTop() > lst.getBodyTop()
+					&& lst.getBodyTop() >= cur.getBodyTop() - (cur.getBody()/2)) {
+				result |= CandlePattern.BEARISH_EVENING_STAR.mask();
+			}
+		}else {
+			if(lst.getBodyTop() > mid.getBodyTop() && mid.getBodyTop() > cur.getBodyTop() && isLong(cur, mid, lst)) {
+				result |= CandlePattern.BEARISH_THREE_BLACK_CROWS.mask();
+			}
+			if(current.getMax() <= mid.getBodyBottom() && current.getMax() >= middle.getMin() && middle.getMax() <= lst.getBodyBottom() && middle.getMax() >= last.getMin()) {
+				result |= CandlePattern.BULLISH_KICKER.mask();
+			}
+		}
+		return result;
+	}
+
+	private static boolean isTinyMiddle(CandleFeatures cur, CandleFeatures mid, CandleFeatures lst) {
+		return mid.getBody() < cur.getBody() && mid.getBody() < lst.getBody() && cur.getBody() < lst.getBody();
+	}
+
+	private static boolean isLong(CandleFeatures cur, CandleFeatures mid, CandleFeatures lst) {
+		// body >= 5x upper shadow and >= 5x lower shadow, classified once per candle
+		return (cur.getShape() & mid.getShape() & lst.getShape() & CandleShape.LONG) != 0;
+	}
+
+	private static boolean sameOrAlmostSame(double current, double previous) {
+		double drift = ((current*0.5)/100);
+		return current == previous || (previous <= current + drift && previous >= current - drift);
+	}
+
+}
@@ -0,0 +1,88 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+
+package com.treslines.candlestick;
+
+/**
+ * Reactive streams interfaces for pattern signals, declared like
+ * {@code java.util.concurrent.Flow} of Java 9 so this library keeps running on Java 8.
+ * A {@link Subscriber} receives nothing before it asks for it over its
+ * {@link Subscription}, which is how a slow subscriber pushes back.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public final class PatternFlow {
+
+	private PatternFlow() {
+		// interfaces only
+	}
+
+	/**
+	 * Produces items for any number of subscribers.
+	 * @param <T> type of the items
+	 */
+	public interface Publisher<T> {
+
+		/**
+		 * Attaches a subscriber, which first receives {@link Subscriber#onSubscribe(Subscription)}.
+		 * @param subscriber the subscriber to attach
+		 */
+		public void subscribe(Subscriber<? super T> subscriber);
+	}
+
+	/**
+	 * Receives items. The methods of one subscriber are never called concurrently.
+	 * @param <T> type of the items
+	 */
+	public interface Subscriber<T> {
+
+		/** Called once before any other method. Nothing is delivered before {@link Subscription#request(long)}. */
+		public void onSubscribe(Subscription subscription);
+
+		/** Called for every item requested. */
+		public void onNext(T item);
+
+		/** Called at most once, nothing is delivered afterwards. */
+		public void onError(Throwable throwable);
+
+		/** Called at most once after the last item, nothing is delivered afterwards. */
+		public void onComplete();
+	}
+
+	/**
+	 * Link between one publisher and one subscriber.
+	 */
+	public interface Subscription {
+
+		/**
+		 * Adds demand for n more items.
+		 * @param n a positive number, {@link Long#MAX_VALUE} for unbounded demand
+		 */
+		public void request(long n);
+
+		/** Stops the delivery of items, eventually. */
+		public void cancel();
+	}
+
+}
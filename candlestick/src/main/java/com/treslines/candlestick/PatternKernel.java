@@ -0,0 +1,154 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+
+package com.treslines.candlestick;
+
+/**
+ * Batch evaluation of all patterns over primitive OHLC columns, e.g. those of a
+ * {@link com.treslines.data.model.CandleSeries}. A range is checked in a single counted
+ * loop: the features of each candle are computed once, straight from the columns, and
+ * carried in local variables to the next two windows, so there are no candle objects
+ * and no feature caches to read back. The only data dependent branches dispatch once on
+ * the colors of the window, which every multi candle pattern depends on; the conditions
+ * of each case are then combined with non short circuit operators into the
+ * {@link CandlePattern} mask of the index. The masks are exactly those of {@link PatternEvaluator}.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public final class PatternKernel {
+
+	private static final int BULLISH = 1;
+	private static final int BEARISH = 2;
+	private static final int LONG = 4;
+
+	private PatternKernel() {
+		// static kernel
+	}
+
+	/**
+	 * Evaluates all patterns at every index of a range, the most recent candle of each
+	 * window being at the highest index. Windows at the start of the range read the two
+	 * candles before it, if there are any.
+	 * @param open open prices, oldest first
+	 * @param high max prices
+	 * @param low min prices
+	 * @param close close prices
+	 * @param from first index to check (inclusive)
+	 * @param to last index to check (exclusive)
+	 * @param hits receives the {@link CandlePattern} mask found at each index of the range
+	 */
+	public static void evaluate(double[] open, double[] high, double[] low, double[] close, int from, int to, int[] hits) {
+		// color and length bits, body, body top, body bottom, max and min of the middle and last candle,
+		// no color before the first candle so that no pattern can read it
+		int midFlags = 0;
+		double midBody = 0, midTop = 0, midBottom = 0, midMax = 0, midMin = 0;
+		int lstFlags = 0;
+		double lstBody = 0, lstTop = 0, lstBottom = 0, lstMax = 0, lstMin = 0;
+		for (int i = Math.max(0, from - 2); i < to; i++) {
+			double o = open[i];
+			double c = close[i];
+			double h = high[i];
+			double l = low[i];
+			double body = Math.abs(c - o);
+			// Math.max/min only differ from the reference body top/bottom for NaN or signed zero
+			// prices, whose candles match nothing either way
+			double top = Math.max(o, c);
+			double bottom = Math.min(o, c);
+			double upperShadow = h - top;
+			double lowerShadow = bottom - l;
+			double upperRatio = upperShadow/body;
+			double lowerRatio = lowerShadow/body;
+			// body >= 5x upper shadow and >= 5x lower shadow
+			int flags = body/upperShadow >= 5 & body/lowerShadow >= 5 ? LONG : 0;
+			int mask = 0;
+			if(c > o) {
+				flags |= BULLISH;
+				mask |= (upperRatio <= 2 & lowerRatio >= 5 & (h - l)/body >= 7) ? CandlePattern.BULLISH_DOJI.mask() : 0;
+				mask |= (upperRatio <= 2 & lowerRatio >= 2) ? CandlePattern.BULLISH_HAMMER.mask() : 0;
+				if((midFlags & BEARISH) != 0) {
+					mask |= (midBody < body & top > midTop & bottom < midBottom) ? CandlePattern.BULLISH_ENGOLFER.mask() : 0;
+					mask |= (top <= midTop & top >= midBottom + (midBody/2)) ? CandlePattern.BULLISH_PIERCING.mask() : 0;
+					// the reference checker compares the current candle with itself, which only fails for NaN
+					mask |= (body == body & lowerShadow == lowerShadow) ? CandlePattern.BULLISH_TWEEZER_BOTTOM.mask() : 0;
+				}else if((midFlags & BULLISH) != 0 && (lstFlags & BEARISH) != 0) {
+					mask |= (midBody < body & midBody < lstBody & body < lstBody & midTop < bottom & midTop < lstBottom & lstBottom > bottom
+							& top >= lstBottom + (lstBody/2)) ? CandlePattern.BULLISH_MORNING_STAR.mask() : 0;
+				}else if((midFlags & BULLISH) != 0 && (lstFlags & BULLISH) != 0) {
+					mask |= (lstTop < midTop & midTop < top & (flags & midFlags & lstFlags & LONG) != 0) ? CandlePattern.BULLISH_WHITE_SOLDIERS.mask() : 0;
+					mask |= (lstMax <= midBottom & lstMax >= midMin & midMax <= bottom & midMax >= l) ? CandlePattern.BEARISH_KICKER.mask() : 0;
+				}
+			}else if(c < o) {
+				flags |= BEARISH;
+				mask |= (lowerRatio <= 2 & upperRatio >= 5 & (h - l)/body >= 7) ? CandlePattern.BEARISH_DOJI.mask() : 0;
+				mask |= (lowerRatio <= 2 & upperRatio >= 2) ? CandlePattern.BEARISH_SHOOTING_STAR.mask() : 0;
+				if((midFlags & BULLISH) != 0) {
+					mask |= (midBody < body & top > midTop & bottom < midBottom) ? CandlePattern.BEARISH_ENGOLFER.mask() : 0;
+					mask |= (top >= midTop & bottom <= midBottom + (midBody/2)) ? CandlePattern.BEARISH_DARK_CLOUD_COVER.mask() : 0;
+					// the reference checker compares the current candle with itself, which only fails for NaN
+					mask |= (body == body & upperShadow == upperShadow) ? CandlePattern.BEARISH_TWEEZER_TOP.mask() : 0;
+				}else if((midFlags & BEARISH) != 0 && (lstFlags & BULLISH) != 0) {
+					mask |= (midBody < body & midBody < lstBody & body < lstBody & midBottom > top & midBottom > lstTop & top > lstTop
+							& lstTop >= top - (body/2)) ? CandlePattern.BEARISH_EVENING_STAR.mask() : 0;
+				}else if((midFlags & BEARISH) != 0 && (lstFlags & BEARISH) != 0) {
+					mask |= (lstTop > midTop & midTop > top & (flags & midFlags & lstFlags & LONG) != 0) ? CandlePattern.BEARISH_THREE_BLACK_CROWS.mask() : 0;
+					mask |= (h <= midBottom & h >= midMin & midMax <= lstBottom & midMax >= lstMin) ? CandlePattern.BULLISH_KICKER.mask() : 0;
+				}
+			}else if(c == o) {
+				// the doji body is always little here
+				mask |= (upperRatio <= 2 & lowerRatio >= 5) ? CandlePattern.BULLISH_DOJI.mask() : 0;
+				mask |= (lowerRatio <= 2 & upperRatio >= 5) ? CandlePattern.BEARISH_DOJI.mask() : 0;
+			}
+			if(i >= from) {
+				hits[i] = mask;
+			}
+			lstFlags = midFlags;
+			lstBody = midBody;
+			lstTop = midTop;
+			lstBottom = midBottom;
+			lstMax = midMax;
+			lstMin = midMin;
+			midFlags = flags;
+			midBody = body;
+			midTop = top;
+			midBottom = bottom;
+			midMax = h;
+			midMin = l;
+		}
+	}
+
+	/**
+	 * Collects the indices whose mask matches any of the given patterns, e.g. for screening.
+	 * @param hits masks as written by {@link #evaluate(double[], double[], double[], double[], int, int, int[])}
+	 * @param patterns the {@link CandlePattern} masks to look for, combined with |
+	 * @return bit i of word i/64 is set if hits[i] matches, the layout of {@link java.util.BitSet#valueOf(long[])}
+	 */
+	public static long[] select(int[] hits, int patterns) {
+		long[] words = new long[(hits.length + 63) >>> 6];
+		for (int i = 0; i < hits.length; i++) {
+			words[i >>> 6] |= ((hits[i] & patterns) != 0 ? 1L : 0L) << i;
+		}
+		return words;
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+
+package com.treslines.candlestick;
+
+/**
+ * Patterns found when a candle of a market and interval closed, as published by
+ * {@link PatternSignalPublisher}. Immutable, so it can be handed to any thread.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public final class PatternSignal {
+
+	private final String market;
+	private final String interval;
+	private final String date;
+	private final String time;
+	private final int patterns;
+
+	/**
+	 * @param patterns the {@link CandlePattern} mask found
+	 */
+	public PatternSignal(String market, String interval, String date, String time, int patterns) {
+		this.market = market;
+		this.interval = interval;
+		this.date = date;
+		this.time = time;
+		this.patterns = patterns;
+	}
+
+	public String getMarket() {
+		return market;
+	}
+
+	public String getInterval() {
+		return interval;
+	}
+
+	/** @return the date of the candle that completed the patterns */
+	public String getDate() {
+		return date;
+	}
+
+	/** @return the time of the candle that completed the patterns */
+	public String getTime() {
+		return time;
+	}
+
+	/** @return the {@link CandlePattern} mask found */
+	public int getPatterns() {
+		return patterns;
+	}
+
+	/** @return true if a bullish pattern was found */
+	public boolean isBullish() {
+		return CandlePattern.isBullish(patterns);
+	}
+
+	/** @return true if a bearish pattern was found */
+	public boolean isBearish() {
+		return CandlePattern.isBearish(patterns);
+	}
+
+	@Override
+	public String toString() {
+		return market + " " + interval + " " + date + " " + time + " " + CandlePattern.toSet(patterns);
+	}
+
+}
@@ -0,0 +1,344 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+
+package com.treslines.candlestick;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.treslines.data.model.Candle;
+import com.treslines.data.model.NumericCandle;
+
+/**
+ * Publishes the patterns found to any number of {@link PatternFlow.Subscriber}s, each
+ * of them attached to all signals, to one market or to some patterns. It is a
+ * {@link CandleStickListener} and a {@link DetectionPipeline.SignalHandler}, so it can
+ * be handed to any detector of this library.
+ * <p>
+ * Every subscriber has its own bounded buffer and is served by tasks of the given
+ * executor, one at a time, delivering only as many signals as it requested. Detection
+ * never waits for a subscriber: a signal that does not fit in the buffer of a slow
+ * subscriber is dropped for that subscriber only and counted in {@link #getDropped()}.
+ * Under load one task delivers all buffered signals that were requested, so signals
+ * are handed over in batches rather than one executor hop each.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public class PatternSignalPublisher implements PatternFlow.Publisher<PatternSignal>, CandleStickListener, DetectionPipeline.SignalHandler {
+
+	/** signals buffered per subscriber by default */
+	public static final int DEFAULT_BUFFER = 256;
+
+	private static final int ALL_PATTERNS = -1;
+
+	private final Executor executor;
+	private final int buffer;
+	private final List<Link> links = new CopyOnWriteArrayList<>();
+	private final LongAdder dropped = new LongAdder();
+	private volatile boolean closed;
+
+	/**
+	 * Serves the subscribers on a pool of daemon threads of its own, which grows with the
+	 * subscribers busy at once, so a subscriber blocking in onNext, e.g. a database writer,
+	 * only ever holds its own thread. Idle threads end after a minute.
+	 */
+	public PatternSignalPublisher() {
+		this(Executors.newCachedThreadPool(new DeliveryThreads()), DEFAULT_BUFFER);
+	}
+
+	/**
+	 * @param executor runs the deliveries to the subscribers, one task per busy subscriber;
+	 * with blocking subscribers it needs a thread for each of them, so do not pass a pool
+	 * shared with other work such as the common fork join pool
+	 * @param buffer max signals buffered per subscriber
+	 */
+	public PatternSignalPublisher(Executor executor, int buffer) {
+		if(buffer < 1) {
+			throw new IllegalArgumentException("The buffer must hold at least one signal");
+		}
+		this.executor = executor;
+		this.buffer = buffer;
+	}
+
+	/**
+	 * Attaches a subscriber to all signals.
+	 */
+	@Override
+	public void subscribe(PatternFlow.Subscriber<? super PatternSignal> subscriber) {
+		subscribe(subscriber, null, ALL_PATTERNS);
+	}
+
+	/**
+	 * Attaches a subscriber to the signals of one market.
+	 * @param market the market, e.g. BTC-ETH
+	 */
+	public void subscribe(PatternFlow.Subscriber<? super PatternSignal> subscriber, String market) {
+		subscribe(subscriber, market, ALL_PATTERNS);
+	}
+
+	/**
+	 * Attaches a subscriber to the signals containing at least one of the given patterns.
+	 * @param patterns a {@link CandlePattern} mask, e.g. {@link CandlePattern#BULLISH_MASK}
+	 */
+	public void subscribe(PatternFlow.Subscriber<? super PatternSignal> subscriber, int patterns) {
+		subscribe(subscriber, null, patterns);
+	}
+
+	/**
+	 * Attaches a subscriber to the signals of one market containing at least one of the given patterns.
+	 * @param market the market or null for all markets
+	 * @param patterns a {@link CandlePattern} mask
+	 */
+	public void subscribe(PatternFlow.Subscriber<? super PatternSignal> subscriber, String market, int patterns) {
+		if(subscriber == null) {
+			throw new NullPointerException("subscriber");
+		}
+		Link link = new Link(subscriber, market, patterns);
+		links.add(link);
+		if(closed) {
+			// subscribed too late, completes right after onSubscribe
+			link.close();
+		}
+		link.schedule();
+	}
+
+	/**
+	 * Hands a signal to every subscriber attached to it, without waiting.
+	 * @return number of subscribers that buffered the signal
+	 * @throws IllegalStateException if the publisher has been closed
+	 */
+	public int submit(PatternSignal signal) {
+		if(closed) {
+			throw new IllegalStateException("Publisher has been closed");
+		}
+		int buffered = 0;
+		for (Link link : links) {
+			if(link.accepts(signal) && link.offer(signal)) {
+				buffered++;
+			}
+		}
+		return buffered;
+	}
+
+	@Override
+	public void onPatterns(Candle candle, int patterns) {
+		submit(new PatternSignal(candle.getMarket(), candle.getInterval(), candle.getDate(), candle.getTime(), patterns));
+	}
+
+	@Override
+	public void onSignal(NumericCandle candle, int patterns) {
+		submit(new PatternSignal(candle.getMarket(), candle.getInterval(), candle.getDate(), candle.getTime(), patterns));
+	}
+
+	/**
+	 * Stops accepting signals. Every subscriber still gets the signals it buffered, as it
+	 * requests them, followed by {@link PatternFlow.Subscriber#onComplete()}. Signals
+	 * submitted while closing may be dropped.
+	 */
+	public void close() {
+		closed = true;
+		for (Link link : links) {
+			link.close();
+			link.schedule();
+		}
+	}
+
+	/** @return number of subscribers attached */
+	public int getSubscriberCount() {
+		return links.size();
+	}
+
+	/** @return number of signals dropped because the buffer of a subscriber was full */
+	public long getDropped() {
+		return dropped.sum();
+	}
+
+	/**
+	 * Daemon threads of the default executor, so they never keep the JVM alive.
+	 */
+	private static final class DeliveryThreads implements ThreadFactory {
+		private static final AtomicInteger THREADS = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable task) {
+			Thread thread = new Thread(task, "candlestick-signals-" + THREADS.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+
+	/**
+	 * Subscription of one subscriber. Signals are buffered by any detection thread and
+	 * delivered by at most one executor task at a time, which owns the subscriber.
+	 */
+	private final class Link implements PatternFlow.Subscription, Runnable {
+		private final PatternFlow.Subscriber<? super PatternSignal> subscriber;
+		private final String market;
+		private final int patterns;
+		private final Queue<PatternSignal> queue = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger size = new AtomicInteger();
+		private final AtomicLong demand = new AtomicLong();
+		/** scheduling requests not yet seen by a delivery task, a task runs while it is not 0 */
+		private final AtomicInteger work = new AtomicInteger();
+		private volatile boolean cancelled;
+		private volatile boolean done;
+		private volatile Throwable error;
+		/** owned by the delivery task */
+		private boolean subscribed;
+
+		private Link(PatternFlow.Subscriber<? super PatternSignal> subscriber, String market, int patterns) {
+			this.subscriber = subscriber;
+			this.market = market;
+			this.patterns = patterns;
+		}
+
+		private boolean accepts(PatternSignal signal) {
+			return (signal.getPatterns() & patterns) != 0 && (market == null || market.equals(signal.getMarket()));
+		}
+
+		private boolean offer(PatternSignal signal) {
+			if(cancelled) {
+				return false;
+			}
+			if(size.incrementAndGet() > buffer) {
+				size.decrementAndGet();
+				dropped.increment();
+				return false;
+			}
+			queue.offer(signal);
+			schedule();
+			return true;
+		}
+
+		private void close() {
+			done = true;
+		}
+
+		@Override
+		public void request(long n) {
+			if(n <= 0) {
+				error = new IllegalArgumentException("Demand must be positive, was " + n);
+			}else {
+				long current;
+				do {
+					current = demand.get();
+				} while (current != Long.MAX_VALUE && !demand.compareAndSet(current, current + n < 0 ? Long.MAX_VALUE : current + n));
+			}
+			schedule();
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			links.remove(this);
+		}
+
+		private void schedule() {
+			if(work.getAndIncrement() == 0) {
+				try {
+					executor.execute(this);
+				} catch (RejectedExecutionException e) {
+					// no thread left to deliver on
+					cancel();
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			int missed = 1;
+			do {
+				deliver();
+				missed = work.addAndGet(-missed);
+			} while (missed != 0);
+		}
+
+		private void deliver() {
+			if(!subscribed && !cancelled) {
+				subscribed = true;
+				try {
+					subscriber.onSubscribe(this);
+				} catch (RuntimeException e) {
+					fail(e);
+				}
+			}
+			while (!cancelled) {
+				if(error != null) {
+					fail(error);
+					break;
+				}
+				// read before polling, no signal is buffered after done is set
+				boolean finished = done;
+				long requested = demand.get();
+				PatternSignal signal = requested == 0 ? null : queue.poll();
+				if(signal == null) {
+					if(finished && queue.isEmpty()) {
+						complete();
+					}
+					break;
+				}
+				size.decrementAndGet();
+				if(requested != Long.MAX_VALUE) {
+					demand.decrementAndGet();
+				}
+				try {
+					subscriber.onNext(signal);
+				} catch (RuntimeException e) {
+					fail(e);
+				}
+			}
+			if(cancelled) {
+				queue.clear();
+			}
+		}
+
+		private void complete() {
+			cancel();
+			try {
+				subscriber.onComplete();
+			} catch (RuntimeException e) {
+				// the subscription is over anyway, the task must go on to release its work count
+			}
+		}
+
+		private void fail(Throwable throwable) {
+			cancel();
+			try {
+				subscriber.onError(throwable);
+			} catch (RuntimeException e) {
+				// the subscription is over anyway, the task must go on to release its work count
+			}
+		}
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.candlestick;
+
+/**
+ * Thresholds of the standard patterns, see {@link PatternDefinitions#standard(PatternThresholds)}.
+ * Immutable, every wither returns a copy.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public final class PatternThresholds {
+
+	/** the thresholds of the built-in patterns of {@link CandleStickFactory} */
+	public static final PatternThresholds DEFAULT = new PatternThresholds(2, 5, 7, 5, 0.5, 0.5);
+
+	private final double shadow;
+	private final double dojiShadow;
+	private final double littleBody;
+	private final double longBody;
+	private final double bodyLevel;
+	private final double tolerance;
+
+	private PatternThresholds(double shadow, double dojiShadow, double littleBody, double longBody, double bodyLevel, double tolerance) {
+		this.shadow = shadow;
+		this.dojiShadow = dojiShadow;
+		this.littleBody = littleBody;
+		this.longBody = longBody;
+		this.bodyLevel = bodyLevel;
+		this.tolerance = tolerance;
+	}
+
+	/** @param shadow times the body a short shadow is at most and a hammer or shooting star shadow at least, 2 by default */
+	public PatternThresholds withShadow(double shadow) {
+		return new PatternThresholds(shadow, dojiShadow, littleBody, longBody, bodyLevel, tolerance);
+	}
+
+	/** @param dojiShadow times the body the long shadow of a doji is at least, 5 by default */
+	public PatternThresholds withDojiShadow(double dojiShadow) {
+		return new PatternThresholds(shadow, dojiShadow, littleBody, longBody, bodyLevel, tolerance);
+	}
+
+	/** @param littleBody times the body the full size of a doji is at least, 7 by default */
+	public PatternThresholds withLittleBody(double littleBody) {
+		return new PatternThresholds(shadow, dojiShadow, littleBody, longBody, bodyLevel, tolerance);
+	}
+
+	/** @param longBody times each shadow the body of a soldier or crow is at least, 5 by default */
+	public PatternThresholds withLongBody(double longBody) {
+		return new PatternThresholds(shadow, dojiShadow, littleBody, longBody, bodyLevel, tolerance);
+	}
+
+	/** @param bodyLevel part of a body the piercing, dark cloud and star levels are set at, 0.5 (50%) by default */
+	public PatternThresholds withBodyLevel(double bodyLevel) {
+		return new PatternThresholds(shadow, dojiShadow, littleBody, longBody, bodyLevel, tolerance);
+	}
+
+	/** @param tolerance percent two tweezer values may differ, 0.5 by default */
+	public PatternThresholds withTolerance(double tolerance) {
+		return new PatternThresholds(shadow, dojiShadow, littleBody, longBody, bodyLevel, tolerance);
+	}
+
+	public double getShadow() {
+		return shadow;
+	}
+
+	public double getDojiShadow() {
+		return dojiShadow;
+	}
+
+	public double getLittleBody() {
+		return littleBody;
+	}
+
+	public double getLongBody() {
+		return longBody;
+	}
+
+	public double getBodyLevel() {
+		return bodyLevel;
+	}
+
+	public double getTolerance() {
+		return tolerance;
+	}
+
+}
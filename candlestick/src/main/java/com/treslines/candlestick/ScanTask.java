@@ -0,0 +1,67 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+
+package com.treslines.candlestick;
+
+import java.util.concurrent.RecursiveAction;
+
+import com.treslines.data.model.CandleHistory;
+
+/**
+ * Fork/join task scanning a range of a candle history. Ranges are halved until they
+ * are small enough, then scanned sequentially by {@link CandleStickFactory#scan(CandleHistory, int, int, int[])}.
+ * Every range reads the two candles before it, so windows across range boundaries
+ * see the same candles as in a sequential scan and each index is written by exactly one task.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+final class ScanTask extends RecursiveAction {
+
+	private static final long serialVersionUID = 1L;
+
+	private final CandleHistory series;
+	private final int from;
+	private final int to;
+	private final int chunkSize;
+	private final int[] hits;
+
+	ScanTask(CandleHistory series, int from, int to, int chunkSize, int[] hits) {
+		this.series = series;
+		this.from = from;
+		this.to = to;
+		this.chunkSize = chunkSize;
+		this.hits = hits;
+	}
+
+	@Override
+	protected void compute() {
+		if(to - from <= chunkSize) {
+			CandleStickFactory.scan(series, from, to, hits);
+		}else {
+			int middle = (from + to) >>> 1;
+			invokeAll(new ScanTask(series, from, middle, chunkSize, hits), new ScanTask(series, middle, to, chunkSize, hits));
+		}
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.candlestick;
+
+import com.treslines.data.model.CandleShape;
+
+/**
+ * Lookup tables over {@link CandleShape} codes. The single candle patterns depend on
+ * the shape of the current candle only, so its code yields their mask directly. The
+ * double and triple candle patterns need certain colors first; the color codes of a
+ * window yield the patterns it may still match, and only those run their comparisons
+ * across candles. Most windows leave none.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+final class ShapeTable {
+
+	private static final int[] SINGLE = new int[CandleShape.SIZE];
+	/** index: current color | middle color << 2 */
+	private static final int[] DOUBLE = new int[1 << 4];
+	/** index: current color | middle color << 2 | last color << 4 */
+	private static final int[] TRIPLE = new int[1 << 6];
+
+	static {
+		for (int shape = 0; shape < SINGLE.length; shape++) {
+			SINGLE[shape] = singlesOf(shape);
+		}
+		for (int index = 0; index < DOUBLE.length; index++) {
+			DOUBLE[index] = doublesOf(index & 3, index >>> 2 & 3);
+		}
+		for (int index = 0; index < TRIPLE.length; index++) {
+			TRIPLE[index] = triplesOf(index & 3, index >>> 2 & 3, index >>> 4 & 3);
+		}
+	}
+
+	private ShapeTable() {
+		// static tables
+	}
+
+	/** @return the single candle patterns of a candle with the given shape */
+	static int single(int shape) {
+		return SINGLE[shape];
+	}
+
+	/** @return the double candle patterns a window with the given colors may match */
+	static int doubles(int current, int middle) {
+		return DOUBLE[current | middle << 2];
+	}
+
+	/** @return the triple candle patterns a window with the given colors may match */
+	static int triples(int current, int middle, int last) {
+		return TRIPLE[current | middle << 2 | last << 4];
+	}
+
+	/** the same limits as PatternEvaluator: shadow / body at most 2, at least 2 or at least 5 */
+	private static int singlesOf(int shape) {
+		int color = CandleShape.color(shape);
+		int upper = CandleShape.upper(shape);
+		int lower = CandleShape.lower(shape);
+		boolean neither = color == CandleShape.NEITHER;
+		boolean littleBody = neither || CandleShape.is(shape, CandleShape.LITTLE_BODY);
+		int result = 0;
+		if((color == CandleShape.BULLISH || neither) && littleBody && atMost2(upper) && lower == CandleShape.FROM_5) {
+			result |= CandlePattern.BULLISH_DOJI.mask();
+		}
+		if(color == CandleShape.BULLISH && atMost2(upper) && atLeast2(lower)) {
+			result |= CandlePattern.BULLISH_HAMMER.mask();
+		}
+		if((color == CandleShape.BEARISH || neither) && littleBody && atMost2(lower) && upper == CandleShape.FROM_5) {
+			result |= CandlePattern.BEARISH_DOJI.mask();
+		}
+		if(color == CandleShape.BEARISH && atMost2(lower) && atLeast2(upper)) {
+			result |= CandlePattern.BEARISH_SHOOTING_STAR.mask();
+		}
+		return result;
+	}
+
+	private static int doublesOf(int current, int middle) {
+		int result = 0;
+		if(current == CandleShape.BULLISH && middle == CandleShape.BEARISH) {
+			result |= CandlePattern.BULLISH_ENGOLFER.mask() | CandlePattern.BULLISH_PIERCING.mask() | CandlePattern.BULLISH_TWEEZER_BOTTOM.mask();
+		}
+		if(middle == CandleShape.BULLISH && current == CandleShape.BEARISH) {
+			result |= CandlePattern.BEARISH_ENGOLFER.mask() | CandlePattern.BEARISH_DARK_CLOUD_COVER.mask() | CandlePattern.BEARISH_TWEEZER_TOP.mask();
+		}
+		return result;
+	}
+
+	private static int triplesOf(int current, int middle, int last) {
+		int result = 0;
+		if(current == CandleShape.BULLISH && middle == CandleShape.BULLISH) {
+			if(last == CandleShape.BEARISH) {
+				result |= CandlePattern.BULLISH_MORNING_STAR.mask();
+			}
+			if(last == CandleShape.BULLISH) {
+				result |= CandlePattern.BULLISH_WHITE_SOLDIERS.mask() | CandlePattern.BEARISH_KICKER.mask();
+			}
+		}
+		if(current == CandleShape.BEARISH && middle == CandleShape.BEARISH) {
+			if(last == CandleShape.BULLISH) {
+				result |= CandlePattern.BEARISH_EVENING_STAR.mask();
+			}
+			if(last == CandleShape.BEARISH) {
+				result |= CandlePattern.BEARISH_THREE_BLACK_CROWS.mask() | CandlePattern.BULLISH_KICKER.mask();
+			}
+		}
+		return result;
+	}
+
+	private static boolean atMost2(int ratio) {
+		return ratio == CandleShape.BELOW_2 || ratio == CandleShape.AT_2;
+	}
+
+	private static boolean atLeast2(int ratio) {
+		return ratio == CandleShape.AT_2 || ratio == CandleShape.BELOW_5 || ratio == CandleShape.FROM_5;
+	}
+
+}
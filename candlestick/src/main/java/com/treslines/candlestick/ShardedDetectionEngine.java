@@ -0,0 +1,213 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.candlestick;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.treslines.data.model.Candle;
+
+/**
+ * Detects patterns on many candle streams at once. Every stream, identified by
+ * {@link Candle#getMarket()} and {@link Candle#getInterval()}, is owned by exactly
+ * one shard and each shard is served by its own worker thread. Detection state is
+ * therefore never shared and needs no locks, while candles may be submitted from any thread.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public class ShardedDetectionEngine {
+
+	private final Shard[] shards;
+	private volatile boolean running = true;
+	/** submits past the running check, the workers wait for them before they stop */
+	private final AtomicInteger submitting = new AtomicInteger();
+
+	/**
+	 * @param shards number of worker threads, usually the number of available cores
+	 * @param listener receives the patterns found, called from the worker thread of the stream's shard
+	 */
+	public ShardedDetectionEngine(int shards, CandleStickListener listener) {
+		this(shards, Integer.MAX_VALUE, listener);
+	}
+
+	/**
+	 * @param shards number of worker threads, usually the number of available cores
+	 * @param capacity max candles waiting per shard, submit blocks while a shard is full
+	 * @param listener receives the patterns found, called from the worker thread of the stream's shard
+	 */
+	public ShardedDetectionEngine(int shards, int capacity, CandleStickListener listener) {
+		if(shards < 1) {
+			throw new IllegalArgumentException("At least one shard is needed");
+		}
+		this.shards = new Shard[shards];
+		for (int i = 0; i < shards; i++) {
+			this.shards[i] = new Shard(i, capacity, listener);
+			this.shards[i].start();
+		}
+	}
+
+	/**
+	 * Hands a closed candle over to the shard owning its stream. Candles of the same
+	 * stream must be submitted in order, from the oldest to the most recent one.
+	 * @param candle the candle that just closed
+	 * @throws InterruptedException if interrupted while waiting for a full shard
+	 * @throws IllegalStateException if the engine has been shut down
+	 */
+	public void submit(Candle candle) throws InterruptedException {
+		submitting.incrementAndGet();
+		try {
+			if(!running) {
+				throw new IllegalStateException("Engine has been shut down");
+			}
+			shards[shardOf(candle.getMarket(), candle.getInterval())].queue.put(candle);
+		} finally {
+			submitting.decrementAndGet();
+		}
+	}
+
+	/**
+	 * @return the shard owning the stream of the given market and interval
+	 */
+	public int shardOf(String market, String interval) {
+		int hash = 31 * hash(market) + hash(interval);
+		return (hash & Integer.MAX_VALUE) % shards.length;
+	}
+
+	private static int hash(String value) {
+		return value == null ? 0 : value.hashCode();
+	}
+
+	/** @return number of shards and therefore worker threads */
+	public int getShardCount() {
+		return shards.length;
+	}
+
+	/**
+	 * @param shard the shard index
+	 * @return number of candles waiting to be checked by the given shard
+	 */
+	public int getQueueDepth(int shard) {
+		return shards[shard].queue.size();
+	}
+
+	/**
+	 * Stops accepting candles. Candles already submitted are still checked, including
+	 * those of submits running at the same time which did not fail.
+	 */
+	public void shutdown() {
+		running = false;
+		for (Shard shard : shards) {
+			shard.interrupt();
+		}
+	}
+
+	/**
+	 * Waits until all worker threads have finished after {@link #shutdown()}.
+	 * @return true if all workers finished in time
+	 */
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		for (Shard shard : shards) {
+			long left = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+			if(left <= 0) {
+				return !isAlive();
+			}
+			shard.join(left);
+		}
+		return !isAlive();
+	}
+
+	private boolean isAlive() {
+		for (Shard shard : shards) {
+			if(shard.isAlive()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Worker thread owning the detectors of its streams. Only this thread touches them.
+	 */
+	private class Shard extends Thread {
+		private final BlockingQueue<Candle> queue;
+		private final CandleStickListener listener;
+		private final Map<String, Map<String, StreamingCandleStickDetector>> detectors = new HashMap<>();
+
+		private Shard(int index, int capacity, CandleStickListener listener) {
+			super("candlestick-shard-" + index);
+			setDaemon(true);
+			this.queue = new LinkedBlockingQueue<>(capacity);
+			this.listener = listener;
+		}
+
+		@Override
+		public void run() {
+			// in this order: a submit past the running check is either counted or already queued
+			while (running || submitting.get() > 0 || !queue.isEmpty()) {
+				Candle candle;
+				try {
+					candle = running ? queue.take() : queue.poll(1, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException e) {
+					// shutdown, drain what is left
+					continue;
+				}
+				if(candle != null) {
+					check(candle);
+				}
+			}
+		}
+
+		private void check(Candle candle) {
+			try {
+				int patterns = detectorOf(candle).onCandle(candle);
+				if(patterns != 0 && listener != null) {
+					listener.onPatterns(candle, patterns);
+				}
+			} catch (RuntimeException e) {
+				// a malformed candle or a failing listener must not stop the streams of this shard
+				getUncaughtExceptionHandler().uncaughtException(this, e);
+			}
+		}
+
+		private StreamingCandleStickDetector detectorOf(Candle candle) {
+			Map<String, StreamingCandleStickDetector> intervals = detectors.get(candle.getMarket());
+			if(intervals == null) {
+				intervals = new HashMap<>();
+				detectors.put(candle.getMarket(), intervals);
+			}
+			StreamingCandleStickDetector detector = intervals.get(candle.getInterval());
+			if(detector == null) {
+				detector = new StreamingCandleStickDetector();
+				intervals.put(candle.getInterval(), detector);
+			}
+			return detector;
+		}
+	}
+
+}
@@ -0,0 +1,152 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+
+package com.treslines.candlestick;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Bounded single producer, single consumer ring of preallocated slots. The producer
+ * claims a free slot, fills it in place and publishes it; the consumer reads the
+ * oldest published slot in place and releases it. Slots are reused, so passing an
+ * event allocates nothing, and the two sides only share two ordered sequence
+ * counters, so neither ever takes a lock.
+ * <p>
+ * Exactly one thread may call {@link #claim()} and {@link #publish()} and exactly one
+ * thread may call {@link #peek()} and {@link #release()}. Both may call {@link #size()}.
+ * @param <E> type of the slots
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public final class SpscRing<E> {
+
+	private final E[] slots;
+	private final int mask;
+	/** next sequence the producer publishes, its cache is the last head the producer saw */
+	private final Sequence tail = new Sequence();
+	/** next sequence the consumer reads, its cache is the last tail the consumer saw */
+	private final Sequence head = new Sequence();
+
+	/**
+	 * @param slots the preallocated slots, a power of two of them
+	 */
+	public SpscRing(E[] slots) {
+		if(slots.length == 0 || Integer.bitCount(slots.length) != 1) {
+			throw new IllegalArgumentException("The number of slots must be a power of two");
+		}
+		this.slots = slots;
+		this.mask = slots.length - 1;
+	}
+
+	/**
+	 * Producer only.
+	 * @return the next free slot to fill, or null if the ring is full. The same slot is
+	 * returned until it is published.
+	 */
+	public E claim() {
+		long sequence = tail.get();
+		if(sequence - tail.cache >= slots.length) {
+			// refreshed only when the ring looks full
+			tail.cache = head.get();
+			if(sequence - tail.cache >= slots.length) {
+				return null;
+			}
+		}
+		return slots[(int) sequence & mask];
+	}
+
+	/**
+	 * Producer only. Hands the claimed slot over to the consumer.
+	 */
+	public void publish() {
+		// the ordered store makes the slot contents visible before the new tail
+		tail.lazySet(tail.get() + 1);
+	}
+
+	/**
+	 * Consumer only.
+	 * @return the oldest published slot, or null if the ring is empty. The same slot is
+	 * returned until it is released.
+	 */
+	public E peek() {
+		long sequence = head.get();
+		if(sequence >= head.cache) {
+			// refreshed only when the ring looks empty
+			head.cache = tail.get();
+			if(sequence >= head.cache) {
+				return null;
+			}
+		}
+		return slots[(int) sequence & mask];
+	}
+
+	/**
+	 * Consumer only. Hands the slot read last back to the producer.
+	 */
+	public void release() {
+		head.lazySet(head.get() + 1);
+	}
+
+	/** @return number of published slots not released yet */
+	public int size() {
+		return (int) (tail.get() - head.get());
+	}
+
+	/** @return number of slots */
+	public int capacity() {
+		return slots.length;
+	}
+
+	/** cache line padding before the value of a sequence */
+	private static class LeftPadding {
+		long p1, p2, p3, p4, p5, p6, p7;
+	}
+
+	/** the sequence and the cache of its owner, next to each other */
+	private static class Value extends LeftPadding {
+		volatile long value;
+		long cache;
+	}
+
+	/**
+	 * Sequence and owner's cache padded to their own cache line on both sides, so the
+	 * producer and the consumer never invalidate each other's line when only one of them
+	 * moves. Only the owner writes either field, the other side only reads the value.
+	 */
+	private static final class Sequence extends Value {
+		private static final AtomicLongFieldUpdater<Value> VALUE = AtomicLongFieldUpdater.newUpdater(Value.class, "value");
+
+		long p9, p10, p11, p12, p13, p14, p15;
+
+		long get() {
+			return value;
+		}
+
+		/** ordered store: everything written before is visible before the new value */
+		void lazySet(long next) {
+			VALUE.lazySet(this, next);
+		}
+	}
+
+}
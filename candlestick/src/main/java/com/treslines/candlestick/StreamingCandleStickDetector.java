@@ -0,0 +1,142 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.candlestick;
+
+import com.treslines.candlestick.CandleStickFactory.CandleStick;
+import com.treslines.data.model.Candle;
+import com.treslines.data.model.NumericCandle;
+
+/**
+ * Stateful pattern checker for one market, fed with one closed candle at a time.
+ * It keeps the last three candles in a fixed ring buffer and checks the single,
+ * double and triple patterns on every update without copying or allocating lists.
+ * Not thread safe, use one detector per market and feed it from a single thread.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public class StreamingCandleStickDetector implements CandleStick {
+
+	private static final int WINDOW = 3;
+
+	private final NumericCandle[] ring = new NumericCandle[WINDOW];
+	/** parsing target, swapped into the ring only once all prices were read */
+	private NumericCandle scratch = new NumericCandle();
+	private int head = -1;
+	private int count;
+	private int patterns;
+
+	public StreamingCandleStickDetector() {
+		for (int i = 0; i < WINDOW; i++) {
+			ring[i] = new NumericCandle();
+		}
+	}
+
+	/**
+	 * Use it whenever a candle closes. An empty candle (see {@link Candle#isEmpty()})
+	 * clears the window, so no pattern is reported across it.
+	 * @param candle the candle that just closed
+	 * @return the {@link CandlePattern} mask found with this candle as the most recent one
+	 * @throws NumberFormatException if a price is not a number, the window is left as it was
+	 */
+	public int onCandle(Candle candle) {
+		if(candle == null || candle.isEmpty()) {
+			reset();
+			return patterns;
+		}
+		NumericCandle parsed = scratch.set(candle);
+		int slot = (head + 1) % WINDOW;
+		scratch = ring[slot];
+		ring[slot] = parsed;
+		next();
+		return check();
+	}
+
+	/**
+	 * Use it whenever a candle closes. The values are copied, so the given candle may be reused.
+	 * @param candle the candle that just closed
+	 * @return the {@link CandlePattern} mask found with this candle as the most recent one
+	 */
+	public int onCandle(NumericCandle candle) {
+		next().set(candle);
+		return check();
+	}
+
+	/**
+	 * Use it whenever a candle closes.
+	 * @return the {@link CandlePattern} mask found with this candle as the most recent one
+	 */
+	public int onCandle(double open, double high, double low, double close, double volume) {
+		NumericCandle candle = next();
+		candle.setOpen(open);
+		candle.setMax(high);
+		candle.setMin(low);
+		candle.setClose(close);
+		candle.setVolume(volume);
+		return check();
+	}
+
+	/** Forgets all candles seen so far. */
+	public void reset() {
+		head = -1;
+		count = 0;
+		patterns = 0;
+	}
+
+	private NumericCandle next() {
+		head = (head + 1) % WINDOW;
+		if(count < WINDOW) {
+			count++;
+		}
+		return ring[head];
+	}
+
+	private int check() {
+		NumericCandle current = ring[head];
+		NumericCandle middle = count > 1 ? ring[(head + WINDOW - 1) % WINDOW] : null;
+		NumericCandle last = count > 2 ? ring[(head + WINDOW - 2) % WINDOW] : null;
+		patterns = PatternEvaluator.evaluate(current, middle, last);
+		return patterns;
+	}
+
+	/** @return the {@link CandlePattern} mask found on the last update */
+	public int getPatterns() {
+		return patterns;
+	}
+
+	/** @return how many candles are currently in the window: 0 to 3 */
+	public int size() {
+		return count;
+	}
+
+	/** @return true if the last update completed a bullish pattern */
+	public boolean isBullish() {
+		return CandlePattern.isBullish(patterns);
+	}
+
+	/** @return true if the last update completed a bearish pattern */
+	public boolean isBearish() {
+		return CandlePattern.isBearish(patterns);
+	}
+
+}
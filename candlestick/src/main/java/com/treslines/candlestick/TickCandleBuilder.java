@@ -0,0 +1,162 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.candlestick;
+
+import com.treslines.data.model.CandleInterval;
+import com.treslines.data.model.NumericCandle;
+
+/**
+ * Builds the candles of one market and interval straight from its trades. Every trade
+ * updates open, high, low, close, volume and base volume of the open candle in place,
+ * and the first trade of a later interval closes it and checks it with a
+ * {@link StreamingCandleStickDetector}. Prices stay primitive from the trade to the
+ * pattern mask and nothing is allocated per trade.
+ * Intervals without trades produce no candle. Not thread safe, use one builder per market
+ * and interval and feed it from a single thread.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public class TickCandleBuilder {
+
+	private final CandleInterval interval;
+	private final StreamingCandleStickDetector detector = new StreamingCandleStickDetector();
+	private final NumericCandle current = new NumericCandle();
+	private final NumericCandle closed = new NumericCandle();
+	private long start;
+	private long closedStart;
+	private long lastTimestamp = Long.MIN_VALUE;
+	/** true while the current candle has trades and is not closed yet */
+	private boolean building;
+	private long closedCount;
+
+	/**
+	 * @param market the market of the trades, set on every candle
+	 * @param interval the interval of the candles to build
+	 */
+	public TickCandleBuilder(String market, CandleInterval interval) {
+		this.interval = interval;
+		current.setMarket(market);
+		current.setInterval(interval.getName());
+	}
+
+	/**
+	 * Use it for every trade, in the order they happened.
+	 * @param timestamp time of the trade in UTC epoch millis
+	 * @param price price of the trade
+	 * @param quantity traded quantity, added to the volume, while price * quantity is added to the base volume
+	 * @return the {@link CandlePattern} mask found on the candle closed by this trade, 0 if none closed
+	 * @throws IllegalArgumentException if the trade is older than the previous one
+	 */
+	public int onTrade(long timestamp, double price, double quantity) {
+		if(timestamp < lastTimestamp) {
+			throw new IllegalArgumentException("Trades must be fed from the oldest to the most recent one");
+		}
+		lastTimestamp = timestamp;
+		int patterns = 0;
+		if(building && timestamp - start >= interval.getMillis()) {
+			patterns = close();
+		}
+		if(building) {
+			if(price > current.getMax()) {
+				current.setMax(price);
+			}
+			if(price < current.getMin()) {
+				current.setMin(price);
+			}
+			current.setVolume(current.getVolume() + quantity);
+			current.setBaseVolume(current.getBaseVolume() + price * quantity);
+		}else {
+			start = interval.start(timestamp);
+			building = true;
+			current.setOpen(price);
+			current.setMax(price);
+			current.setMin(price);
+			current.setVolume(quantity);
+			current.setBaseVolume(price * quantity);
+		}
+		current.setClose(price);
+		return patterns;
+	}
+
+	/**
+	 * Use it from a timer to close the open candle when its interval has passed without
+	 * a trade of the next one.
+	 * @param timestamp the current time in UTC epoch millis
+	 * @return the {@link CandlePattern} mask found on the closed candle, 0 if none closed
+	 */
+	public int onTime(long timestamp) {
+		if(building && timestamp - start >= interval.getMillis()) {
+			return close();
+		}
+		return 0;
+	}
+
+	private int close() {
+		building = false;
+		closedStart = start;
+		closedCount++;
+		closed.set(current);
+		return detector.onCandle(current);
+	}
+
+	/** @return the candle being built, only valid while {@link #isBuilding()}. Do not modify it. */
+	public NumericCandle getCurrent() {
+		return current;
+	}
+
+	/** @return true while the current candle has trades and is not closed yet */
+	public boolean isBuilding() {
+		return building;
+	}
+
+	/** @return start of the candle being built in UTC epoch millis */
+	public long getStart() {
+		return start;
+	}
+
+	/** @return the last closed candle, only valid once {@link #getClosedCount()} is positive. Do not modify it. */
+	public NumericCandle getClosed() {
+		return closed;
+	}
+
+	/** @return start of the last closed candle in UTC epoch millis */
+	public long getClosedStart() {
+		return closedStart;
+	}
+
+	/** @return number of candles closed so far */
+	public long getClosedCount() {
+		return closedCount;
+	}
+
+	/** @return the {@link CandlePattern} mask found when the last candle closed */
+	public int getPatterns() {
+		return detector.getPatterns();
+	}
+
+	public CandleInterval getInterval() {
+		return interval;
+	}
+
+}
@@ -0,0 +1,84 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+
+package com.treslines.candlestick;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * How a thread waits for a {@link SpscRing} to get an event or a free slot. The
+ * strategies trade latency for CPU: {@link #BUSY_SPIN} reacts fastest but burns a
+ * whole core, {@link #PARK} gives the core away once the ring stays idle.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public enum WaitStrategy {
+
+	/** keeps polling, use it only with a core reserved for the waiting thread */
+	BUSY_SPIN {
+		@Override
+		int idle(int counter) {
+			return next(counter);
+		}
+	},
+	/** polls for a while, then yields the core to other threads between polls */
+	YIELD {
+		@Override
+		int idle(int counter) {
+			if(counter >= SPINS) {
+				Thread.yield();
+			}
+			return next(counter);
+		}
+	},
+	/** polls and yields for a while, then parks the thread between polls */
+	PARK {
+		@Override
+		int idle(int counter) {
+			if(counter >= SPINS + YIELDS) {
+				LockSupport.parkNanos(PARK_NANOS);
+			}else if(counter >= SPINS) {
+				Thread.yield();
+			}
+			return next(counter);
+		}
+	};
+
+	private static final int SPINS = 100;
+	private static final int YIELDS = 100;
+	private static final long PARK_NANOS = 100;
+
+	/** counts up to the parking phase and stays there, so a long idle ring never wraps back to spinning */
+	private static int next(int counter) {
+		return counter < SPINS + YIELDS ? counter + 1 : counter;
+	}
+
+	/**
+	 * Waits once, called every time the ring had nothing to do.
+	 * @param counter number of times the thread waited since the ring had something to do, 0 at first
+	 * @return the counter to pass on the next wait
+	 */
+	abstract int idle(int counter);
+
+}
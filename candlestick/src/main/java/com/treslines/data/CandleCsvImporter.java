@@ -0,0 +1,374 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.treslines.data.model.CandleSeries;
+
+/**
+ * Bulk importer for CSV dumps with the same columns as {@link com.treslines.data.model.Candle}:
+ * date, time, interval, market, open, close, min, max, volume, baseVolume. The file is
+ * read in chunks over a {@link FileChannel} and every field is parsed straight from
+ * the bytes into the primitive columns of a {@link CandleSeries}, without creating any
+ * Candle or String per row. Large files are split at line boundaries and parsed by
+ * several threads, the result keeps the order of the file.
+ * <p>
+ * Dates are expected as yyyy-MM-dd and times as HH:mm or HH:mm:ss, they are stored as
+ * UTC epoch millis (0 if the date is empty). Interval and market are not read, as every
+ * file holds one market and interval. A first line starting with a letter is taken as
+ * header and skipped. Quoted fields are not supported.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public final class CandleCsvImporter {
+
+	/** bytes parsed per task by default, the unit of work split across threads */
+	public static final long CHUNK_SIZE = 8L << 20;
+	/** bytes of the file parsed or waiting for the sink at once, whatever the number of threads */
+	public static final long MAX_PENDING_BYTES = 128L << 20;
+	private static final int BUFFER_SIZE = 1 << 20;
+	private static final int COLUMNS = 10;
+
+	private CandleCsvImporter() {
+		// utility
+	}
+
+	/**
+	 * Reads a whole CSV file into a series on the calling thread.
+	 * @param csv the file to import, oldest candle first
+	 * @return a new series holding all candles of the file
+	 * @throws IOException if the file can not be read or a line is malformed
+	 */
+	public static CandleSeries read(Path csv) throws IOException {
+		return read(csv, 1);
+	}
+
+	/**
+	 * Reads a whole CSV file into a series, parsing chunks of it in parallel.
+	 * @param csv the file to import, oldest candle first
+	 * @param threads number of parsing threads, usually the number of available cores
+	 * @return a new series holding all candles of the file
+	 * @throws IOException if the file can not be read or a line is malformed
+	 */
+	public static CandleSeries read(Path csv, int threads) throws IOException {
+		return read(csv, threads, CHUNK_SIZE);
+	}
+
+	/**
+	 * Reads a whole CSV file into a series, parsing chunks of the given size in parallel.
+	 * @param csv the file to import, oldest candle first
+	 * @param threads number of parsing threads, usually the number of available cores
+	 * @param chunkSize bytes parsed per task, see {@link #CHUNK_SIZE}
+	 * @return a new series holding all candles of the file
+	 * @throws IOException if the file can not be read or a line is malformed
+	 */
+	public static CandleSeries read(Path csv, int threads, long chunkSize) throws IOException {
+		final CandleSeries result = new CandleSeries();
+		process(csv, threads, chunkSize, new Sink() {
+			public void accept(CandleSeries chunk) {
+				result.addAll(chunk);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Appends a whole CSV file to a binary history, parsing chunks of it in parallel.
+	 * At most {@link #MAX_PENDING_BYTES} of the file are held in memory as parsed chunks at
+	 * once, so files larger than the heap can be imported.
+	 * @param csv the file to import, oldest candle first
+	 * @param writer the history to append to
+	 * @param threads number of parsing threads, usually the number of available cores
+	 * @return the number of candles appended
+	 * @throws IOException if a file can not be read or written or a line is malformed
+	 */
+	public static long write(Path csv, final CandleHistoryWriter writer, int threads) throws IOException {
+		final long before = writer.size();
+		process(csv, threads, CHUNK_SIZE, new Sink() {
+			public void accept(CandleSeries chunk) throws IOException {
+				for (int i = 0; i < chunk.size(); i++) {
+					writer.append(chunk.getTimestamp(i), chunk.getOpen(i), chunk.getHigh(i), chunk.getLow(i), chunk.getClose(i),
+							chunk.getVolume(i), chunk.getBaseVolume(i));
+				}
+			}
+		});
+		return writer.size() - before;
+	}
+
+	private interface Sink {
+		void accept(CandleSeries chunk) throws IOException;
+	}
+
+	/**
+	 * Parses the file chunk by chunk, handing the chunks over to the sink in file order.
+	 */
+	private static void process(Path csv, int threads, long chunkSize, Sink sink) throws IOException {
+		if(threads < 1 || chunkSize < 1) {
+			throw new IllegalArgumentException("At least one thread and one byte per chunk are needed");
+		}
+		try (FileChannel channel = FileChannel.open(csv, StandardOpenOption.READ)) {
+			long length = channel.size();
+			if(threads == 1) {
+				for (long start = 0; start < length; start += chunkSize) {
+					sink.accept(new ChunkParser(channel, start, Math.min(start + chunkSize, length)).call());
+				}
+				return;
+			}
+			// keep every thread busy while bounding the chunks held in memory
+			long pendingChunks = Math.max(1, Math.min(threads * 2L, MAX_PENDING_BYTES / chunkSize));
+			ExecutorService executor = Executors.newFixedThreadPool(threads);
+			try {
+				Deque<Future<CandleSeries>> pending = new ArrayDeque<Future<CandleSeries>>();
+				long start = 0;
+				while (start < length || !pending.isEmpty()) {
+					while (start < length && pending.size() < pendingChunks) {
+						pending.add(executor.submit(new ChunkParser(channel, start, Math.min(start + chunkSize, length))));
+						start += chunkSize;
+					}
+					sink.accept(pending.poll().get());
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Import interrupted: " + csv, e);
+			} catch (ExecutionException e) {
+				if(e.getCause() instanceof IOException) {
+					throw (IOException) e.getCause();
+				}
+				throw new IOException("Import failed: " + csv, e.getCause());
+			} finally {
+				executor.shutdownNow();
+			}
+		}
+	}
+
+	/**
+	 * Parses the lines starting within [start, end) of a file. A line belongs to the
+	 * chunk its first byte is in, so it is read past the end if needed and the partial
+	 * line at the start is skipped, it belongs to the previous chunk.
+	 */
+	private static final class ChunkParser implements Callable<CandleSeries> {
+
+		private final FileChannel channel;
+		private final long start;
+		private final long end;
+		private byte[] bytes;
+		private final int[] fields = new int[COLUMNS + 1];
+
+		ChunkParser(FileChannel channel, long start, long end) {
+			this.channel = channel;
+			this.start = start;
+			this.end = end;
+			// small chunks do not need the whole buffer, it grows for longer lines anyway
+			this.bytes = new byte[(int) Math.min(BUFFER_SIZE, Math.max(end - start + 1, 4096))];
+		}
+
+		@Override
+		public CandleSeries call() throws IOException {
+			CandleSeries series = null;
+			ByteBuffer buffer = ByteBuffer.wrap(bytes);
+			// reading from the byte before the chunk tells whether it starts at a line boundary
+			long position = start > 0 ? start - 1 : 0;
+			long offset = position;
+			boolean skip = start > 0;
+			boolean eof = false;
+			int limit = 0;
+			int lineStart = 0;
+			while (true) {
+				if(!eof) {
+					int read = channel.read(buffer, position);
+					if(read < 0) {
+						eof = true;
+					}else {
+						position += read;
+					}
+				}
+				limit = buffer.position();
+				if(series == null) {
+					series = new CandleSeries(estimateRows(limit));
+				}
+				int i = lineStart;
+				while (i < limit) {
+					if(bytes[i] == '\n') {
+						if(skip) {
+							skip = false;
+						}else if(!line(series, offset + lineStart, lineStart, i)) {
+							return series;
+						}
+						lineStart = i + 1;
+					}
+					i++;
+				}
+				if(eof) {
+					if(lineStart < limit && !skip) {
+						line(series, offset + lineStart, lineStart, limit);
+					}
+					return series;
+				}
+				if(offset + lineStart >= end && !skip) {
+					return series;
+				}
+				// keep the partial line and read on behind it
+				if(lineStart == 0 && limit == bytes.length) {
+					bytes = Arrays.copyOf(bytes, bytes.length * 2);
+					buffer = ByteBuffer.wrap(bytes);
+				}else {
+					System.arraycopy(bytes, lineStart, bytes, 0, limit - lineStart);
+				}
+				buffer.position(limit - lineStart);
+				offset += lineStart;
+				lineStart = 0;
+			}
+		}
+
+		/**
+		 * @return the rows of the chunk, estimated from the line lengths of the first bytes read
+		 */
+		private int estimateRows(int read) {
+			int lines = 0;
+			for (int i = 0; i < read; i++) {
+				lines += bytes[i] == '\n' ? 1 : 0;
+			}
+			long rows = lines == 0 ? 16 : (end - start) * lines / read + 16;
+			return (int) Math.min(rows, Integer.MAX_VALUE - 8);
+		}
+
+		/**
+		 * @return false once the line does not belong to this chunk anymore
+		 */
+		private boolean line(CandleSeries series, long at, int from, int to) throws IOException {
+			if(at >= end) {
+				return false;
+			}
+			if(to > from && bytes[to - 1] == '\r') {
+				to--;
+			}
+			if(to == from) {
+				// blank line
+				return true;
+			}
+			if(at == 0 && isLetter(bytes[from])) {
+				// header
+				return true;
+			}
+			int count = 0;
+			fields[count++] = from;
+			for (int i = from; i < to && count < COLUMNS; i++) {
+				if(bytes[i] == ',') {
+					fields[count++] = i + 1;
+				}
+			}
+			if(count < COLUMNS) {
+				throw new IOException("Expected " + COLUMNS + " columns at byte " + at);
+			}
+			fields[COLUMNS] = to + 1;
+			try {
+				series.add(timestamp(fields[0], fields[1] - 1, fields[1], fields[2] - 1), number(4), number(7), number(6), number(5), number(8), number(9));
+			} catch (NumberFormatException e) {
+				throw new IOException("Malformed candle at byte " + at + ": " + e.getMessage(), e);
+			}
+			return true;
+		}
+
+		/** @return the value of a numeric column, from its first byte to the next comma or line end */
+		private double number(int column) {
+			int from = fields[column];
+			int to = fields[column + 1] - 1;
+			if(column + 1 < COLUMNS) {
+				// the last column ends at the line end, any other one at its comma
+				return DecimalParser.parseDouble(bytes, from, to);
+			}
+			int comma = from;
+			while (comma < to && bytes[comma] != ',') {
+				comma++;
+			}
+			return DecimalParser.parseDouble(bytes, from, comma);
+		}
+
+		/** @return UTC epoch millis of yyyy-MM-dd and HH:mm[:ss], or 0 without date */
+		private long timestamp(int dateFrom, int dateTo, int timeFrom, int timeTo) {
+			if(dateFrom == dateTo) {
+				return 0;
+			}
+			if(dateTo - dateFrom != 10 || bytes[dateFrom + 4] != '-' || bytes[dateFrom + 7] != '-') {
+				throw new NumberFormatException("Expected date as yyyy-MM-dd");
+			}
+			long days = epochDay(digits(dateFrom, 4), digits(dateFrom + 5, 2), digits(dateFrom + 8, 2));
+			long seconds = 0;
+			int length = timeTo - timeFrom;
+			if(length == 5 || length == 8) {
+				if(bytes[timeFrom + 2] != ':' || (length == 8 && bytes[timeFrom + 5] != ':')) {
+					throw new NumberFormatException("Expected time as HH:mm or HH:mm:ss");
+				}
+				seconds = digits(timeFrom, 2) * 3600L + digits(timeFrom + 3, 2) * 60L + (length == 8 ? digits(timeFrom + 6, 2) : 0);
+			}else if(length != 0) {
+				throw new NumberFormatException("Expected time as HH:mm or HH:mm:ss");
+			}
+			return (days * 86400L + seconds) * 1000L;
+		}
+
+		private int digits(int from, int count) {
+			int value = 0;
+			for (int i = from; i < from + count; i++) {
+				int digit = bytes[i] - '0';
+				if(digit < 0 || digit > 9) {
+					throw new NumberFormatException("Expected a digit");
+				}
+				value = value * 10 + digit;
+			}
+			return value;
+		}
+
+	}
+
+	/** Days since 1970-01-01 of a proleptic gregorian date, same as LocalDate.toEpochDay() */
+	static long epochDay(int year, int month, int day) {
+		if(month < 1 || month > 12 || day < 1 || day > 31) {
+			throw new NumberFormatException("Invalid date");
+		}
+		long y = month <= 2 ? year - 1 : year;
+		long era = Math.floorDiv(y, 400);
+		long yearOfEra = y - era * 400;
+		long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+		long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+		return era * 146097 + dayOfEra - 719468;
+	}
+
+	private static boolean isLetter(byte value) {
+		return (value >= 'a' && value <= 'z') || (value >= 'A' && value <= 'Z');
+	}
+
+}
@@ -0,0 +1,221 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.treslines.data.model.CandleHistory;
+import com.treslines.data.model.NumericCandle;
+
+/**
+ * Candle history of one market and interval stored in a fixed width binary file and
+ * read in place through memory mapping. No object is created per candle and the
+ * operating system's page cache keeps hot files in memory between runs, so years of
+ * history can be scanned right away by {@link com.treslines.candlestick.CandleStickFactory#scan(CandleHistory)}.
+ * <p>
+ * File layout, little endian: a {@value #HEADER_SIZE} bytes header (magic "CNDL",
+ * version, record size, reserved int, candle count as long, reserved long) followed by
+ * one {@value #RECORD_SIZE} bytes record per candle, oldest first: timestamp as long,
+ * then open, high, low, close, volume and base volume as doubles.
+ * Files are written by {@link CandleHistoryWriter}. A file opened for reading sees the
+ * candles written until then.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public final class CandleHistoryFile implements CandleHistory, Closeable {
+
+	static final int MAGIC = 0x4C444E43; // "CNDL" little endian
+	static final int VERSION = 1;
+	static final int HEADER_SIZE = 32;
+	static final int COUNT_OFFSET = 16;
+	static final int RECORD_SIZE = 56;
+	static final int TIMESTAMP = 0;
+	static final int OPEN = 8;
+	static final int HIGH = 16;
+	static final int LOW = 24;
+	static final int CLOSE = 32;
+	static final int VOLUME = 40;
+	static final int BASE_VOLUME = 48;
+	static final String EXTENSION = ".candles";
+
+	/** a single mapping is limited to 2GB, so big files are mapped in segments of 2^24 candles (896MB) */
+	private static final int SEGMENT_SHIFT = 24;
+	private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+	private final FileChannel channel;
+	private final MappedByteBuffer[] segments;
+	private final int size;
+
+	private CandleHistoryFile(FileChannel channel, MappedByteBuffer[] segments, int size) {
+		this.channel = channel;
+		this.segments = segments;
+		this.size = size;
+	}
+
+	/**
+	 * @param directory the folder holding the history files
+	 * @param market the name of the market BTC-ETH
+	 * @param interval time interval constant of the candles
+	 * @return the path of the history file of that market and interval
+	 * @throws IllegalArgumentException if market or interval could name a file outside the directory
+	 */
+	public static Path path(Path directory, String market, String interval) {
+		checkName(market);
+		checkName(interval);
+		Path path = directory.resolve(market + "_" + interval + EXTENSION);
+		if(!directory.equals(path.getParent())) {
+			throw new IllegalArgumentException("History file outside of " + directory + ": " + path);
+		}
+		return path;
+	}
+
+	/** market and interval become part of a file name, they must not leave the directory */
+	private static void checkName(String name) {
+		if(name == null || name.isEmpty() || name.contains("..") || name.indexOf('/') >= 0 || name.indexOf('\\') >= 0
+				|| name.indexOf(':') >= 0 || name.indexOf('\0') >= 0) {
+			throw new IllegalArgumentException("Not a valid market or interval for a file name: " + name);
+		}
+	}
+
+	/**
+	 * Maps an existing history file read only.
+	 * @param path the history file
+	 * @return the mapped history, close it when it is not needed anymore
+	 * @throws IOException if the file can not be read or is not a candle history file
+	 */
+	public static CandleHistoryFile open(Path path) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			int size = readHeader(channel, path);
+			int count = (size + SEGMENT_MASK) >>> SEGMENT_SHIFT;
+			MappedByteBuffer[] segments = new MappedByteBuffer[count];
+			for (int i = 0; i < count; i++) {
+				long first = (long) i << SEGMENT_SHIFT;
+				long records = Math.min(size - first, 1L << SEGMENT_SHIFT);
+				segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + first * RECORD_SIZE, records * RECORD_SIZE);
+				segments[i].order(ByteOrder.LITTLE_ENDIAN);
+			}
+			return new CandleHistoryFile(channel, segments, size);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Reads and checks the header of a history file.
+	 * @return the number of complete candles in the file
+	 */
+	static int readHeader(FileChannel channel, Path path) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		while (header.hasRemaining()) {
+			if(channel.read(header, header.position()) < 0) {
+				throw new IOException("Not a candle history file: " + path);
+			}
+		}
+		if(header.getInt(0) != MAGIC || header.getInt(4) != VERSION || header.getInt(8) != RECORD_SIZE) {
+			throw new IOException("Not a candle history file: " + path);
+		}
+		long count = header.getLong(COUNT_OFFSET);
+		long stored = (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+		if(count < 0 || count > stored || count > Integer.MAX_VALUE) {
+			throw new IOException("Corrupt candle history file: " + path);
+		}
+		return (int) count;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public NumericCandle load(int index, NumericCandle candle) {
+		ByteBuffer segment = segment(index);
+		int offset = offset(index);
+		candle.setOpen(segment.getDouble(offset + OPEN));
+		candle.setMax(segment.getDouble(offset + HIGH));
+		candle.setMin(segment.getDouble(offset + LOW));
+		candle.setClose(segment.getDouble(offset + CLOSE));
+		candle.setVolume(segment.getDouble(offset + VOLUME));
+		candle.setBaseVolume(segment.getDouble(offset + BASE_VOLUME));
+		return candle;
+	}
+
+	public long getTimestamp(int index) {
+		return segment(index).getLong(offset(index) + TIMESTAMP);
+	}
+
+	public double getOpen(int index) {
+		return segment(index).getDouble(offset(index) + OPEN);
+	}
+
+	public double getHigh(int index) {
+		return segment(index).getDouble(offset(index) + HIGH);
+	}
+
+	public double getLow(int index) {
+		return segment(index).getDouble(offset(index) + LOW);
+	}
+
+	public double getClose(int index) {
+		return segment(index).getDouble(offset(index) + CLOSE);
+	}
+
+	public double getVolume(int index) {
+		return segment(index).getDouble(offset(index) + VOLUME);
+	}
+
+	public double getBaseVolume(int index) {
+		return segment(index).getDouble(offset(index) + BASE_VOLUME);
+	}
+
+	private ByteBuffer segment(int index) {
+		if(index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+		}
+		return segments[index >>> SEGMENT_SHIFT];
+	}
+
+	private static int offset(int index) {
+		return (index & SEGMENT_MASK) * RECORD_SIZE;
+	}
+
+	/**
+	 * Closes the file. The mapping itself is released by the garbage collector,
+	 * so candles must not be read anymore after closing.
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+}
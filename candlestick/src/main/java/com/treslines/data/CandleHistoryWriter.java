@@ -0,0 +1,179 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.data;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.treslines.data.model.Candle;
+import com.treslines.data.model.CandleHistory;
+import com.treslines.data.model.NumericCandle;
+
+/**
+ * Appends candles to a {@link CandleHistoryFile}, creating it if needed. Candles are
+ * buffered and written in batches; the candle count in the header is only updated
+ * on {@link #flush()} and {@link #close()}, so readers never see half written candles.
+ * A writer is not thread safe and there should be only one writer per file.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public final class CandleHistoryWriter implements Closeable, Flushable {
+
+	private static final int BATCH = 1024;
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BATCH * CandleHistoryFile.RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+	private final ByteBuffer count = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+	private long size;
+
+	private CandleHistoryWriter(FileChannel channel, long size) {
+		this.channel = channel;
+		this.size = size;
+	}
+
+	/**
+	 * Opens a history file for appending, creating it if it does not exist yet.
+	 * Records behind the stored candle count (e.g. left by a crash) are dropped.
+	 * @param path the history file, see {@link CandleHistoryFile#path(Path, String, String)}
+	 * @return a writer positioned after the last candle
+	 * @throws IOException if the file can not be written or is not a candle history file
+	 */
+	public static CandleHistoryWriter open(Path path) throws IOException {
+		boolean exists = Files.exists(path) && Files.size(path) > 0;
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			long size = 0;
+			if(exists) {
+				size = CandleHistoryFile.readHeader(channel, path);
+			}else {
+				ByteBuffer header = ByteBuffer.allocate(CandleHistoryFile.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+				header.putInt(CandleHistoryFile.MAGIC).putInt(CandleHistoryFile.VERSION).putInt(CandleHistoryFile.RECORD_SIZE);
+				header.clear();
+				writeFully(channel, header, 0);
+			}
+			channel.truncate(CandleHistoryFile.HEADER_SIZE + size * CandleHistoryFile.RECORD_SIZE);
+			return new CandleHistoryWriter(channel, size);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Appends a database candle as the new most recent one, parsing its values once.
+	 * @param timestamp the time of the candle, e.g. epoch millis of its opening
+	 * @param candle a non empty candle (see {@link Candle#isEmpty()})
+	 */
+	public void append(long timestamp, Candle candle) throws IOException {
+		append(timestamp, DecimalParser.parseDouble(candle.getOpen()), DecimalParser.parseDouble(candle.getMax()), DecimalParser.parseDouble(candle.getMin()),
+				DecimalParser.parseDouble(candle.getClose()), DecimalParser.parseDouble(candle.getVolume()), DecimalParser.parseDouble(candle.getBaseVolume()));
+	}
+
+	/**
+	 * Appends a numeric candle as the new most recent one.
+	 * @param timestamp the time of the candle, e.g. epoch millis of its opening
+	 * @param candle the candle to append
+	 */
+	public void append(long timestamp, NumericCandle candle) throws IOException {
+		append(timestamp, candle.getOpen(), candle.getMax(), candle.getMin(), candle.getClose(), candle.getVolume(), candle.getBaseVolume());
+	}
+
+	/**
+	 * Appends a candle as the new most recent one.
+	 * @param timestamp the time of the candle, e.g. epoch millis of its opening
+	 */
+	public void append(long timestamp, double open, double high, double low, double close, double volume, double baseVolume) throws IOException {
+		if(!buffer.hasRemaining()) {
+			writeBatch();
+		}
+		buffer.putLong(timestamp).putDouble(open).putDouble(high).putDouble(low).putDouble(close).putDouble(volume).putDouble(baseVolume);
+	}
+
+	/**
+	 * Appends a whole history, e.g. a {@link com.treslines.data.model.CandleSeries}.
+	 * @param history the candles to append, oldest first
+	 * @param timestamps the time of each candle of the history
+	 */
+	public void append(CandleHistory history, long[] timestamps) throws IOException {
+		NumericCandle candle = new NumericCandle();
+		for (int i = 0; i < history.size(); i++) {
+			append(timestamps[i], history.load(i, candle));
+		}
+	}
+
+	/** @return the number of candles in the file, including those not flushed yet */
+	public long size() {
+		return size + buffer.position() / CandleHistoryFile.RECORD_SIZE;
+	}
+
+	/**
+	 * Writes the buffered candles and publishes the new candle count to readers.
+	 */
+	@Override
+	public void flush() throws IOException {
+		writeBatch();
+		count.clear();
+		count.putLong(size).flip();
+		writeFully(channel, count, CandleHistoryFile.COUNT_OFFSET);
+	}
+
+	/**
+	 * Flushes and forces the file content to the storage device.
+	 */
+	public void sync() throws IOException {
+		flush();
+		channel.force(false);
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			channel.close();
+		}
+	}
+
+	private void writeBatch() throws IOException {
+		buffer.flip();
+		long written = buffer.remaining() / CandleHistoryFile.RECORD_SIZE;
+		writeFully(channel, buffer, CandleHistoryFile.HEADER_SIZE + size * CandleHistoryFile.RECORD_SIZE);
+		size += written;
+		buffer.clear();
+	}
+
+	private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			position += channel.write(buffer, position);
+		}
+	}
+
+}
@@ -0,0 +1,218 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.j256.ormlite.dao.CloseableIterator;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.stmt.PreparedQuery;
+import com.j256.ormlite.stmt.QueryBuilder;
+import com.j256.ormlite.stmt.SelectArg;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.table.TableUtils;
+import com.treslines.data.model.CandleSeries;
+import com.treslines.data.model.NumericCandle;
+import com.treslines.data.model.NumericCandleEntity;
+
+/**
+ * Reads candle histories of the numeric_candles table (see {@link NumericCandleEntity})
+ * in time order. Long histories are replayed page by page with keyset pagination:
+ * every page continues after the timestamp of the last candle read, using the
+ * composite index instead of an offset, and its rows are streamed over an ORMLite
+ * iterator. Only one candle is held at a time, so any history fits in constant heap.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public class CandleKeysetReader {
+
+	public static final int DEFAULT_PAGE_SIZE = 1000;
+
+	private final ConnectionSource source;
+	private final Dao<NumericCandleEntity, Integer> dao;
+	private final int pageSize;
+
+	public CandleKeysetReader(ConnectionSource source) throws SQLException {
+		this(source, DEFAULT_PAGE_SIZE);
+	}
+
+	/**
+	 * @param source the database to read from
+	 * @param pageSize max candles fetched per query
+	 */
+	public CandleKeysetReader(ConnectionSource source, int pageSize) throws SQLException {
+		if(pageSize < 1) {
+			throw new IllegalArgumentException("Page size must be positive");
+		}
+		this.source = source;
+		this.dao = DaoManager.createDao(source, NumericCandleEntity.class);
+		this.pageSize = pageSize;
+	}
+
+	/**
+	 * Creates the numeric_candles table and its index if they do not exist yet.
+	 */
+	public void createTable() throws SQLException {
+		TableUtils.createTableIfNotExists(source, NumericCandleEntity.class);
+	}
+
+	/**
+	 * Opens a cursor over all candles of a market and interval after the given time.
+	 * @param market the name of the market BTC-ETH
+	 * @param interval time interval constant of the candles
+	 * @param after only candles with a greater timestamp are read, e.g. Long.MIN_VALUE for all of them
+	 * @return a cursor positioned before the oldest candle, close it when done
+	 */
+	public CandleCursor replay(String market, String interval, long after) throws SQLException {
+		return new CandleCursor(market, interval, after);
+	}
+
+	/**
+	 * Reads the most recent candles of a market and interval.
+	 * @param market the name of the market BTC-ETH
+	 * @param interval time interval constant of the candles
+	 * @param count max number of candles to read
+	 * @return a series with up to count candles, oldest first
+	 */
+	public CandleSeries findLast(String market, String interval, int count) throws SQLException {
+		QueryBuilder<NumericCandleEntity, Integer> query = dao.queryBuilder();
+		query.where().eq("market", new SelectArg(market)).and().eq("interval", new SelectArg(interval));
+		query.orderBy("timestamp", false).limit(Long.valueOf(count));
+		List<NumericCandleEntity> newestFirst = new ArrayList<NumericCandleEntity>(Math.min(count, pageSize));
+		CloseableIterator<NumericCandleEntity> rows = dao.iterator(query.prepare());
+		try {
+			while (rows.hasNext()) {
+				newestFirst.add(rows.next());
+			}
+		} finally {
+			rows.close();
+		}
+		CandleSeries series = new CandleSeries(newestFirst.size());
+		for (int i = newestFirst.size() - 1; i >= 0; i--) {
+			NumericCandleEntity candle = newestFirst.get(i);
+			series.add(candle.getTimestamp(), candle.getOpen(), candle.getMax(), candle.getMin(), candle.getClose(), candle.getVolume(), candle.getBaseVolume());
+		}
+		return series;
+	}
+
+	/** @return the underlying ORMLite dao, e.g. to store candles */
+	public Dao<NumericCandleEntity, Integer> getDao() {
+		return dao;
+	}
+
+	/**
+	 * Forward only cursor over the candles of one market and interval, oldest first.
+	 * Like a JDBC result set, call {@link #next()} before reading the first candle.
+	 * It is not thread safe.
+	 */
+	public class CandleCursor implements Closeable {
+
+		private final SelectArg after = new SelectArg();
+		private final PreparedQuery<NumericCandleEntity> page;
+		private CloseableIterator<NumericCandleEntity> rows;
+		private NumericCandleEntity current;
+		private long last;
+		private int read;
+		private boolean exhausted;
+
+		private CandleCursor(String market, String interval, long after) throws SQLException {
+			QueryBuilder<NumericCandleEntity, Integer> query = dao.queryBuilder();
+			query.where().eq("market", new SelectArg(market)).and().eq("interval", new SelectArg(interval)).and().gt("timestamp", this.after);
+			query.orderBy("timestamp", true).limit(Long.valueOf(pageSize));
+			this.page = query.prepare();
+			this.last = after;
+		}
+
+		/**
+		 * Moves to the next candle, fetching the next page when the current one is consumed.
+		 * @return false if there are no more candles
+		 */
+		public boolean next() throws SQLException {
+			while (true) {
+				if(rows == null) {
+					if(exhausted) {
+						return false;
+					}
+					// keyset: continue right after the last timestamp read
+					after.setValue(last);
+					rows = dao.iterator(page);
+					read = 0;
+				}
+				if(rows.hasNext()) {
+					current = rows.next();
+					last = current.getTimestamp();
+					read++;
+					return true;
+				}
+				rows.close();
+				rows = null;
+				current = null;
+				exhausted = read < pageSize;
+			}
+		}
+
+		/** @return the time of the current candle in epoch millis */
+		public long getTimestamp() {
+			return current().getTimestamp();
+		}
+
+		/**
+		 * Copies the values of the current candle into a reusable candle.
+		 * @param candle the candle to overwrite
+		 * @return the given candle
+		 */
+		public NumericCandle load(NumericCandle candle) {
+			return current().load(candle);
+		}
+
+		private NumericCandleEntity current() {
+			if(current == null) {
+				throw new IllegalStateException("No current candle, call next() first");
+			}
+			return current;
+		}
+
+		@Override
+		public void close() throws IOException {
+			exhausted = true;
+			current = null;
+			if(rows != null) {
+				try {
+					rows.close();
+				} catch (SQLException e) {
+					throw new IOException(e);
+				} finally {
+					rows = null;
+				}
+			}
+		}
+
+	}
+
+}
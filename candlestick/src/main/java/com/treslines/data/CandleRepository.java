@@ -0,0 +1,473 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.data;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.j256.ormlite.dao.BaseDaoImpl;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.jdbc.JdbcDatabaseConnection;
+import com.j256.ormlite.misc.TransactionManager;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.table.TableInfo;
+import com.j256.ormlite.table.TableUtils;
+import com.treslines.data.model.Candle;
+
+/**
+ * Data access for the candles table, made for high ingestion rates. Candles are
+ * written in batches: every batch runs in one transaction, rolled back as a whole if
+ * any of its rows fails, and its rows are sent to the database as one JDBC batch. Batch sizes and the time
+ * each batch needed until committed are recorded, see {@link #getBatches()} and
+ * {@link #getLastCommitNanos()}.
+ * <p>
+ * Upserts rely on the unique {@link Candle#KEY_INDEX}. On H2, MySQL, PostgreSQL and
+ * SQLite a batch is upserted by one statement the database runs atomically per row
+ * ({@code MERGE}, {@code ON DUPLICATE KEY} or {@code ON CONFLICT}); on other databases the
+ * existing rows of a batch are looked up with one query and then updated or inserted.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public class CandleRepository {
+
+	public static final int DEFAULT_BATCH_SIZE = 500;
+
+	/** the fields identifying a candle for upserts */
+	private static final String[] KEY = {"market", "interval", "date", "time"};
+
+	private final ConnectionSource source;
+	private final Dao<Candle, Integer> dao;
+	private final int batchSize;
+	private final FieldType[] columns;
+	private final FieldType[] keys = new FieldType[KEY.length];
+	private final FieldType idField;
+	private final String insertSql;
+	private final String updateSql;
+	private final String upsertSql;
+	private final String selectSql;
+
+	private final AtomicLong batches = new AtomicLong();
+	private final AtomicLong rows = new AtomicLong();
+	private final AtomicLong commitNanos = new AtomicLong();
+	private final AtomicLong maxCommitNanos = new AtomicLong();
+	private volatile int lastBatchSize;
+	private volatile long lastCommitNanos;
+
+	public CandleRepository(ConnectionSource source) throws SQLException {
+		this(source, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * @param source the database to work on
+	 * @param batchSize max candles written per batch and transaction
+	 */
+	public CandleRepository(ConnectionSource source, int batchSize) throws SQLException {
+		if(batchSize < 1) {
+			throw new IllegalArgumentException("Batch size must be positive");
+		}
+		this.source = source;
+		this.dao = DaoManager.createDao(source, Candle.class);
+		this.batchSize = batchSize;
+
+		TableInfo<Candle, Integer> table = ((BaseDaoImpl<Candle, Integer>) dao).getTableInfo();
+		FieldType[] fields = table.getFieldTypes();
+		FieldType id = null;
+		int count = 0;
+		for (FieldType field : fields) {
+			if(field.isGeneratedId()) {
+				id = field;
+			}else {
+				count++;
+			}
+		}
+		this.idField = id;
+		this.columns = new FieldType[count];
+		count = 0;
+		for (FieldType field : fields) {
+			if(!field.isGeneratedId()) {
+				columns[count++] = field;
+			}
+			for (int i = 0; i < KEY.length; i++) {
+				if(KEY[i].equals(field.getFieldName())) {
+					keys[i] = field;
+				}
+			}
+		}
+
+		DatabaseType type = source.getDatabaseType();
+		StringBuilder insert = new StringBuilder("INSERT INTO ");
+		type.appendEscapedEntityName(insert, table.getTableName());
+		StringBuilder values = new StringBuilder();
+		StringBuilder update = new StringBuilder("UPDATE ");
+		type.appendEscapedEntityName(update, table.getTableName());
+		update.append(" SET ");
+		insert.append(" (");
+		for (int i = 0; i < columns.length; i++) {
+			String separator = i == 0 ? "" : ", ";
+			insert.append(separator);
+			type.appendEscapedEntityName(insert, columns[i].getColumnName());
+			values.append(separator).append('?');
+			update.append(separator);
+			type.appendEscapedEntityName(update, columns[i].getColumnName());
+			update.append(" = ?");
+		}
+		insert.append(") VALUES (").append(values).append(')');
+		update.append(" WHERE ");
+		type.appendEscapedEntityName(update, idField.getColumnName());
+		update.append(" = ?");
+		StringBuilder select = new StringBuilder("SELECT ");
+		type.appendEscapedEntityName(select, idField.getColumnName());
+		for (FieldType key : keys) {
+			select.append(", ");
+			type.appendEscapedEntityName(select, key.getColumnName());
+		}
+		select.append(" FROM ");
+		type.appendEscapedEntityName(select, table.getTableName());
+		this.insertSql = insert.toString();
+		this.updateSql = update.toString();
+		this.upsertSql = upsertSql(type, table.getTableName(), insert.toString(), values.toString());
+		this.selectSql = select.toString();
+	}
+
+	/**
+	 * @return a statement inserting a candle or updating the one with the same key, or null
+	 * if the database has no such statement
+	 */
+	private String upsertSql(DatabaseType type, String tableName, String insert, String values) {
+		String database = type.getDatabaseName();
+		StringBuilder sql = new StringBuilder();
+		if("H2".equals(database)) {
+			sql.append("MERGE INTO ");
+			type.appendEscapedEntityName(sql, tableName);
+			sql.append(insert.substring(insert.indexOf(" (")));
+			sql.setLength(sql.indexOf(" VALUES"));
+			sql.append(" KEY (");
+			for (int i = 0; i < keys.length; i++) {
+				sql.append(i == 0 ? "" : ", ");
+				type.appendEscapedEntityName(sql, keys[i].getColumnName());
+			}
+			return sql.append(") VALUES (").append(values).append(')').toString();
+		}
+		boolean mysql = "MySQL".equals(database);
+		if(!mysql && !"Postgres".equals(database) && !"SQLite".equals(database)) {
+			return null;
+		}
+		sql.append(insert);
+		if(mysql) {
+			sql.append(" ON DUPLICATE KEY UPDATE ");
+		}else {
+			sql.append(" ON CONFLICT (");
+			for (int i = 0; i < keys.length; i++) {
+				sql.append(i == 0 ? "" : ", ");
+				type.appendEscapedEntityName(sql, keys[i].getColumnName());
+			}
+			sql.append(") DO UPDATE SET ");
+		}
+		for (int i = 0; i < columns.length; i++) {
+			sql.append(i == 0 ? "" : ", ");
+			type.appendEscapedEntityName(sql, columns[i].getColumnName());
+			if(mysql) {
+				sql.append(" = VALUES(");
+				type.appendEscapedEntityName(sql, columns[i].getColumnName());
+				sql.append(')');
+			}else {
+				sql.append(" = EXCLUDED.");
+				type.appendEscapedEntityName(sql, columns[i].getColumnName());
+			}
+		}
+		return sql.toString();
+	}
+
+	/**
+	 * Creates the candles table if it does not exist yet.
+	 */
+	public void createTable() throws SQLException {
+		TableUtils.createTableIfNotExists(source, Candle.class);
+	}
+
+	/**
+	 * Inserts all candles, batch by batch. The generated ids are set on the candles if
+	 * the JDBC driver returns them.
+	 * @param candles the candles to insert
+	 * @return the number of candles inserted
+	 */
+	public int insert(List<Candle> candles) throws SQLException {
+		return write(candles, false);
+	}
+
+	/**
+	 * Inserts new candles and updates existing ones, batch by batch. A candle exists if
+	 * a row with the same market, interval, date and time is stored; candles missing one
+	 * of those values are always inserted. If a batch holds the same candle twice, the
+	 * last one wins. The ids of the stored rows are set on the candles.
+	 * @param candles the candles to insert or update
+	 * @return the number of candles inserted or updated
+	 */
+	public int upsert(List<Candle> candles) throws SQLException {
+		return write(candles, true);
+	}
+
+	private int write(List<Candle> candles, final boolean upsert) throws SQLException {
+		int written = 0;
+		for (int from = 0; from < candles.size(); from += batchSize) {
+			final List<Candle> batch = candles.subList(from, Math.min(from + batchSize, candles.size()));
+			long begin = System.nanoTime();
+			try {
+				written += TransactionManager.callInTransaction(source, new Callable<Integer>() {
+					public Integer call() throws Exception {
+						// callInTransaction saved the connection of its transaction, so this is the same one
+						DatabaseConnection connection = source.getReadWriteConnection();
+						try {
+							Connection jdbc = ((JdbcDatabaseConnection) connection).getInternalConnection();
+							return upsert ? upsertBatch(jdbc, batch) : insertBatch(jdbc, batch);
+						} finally {
+							source.releaseConnection(connection);
+						}
+					}
+				});
+			} catch (SQLException e) {
+				throw new SQLException("Could not write batch of " + batch.size() + " candles, it was rolled back", e);
+			}
+			record(batch.size(), System.nanoTime() - begin);
+		}
+		return written;
+	}
+
+	private int insertBatch(Connection jdbc, List<Candle> batch) throws SQLException {
+		try (PreparedStatement insert = jdbc.prepareStatement(insertSql, Statement.RETURN_GENERATED_KEYS)) {
+			for (Candle candle : batch) {
+				bind(insert, candle);
+				insert.addBatch();
+			}
+			int[] counts = insert.executeBatch();
+			try (ResultSet generated = insert.getGeneratedKeys()) {
+				for (int i = 0; i < batch.size() && generated.next(); i++) {
+					batch.get(i).setId(generated.getInt(1));
+				}
+			}
+			return written(counts);
+		}
+	}
+
+	private int upsertBatch(Connection jdbc, List<Candle> batch) throws SQLException {
+		// one candle per key, the last one of the batch wins
+		Map<List<Object>, Candle> unique = new LinkedHashMap<List<Object>, Candle>();
+		List<Candle> inserts = new ArrayList<Candle>();
+		for (Candle candle : batch) {
+			List<Object> key = key(candle);
+			if(key == null) {
+				inserts.add(candle);
+			}else {
+				unique.put(key, candle);
+			}
+		}
+		int written = 0;
+		if(upsertSql != null) {
+			if(!unique.isEmpty()) {
+				try (PreparedStatement upsert = jdbc.prepareStatement(upsertSql)) {
+					for (Candle candle : unique.values()) {
+						bind(upsert, candle);
+						upsert.addBatch();
+					}
+					written += written(upsert.executeBatch());
+				}
+				resolveIds(jdbc, unique);
+			}
+		}else {
+			Map<List<Object>, Integer> stored = resolveIds(jdbc, unique);
+			try (PreparedStatement update = jdbc.prepareStatement(updateSql)) {
+				boolean updates = false;
+				for (Map.Entry<List<Object>, Candle> entry : unique.entrySet()) {
+					Integer id = stored.get(entry.getKey());
+					if(id == null) {
+						inserts.add(entry.getValue());
+					}else {
+						bind(update, entry.getValue());
+						update.setObject(columns.length + 1, id);
+						update.addBatch();
+						updates = true;
+					}
+				}
+				written += updates ? written(update.executeBatch()) : 0;
+			}
+		}
+		return written + (inserts.isEmpty() ? 0 : insertBatch(jdbc, inserts));
+	}
+
+	/**
+	 * Looks up the stored rows of all keys with one query and sets their ids on the candles.
+	 * Each key column is matched against the values of the batch, so the query may return
+	 * more rows than asked for; those are skipped.
+	 * @return the ids of the keys found
+	 */
+	private Map<List<Object>, Integer> resolveIds(Connection jdbc, Map<List<Object>, Candle> unique) throws SQLException {
+		Map<List<Object>, Integer> stored = new HashMap<List<Object>, Integer>();
+		if(unique.isEmpty()) {
+			return stored;
+		}
+		List<Set<Object>> values = new ArrayList<Set<Object>>();
+		for (int i = 0; i < keys.length; i++) {
+			values.add(new LinkedHashSet<Object>());
+		}
+		for (List<Object> key : unique.keySet()) {
+			for (int i = 0; i < keys.length; i++) {
+				values.get(i).add(key.get(i));
+			}
+		}
+		DatabaseType type = source.getDatabaseType();
+		StringBuilder sql = new StringBuilder(selectSql);
+		for (int i = 0; i < keys.length; i++) {
+			sql.append(i == 0 ? " WHERE " : " AND ");
+			type.appendEscapedEntityName(sql, keys[i].getColumnName());
+			sql.append(" IN (");
+			for (int j = 0; j < values.get(i).size(); j++) {
+				sql.append(j == 0 ? "?" : ", ?");
+			}
+			sql.append(')');
+		}
+		try (PreparedStatement select = jdbc.prepareStatement(sql.toString())) {
+			int parameter = 1;
+			for (Set<Object> column : values) {
+				for (Object value : column) {
+					select.setObject(parameter++, value);
+				}
+			}
+			try (ResultSet found = select.executeQuery()) {
+				while (found.next()) {
+					Object[] key = new Object[keys.length];
+					for (int i = 0; i < keys.length; i++) {
+						key[i] = found.getObject(i + 2);
+					}
+					Candle candle = unique.get(Arrays.asList(key));
+					if(candle != null) {
+						candle.setId(found.getInt(1));
+						stored.put(Arrays.asList(key), found.getInt(1));
+					}
+				}
+			}
+		}
+		return stored;
+	}
+
+	/** @return number of rows written by a batch, drivers may report a row as 2 (updated) or unknown */
+	private static int written(int[] counts) {
+		int written = 0;
+		for (int count : counts) {
+			if(count > 0 || count == Statement.SUCCESS_NO_INFO) {
+				written++;
+			}
+		}
+		return written;
+	}
+
+	/** @return the upsert key of the candle or null if one of its values is missing */
+	private List<Object> key(Candle candle) throws SQLException {
+		Object[] values = new Object[keys.length];
+		for (int i = 0; i < keys.length; i++) {
+			values[i] = keys[i].extractJavaFieldToSqlArgValue(candle);
+			if(values[i] == null) {
+				return null;
+			}
+		}
+		return Arrays.asList(values);
+	}
+
+	private void bind(PreparedStatement statement, Candle candle) throws SQLException {
+		for (int i = 0; i < columns.length; i++) {
+			statement.setObject(i + 1, columns[i].extractJavaFieldToSqlArgValue(candle));
+		}
+	}
+
+	private void record(int size, long nanos) {
+		batches.incrementAndGet();
+		rows.addAndGet(size);
+		commitNanos.addAndGet(nanos);
+		long max = maxCommitNanos.get();
+		while (nanos > max && !maxCommitNanos.compareAndSet(max, nanos)) {
+			max = maxCommitNanos.get();
+		}
+		lastBatchSize = size;
+		lastCommitNanos = nanos;
+	}
+
+	/** @return the underlying ORMLite dao, e.g. for queries */
+	public Dao<Candle, Integer> getDao() {
+		return dao;
+	}
+
+	/** @return the number of batches committed */
+	public long getBatches() {
+		return batches.get();
+	}
+
+	/** @return the number of candles written over all batches */
+	public long getRows() {
+		return rows.get();
+	}
+
+	/** @return the average number of candles per batch */
+	public double getAverageBatchSize() {
+		long count = batches.get();
+		return count == 0 ? 0 : (double) rows.get() / count;
+	}
+
+	/** @return the number of candles of the last batch */
+	public int getLastBatchSize() {
+		return lastBatchSize;
+	}
+
+	/** @return the time the last batch took from its start until committed */
+	public long getLastCommitNanos() {
+		return lastCommitNanos;
+	}
+
+	/** @return the longest time a batch took from its start until committed */
+	public long getMaxCommitNanos() {
+		return maxCommitNanos.get();
+	}
+
+	/** @return the average time a batch took from its start until committed */
+	public long getAverageCommitNanos() {
+		long count = batches.get();
+		return count == 0 ? 0 : commitNanos.get() / count;
+	}
+
+}
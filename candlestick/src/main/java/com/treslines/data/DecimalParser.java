@@ -0,0 +1,252 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.data;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses the plain decimal prices sent by exchanges, like "7666", "0.00012345"
+ * or "-12.5", without allocating. The result is always the same as the one of
+ * {@link Double#parseDouble(String)}: whenever the value cannot be computed
+ * exactly on the fast path (exponents, more than 15 significant digits, hex,
+ * whitespace...) it falls back to the JDK parser.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public final class DecimalParser {
+
+	/** integers up to 2^53 are exactly representable as double */
+	private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+	/** powers of ten exactly representable as double */
+	private static final double[] POWERS_OF_TEN = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	/** marks a value the fast path could not parse */
+	private static final long NOT_PARSED = -1;
+
+	private DecimalParser() {
+		// utility
+	}
+
+	/**
+	 * @param value a plain decimal number
+	 * @return the same as {@link Double#parseDouble(String)}
+	 * @throws NumberFormatException if the value is not a number
+	 */
+	public static double parseDouble(CharSequence value) {
+		return parseDouble(value, 0, value.length());
+	}
+
+	/**
+	 * @param value text containing a plain decimal number
+	 * @param start index of the first character (inclusive)
+	 * @param end index of the last character (exclusive)
+	 * @return the same as {@link Double#parseDouble(String)} on that range
+	 * @throws NumberFormatException if the range is not a number
+	 */
+	public static double parseDouble(CharSequence value, int start, int end) {
+		int index = start;
+		boolean negative = false;
+		if(index < end && (value.charAt(index) == '-' || value.charAt(index) == '+')) {
+			negative = value.charAt(index) == '-';
+			index++;
+		}
+		long mantissa = 0;
+		int digits = 0;
+		int decimals = -1;
+		for (; index < end; index++) {
+			char c = value.charAt(index);
+			if(c >= '0' && c <= '9') {
+				mantissa = mantissa * 10 + (c - '0');
+				digits++;
+				if(decimals >= 0) {
+					decimals++;
+				}
+				if(mantissa > MAX_EXACT_MANTISSA) {
+					break;
+				}
+			}else if(c == '.' && decimals < 0) {
+				decimals = 0;
+			}else {
+				break;
+			}
+		}
+		if(index < end || digits == 0 || decimals >= POWERS_OF_TEN.length) {
+			return Double.parseDouble(value.subSequence(start, end).toString());
+		}
+		return toDouble(negative, mantissa, decimals);
+	}
+
+	/**
+	 * @param bytes ASCII text containing a plain decimal number
+	 * @param start index of the first byte (inclusive)
+	 * @param end index of the last byte (exclusive)
+	 * @return the same as {@link Double#parseDouble(String)} on that range
+	 * @throws NumberFormatException if the range is not a number
+	 */
+	public static double parseDouble(byte[] bytes, int start, int end) {
+		int index = start;
+		boolean negative = false;
+		if(index < end && (bytes[index] == '-' || bytes[index] == '+')) {
+			negative = bytes[index] == '-';
+			index++;
+		}
+		long mantissa = 0;
+		int digits = 0;
+		int decimals = -1;
+		for (; index < end; index++) {
+			byte b = bytes[index];
+			if(b >= '0' && b <= '9') {
+				mantissa = mantissa * 10 + (b - '0');
+				digits++;
+				if(decimals >= 0) {
+					decimals++;
+				}
+				if(mantissa > MAX_EXACT_MANTISSA) {
+					break;
+				}
+			}else if(b == '.' && decimals < 0) {
+				decimals = 0;
+			}else {
+				break;
+			}
+		}
+		if(index < end || digits == 0 || decimals >= POWERS_OF_TEN.length) {
+			return Double.parseDouble(new String(bytes, start, end - start, StandardCharsets.US_ASCII));
+		}
+		return toDouble(negative, mantissa, decimals);
+	}
+
+	/**
+	 * @param buffer ASCII text containing a plain decimal number, read with absolute gets
+	 * @param start index of the first byte (inclusive)
+	 * @param end index of the last byte (exclusive)
+	 * @return the same as {@link Double#parseDouble(String)} on that range
+	 * @throws NumberFormatException if the range is not a number
+	 */
+	public static double parseDouble(ByteBuffer buffer, int start, int end) {
+		int index = start;
+		boolean negative = false;
+		if(index < end && (buffer.get(index) == '-' || buffer.get(index) == '+')) {
+			negative = buffer.get(index) == '-';
+			index++;
+		}
+		long mantissa = 0;
+		int digits = 0;
+		int decimals = -1;
+		for (; index < end; index++) {
+			byte b = buffer.get(index);
+			if(b >= '0' && b <= '9') {
+				mantissa = mantissa * 10 + (b - '0');
+				digits++;
+				if(decimals >= 0) {
+					decimals++;
+				}
+				if(mantissa > MAX_EXACT_MANTISSA) {
+					break;
+				}
+			}else if(b == '.' && decimals < 0) {
+				decimals = 0;
+			}else {
+				break;
+			}
+		}
+		if(index < end || digits == 0 || decimals >= POWERS_OF_TEN.length) {
+			byte[] bytes = new byte[end - start];
+			for (int i = 0; i < bytes.length; i++) {
+				bytes[i] = buffer.get(start + i);
+			}
+			return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+		}
+		return toDouble(negative, mantissa, decimals);
+	}
+
+	/**
+	 * Parses a plain decimal number into a long scaled by 10^decimals, e.g.
+	 * "7663.25" with 4 decimals is 76632500. No rounding ever takes place.
+	 * @param value a plain decimal number: optional sign, digits and optional fraction
+	 * @param decimals number of decimals kept by the scaled value
+	 * @return the exact scaled value
+	 * @throws NumberFormatException if the value is not a plain decimal number, has
+	 * more significant decimals than requested or does not fit into a long
+	 */
+	public static long parseScaled(CharSequence value, int decimals) {
+		int start = 0;
+		int end = value.length();
+		int index = start;
+		boolean negative = false;
+		if(index < end && (value.charAt(index) == '-' || value.charAt(index) == '+')) {
+			negative = value.charAt(index) == '-';
+			index++;
+		}
+		long scaled = 0;
+		int digits = 0;
+		int fraction = -1;
+		for (; index < end; index++) {
+			char c = value.charAt(index);
+			if(c == '.' && fraction < 0) {
+				fraction = 0;
+			}else if(c >= '0' && c <= '9') {
+				digits++;
+				if(fraction >= 0 && fraction == decimals) {
+					if(c != '0') {
+						throw new NumberFormatException("More than " + decimals + " decimals: " + value);
+					}
+					continue;
+				}
+				if(fraction >= 0) {
+					fraction++;
+				}
+				scaled = shift(scaled, c - '0', value);
+			}else {
+				throw new NumberFormatException("Not a plain decimal number: " + value);
+			}
+		}
+		if(digits == 0) {
+			throw new NumberFormatException("Not a plain decimal number: " + value);
+		}
+		for (int i = Math.max(fraction, 0); i < decimals; i++) {
+			scaled = shift(scaled, 0, value);
+		}
+		return negative ? -scaled : scaled;
+	}
+
+	private static long shift(long scaled, int digit, CharSequence value) {
+		if(scaled > (Long.MAX_VALUE - digit) / 10) {
+			throw new NumberFormatException("Out of range: " + value);
+		}
+		return scaled * 10 + digit;
+	}
+
+	private static double toDouble(boolean negative, long mantissa, int decimals) {
+		// both operands are exact, so the IEEE division rounds just like the JDK parser
+		double value = decimals > 0 ? mantissa / POWERS_OF_TEN[decimals] : mantissa;
+		return negative ? -value : value;
+	}
+
+}
@@ -0,0 +1,60 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.data;
+
+import java.math.BigDecimal;
+
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.field.types.DoubleType;
+
+/**
+ * ORMLite persister storing a primitive double in a DECIMAL column. Prices are kept
+ * exactly in the database, while reading them goes straight from the JDBC result to
+ * the double field, without any String or BigDecimal in between. Use it over
+ * {@code @DatabaseField(persisterClass = DecimalPersister.class, columnDefinition = ...)}.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public class DecimalPersister extends DoubleType {
+
+	private static final DecimalPersister SINGLETON = new DecimalPersister();
+
+	private DecimalPersister() {
+		// no associated classes, it is only used where configured explicitly
+		super(SqlType.BIG_DECIMAL, new Class<?>[0]);
+	}
+
+	/** ORMLite looks the persister up over this method */
+	public static DecimalPersister getSingleton() {
+		return SINGLETON;
+	}
+
+	@Override
+	public Object javaToSqlArg(FieldType fieldType, Object javaObject) {
+		// the shortest decimal representation of the double, e.g. 0.1 instead of 0.1000000000000000055...
+		return BigDecimal.valueOf((Double) javaObject);
+	}
+
+}
@@ -26,15 +26,18 @@ import com.j256.ormlite.table.DatabaseTable;
 
 // CREATE TABLE `candles` (
 //	  `id` INTEGER AUTO_INCREMENT,
-//	  `date` VARCHAR(30) DEFAULT NULL,
 //	  `market` VARCHAR(10) DEFAULT NULL,
+//	  `interval` VARCHAR(30) DEFAULT NULL,
+//	  `date` VARCHAR(30) DEFAULT NULL,
+//	  `time` VARCHAR(30) DEFAULT NULL,
 //	  `open` VARCHAR (100) DEFAULT NULL,
 //	  `close` VARCHAR (100) DEFAULT NULL,
 //	  `min` VARCHAR (100) DEFAULT NULL,
 //	  `max` VARCHAR (100) DEFAULT NULL,
 //	  `volume` VARCHAR (100) DEFAULT NULL,
 //	  `base_volume` VARCHAR (100) DEFAULT NULL,
-//	  PRIMARY KEY (`id`)
+//	  PRIMARY KEY (`id`),
+//	  UNIQUE INDEX `candles_key_idx` (`market`, `interval`, `date`, `time`)
 // );
 
 /**
@@ -47,33 +50,44 @@ import com.j256.ormlite.table.DatabaseTable;
 @DatabaseTable(tableName = "candles")
 public class Candle extends Entity implements Cloneable{
 
-	/**
-	 * date in which those values has been recorded. 
-	 * This field is indexed to speed up the search
+	private static final byte UNKNOWN = 0;
+	private static final byte VALID = 1;
+	private static final byte EMPTY = 2;
+
+	/** 
+	 * unique composite index over market, interval, date and time (in this order, as the fields 
+	 * are declared), serving both "candles of market X at interval Y" and upserts by key.
+	 * Candles missing one of these values are not constrained.
 	 */
-	@DatabaseField(/* indexName="index_date" */)
-	private String date;
+	public static final String KEY_INDEX = "candles_key_idx";
 
 	/**
-	 * time interval in which those values has been recorded.
+	 * the name of the market BTC-ETH
 	 * This field is indexed to speed up the search
 	 */
-	@DatabaseField(/* indexName="index_time" */)
-	private String time;
+	@DatabaseField(uniqueIndexName=KEY_INDEX)
+	private String market;
 
 	/**
 	 * time interval constant which this candle used to recorded. 
 	 * This field is indexed to speed up the search
 	 */
-	@DatabaseField(/* indexName="index_interval" */)
+	@DatabaseField(uniqueIndexName=KEY_INDEX)
 	private String interval;
 
 	/**
-	 * the name of the market BTC-ETH
+	 * date in which those values has been recorded. 
 	 * This field is indexed to speed up the search
 	 */
-	@DatabaseField(/* indexName="index_market" */)
-	private String market;
+	@DatabaseField(uniqueIndexName=KEY_INDEX)
+	private String date;
+
+	/**
+	 * time interval in which those values has been recorded.
+	 * This field is indexed to speed up the search
+	 */
+	@DatabaseField(uniqueIndexName=KEY_INDEX)
+	private String time;
 
 	/** the price which it opened */
 	@DatabaseField
@@ -99,6 +113,12 @@ public class Candle extends Entity implements Cloneable{
 	@DatabaseField
 	private String baseVolume;
 
+	/** 
+	 * cached result of isEmpty(), reset by every setter. Values written without the 
+	 * setters (e.g. ORMLite refreshing an existing instance) need a call to invalidate().
+	 */
+	private transient byte validity = UNKNOWN;
+
 	public Candle() {
 		// ORMLite needs a no-arg constructor
 	}
@@ -109,6 +129,7 @@ public class Candle extends Entity implements Cloneable{
 
 	public void setOpen(String open) {
 		this.open = open;
+		this.validity = UNKNOWN;
 	}
 
 	public String getClose() {
@@ -117,6 +138,7 @@ public class Candle extends Entity implements Cloneable{
 
 	public void setClose(String close) {
 		this.close = close;
+		this.validity = UNKNOWN;
 	}
 
 	public String getMin() {
@@ -125,6 +147,7 @@ public class Candle extends Entity implements Cloneable{
 
 	public void setMin(String min) {
 		this.min = min;
+		this.validity = UNKNOWN;
 	}
 
 	public String getMax() {
@@ -133,6 +156,7 @@ public class Candle extends Entity implements Cloneable{
 
 	public void setMax(String max) {
 		this.max = max;
+		this.validity = UNKNOWN;
 	}
 
 	public String getDate() {
@@ -141,14 +165,17 @@ public class Candle extends Entity implements Cloneable{
 
 	public void setDate(String date) {
 		this.date = date;
+		this.validity = UNKNOWN;
 	}
 
 	public void setTime(String time) {
 		this.time = time;
+		this.validity = UNKNOWN;
 	}
 
 	public void setInterval(String interval) {
 		this.interval = interval;
+		this.validity = UNKNOWN;
 	}
 
 	public String getMarket() {
@@ -157,6 +184,7 @@ public class Candle extends Entity implements Cloneable{
 
 	public void setMarket(String market) {
 		this.market = market;
+		this.validity = UNKNOWN;
 	}
 
 	public String getVolume() {
@@ -165,6 +193,7 @@ public class Candle extends Entity implements Cloneable{
 
 	public void setVolume(String volume) {
 		this.volume = volume;
+		this.validity = UNKNOWN;
 	}
 
 	public String getBaseVolume() {
@@ -173,6 +202,7 @@ public class Candle extends Entity implements Cloneable{
 
 	public void setBaseVolume(String baseVolume) {
 		this.baseVolume = baseVolume;
+		this.validity = UNKNOWN;
 	}
 
 	public String getTime() {
@@ -184,18 +214,23 @@ public class Candle extends Entity implements Cloneable{
 	}
 
 	/**
-	 * Checks if this entity has valid attributes
-	 * @return true if all attributes are non null and not empty.
+	 * Checks if this entity has valid attributes. The result is computed once
+	 * and cached until one of the setters is called.
+	 * @return true if any attribute is null or empty.
 	 */
 	public boolean isEmpty() {
-		if(hasNullity()) {
-			return true;
-		}else {
-			if(hasEmtpiness()) {
-				return true;
-			}
+		if(validity == UNKNOWN) {
+			validity = hasNullity() || hasEmtpiness() ? EMPTY : VALID;
 		}
-		return false;
+		return validity == EMPTY;
+	}
+
+	/**
+	 * Forgets the cached result of isEmpty(). Only needed if the fields were 
+	 * written without the setters.
+	 */
+	public void invalidate() {
+		this.validity = UNKNOWN;
 	}
 
 	private boolean hasNullity() {
@@ -0,0 +1,150 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.data.model;
+
+/**
+ * Geometric features of a candle: color, real body, body top and bottom, shadows,
+ * full size and {@link CandleShape} code. They are computed once per candle (see {@link NumericCandle#features()})
+ * and shared by every pattern reading them.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public class CandleFeatures {
+
+	private boolean bullish;
+	private boolean bearish;
+	private boolean neither;
+	private double body;
+	private double bodyTop;
+	private double bodyBottom;
+	private double upperShadow;
+	private double lowerShadow;
+	private double fullSize;
+	private int color;
+	private int shape;
+
+	CandleFeatures() {
+		// computed by NumericCandle
+	}
+
+	void compute(double open, double close, double min, double max) {
+		bullish = close > open;
+		bearish = close < open;
+		neither = close == open;
+		body = close - open;
+		if(body < 0) {
+			body = body * (-1);
+		}
+		if(bullish) {
+			bodyTop = close;
+			bodyBottom = open;
+			upperShadow = max - close;
+			lowerShadow = open - min;
+		}else if(bearish) {
+			bodyTop = open;
+			bodyBottom = close;
+			upperShadow = max - open;
+			lowerShadow = close - min;
+		}else {
+			// neither bullish nor bearish
+			bodyTop = close;
+			bodyBottom = close;
+			upperShadow = max - close;
+			lowerShadow = open - min;
+		}
+		fullSize = max - min;
+		color = bullish ? CandleShape.BULLISH : bearish ? CandleShape.BEARISH : neither ? CandleShape.NEITHER : CandleShape.NO_COLOR;
+		// the ratios are classified on first use
+		shape = -1;
+	}
+
+	void copy(CandleFeatures features) {
+		bullish = features.bullish;
+		bearish = features.bearish;
+		neither = features.neither;
+		body = features.body;
+		bodyTop = features.bodyTop;
+		bodyBottom = features.bodyBottom;
+		upperShadow = features.upperShadow;
+		lowerShadow = features.lowerShadow;
+		fullSize = features.fullSize;
+		color = features.color;
+		shape = features.shape;
+	}
+
+	/** @return true if it closed above its opening */
+	public boolean isBullish() {
+		return bullish;
+	}
+
+	/** @return true if it closed below its opening */
+	public boolean isBearish() {
+		return bearish;
+	}
+
+	/** @return true if it closed exactly at its opening */
+	public boolean isNeitherBullishNorBearish() {
+		return neither;
+	}
+
+	/** @return size of the real body, always positive */
+	public double getBody() {
+		return body;
+	}
+
+	public double getBodyTop() {
+		return bodyTop;
+	}
+
+	public double getBodyBottom() {
+		return bodyBottom;
+	}
+
+	public double getUpperShadow() {
+		return upperShadow;
+	}
+
+	public double getLowerShadow() {
+		return lowerShadow;
+	}
+
+	/** @return distance from max to min price */
+	public double getFullSize() {
+		return fullSize;
+	}
+
+	/** @return the color code, see {@link CandleShape} */
+	public int getColor() {
+		return color;
+	}
+
+	/** @return the shape code, see {@link CandleShape}, classified on the first call */
+	public int getShape() {
+		if(shape < 0) {
+			shape = CandleShape.of(color, body, upperShadow, lowerShadow, fullSize);
+		}
+		return shape;
+	}
+
+}
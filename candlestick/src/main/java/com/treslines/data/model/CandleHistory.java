@@ -0,0 +1,47 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.data.model;
+
+/**
+ * Read access to a candle history ordered from the oldest candle (index 0) to the
+ * most recent one (index size()-1), wherever it is stored. Implementations copy the
+ * values of one index into a reusable {@link NumericCandle}, so a history can be
+ * scanned without creating one object per candle.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public interface CandleHistory {
+
+	/** @return the number of candles in this history */
+	int size();
+
+	/**
+	 * Copies the values stored at the given index into a reusable candle.
+	 * @param index position in this history
+	 * @param candle the candle to overwrite
+	 * @return the given candle
+	 */
+	NumericCandle load(int index, NumericCandle candle);
+
+}
@@ -0,0 +1,88 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.data.model;
+
+/**
+ * Candle intervals, named as in {@link Candle#getInterval()}. Candles of an interval
+ * start at multiples of its length since the UTC epoch, so a candle of a higher interval
+ * covers a whole number of consecutive candles of every lower interval dividing it.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public enum CandleInterval {
+
+	ONE_MIN("oneMin", 60_000L),
+	FIVE_MIN("fiveMin", 5 * 60_000L),
+	FIFTEEN_MIN("fifteenMin", 15 * 60_000L),
+	THIRTY_MIN("thirtyMin", 30 * 60_000L),
+	HOUR("hour", 60 * 60_000L),
+	FOUR_HOURS("fourHour", 4 * 60 * 60_000L),
+	DAY("day", 24 * 60 * 60_000L);
+
+	private final String name;
+	private final long millis;
+
+	private CandleInterval(String name, long millis) {
+		this.name = name;
+		this.millis = millis;
+	}
+
+	/**
+	 * @param name the interval as stored in {@link Candle#getInterval()}, e.g. "fiveMin"
+	 * @return the interval with the given name
+	 * @throws IllegalArgumentException if there is no interval with this name
+	 */
+	public static CandleInterval of(String name) {
+		for (CandleInterval interval : values()) {
+			if(interval.name.equals(name)) {
+				return interval;
+			}
+		}
+		throw new IllegalArgumentException("Unknown interval " + name);
+	}
+
+	/**
+	 * @param timestamp epoch millis of any moment
+	 * @return epoch millis at which the candle of this interval covering the given moment starts
+	 */
+	public long start(long timestamp) {
+		return Math.floorDiv(timestamp, millis) * millis;
+	}
+
+	/** @return true if every candle of this interval is made of whole candles of the given one */
+	public boolean isMultipleOf(CandleInterval interval) {
+		return millis % interval.millis == 0;
+	}
+
+	/** @return the interval as stored in {@link Candle#getInterval()} */
+	public String getName() {
+		return name;
+	}
+
+	/** @return length of one candle in millis */
+	public long getMillis() {
+		return millis;
+	}
+
+}
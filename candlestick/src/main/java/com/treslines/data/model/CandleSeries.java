@@ -0,0 +1,219 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.data.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.treslines.data.DecimalParser;
+
+/**
+ * Columnar candle history. Each value is kept in its own primitive array, ordered
+ * from the oldest candle (index 0) to the most recent one (index size()-1), so long
+ * histories can be scanned sequentially without creating one object per candle.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public class CandleSeries implements CandleHistory {
+
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	private long[] timestamp;
+	private double[] open;
+	private double[] high;
+	private double[] low;
+	private double[] close;
+	private double[] volume;
+	private double[] baseVolume;
+	private int size;
+
+	public CandleSeries() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public CandleSeries(int capacity) {
+		int initial = Math.max(capacity, 1);
+		this.timestamp = new long[initial];
+		this.open = new double[initial];
+		this.high = new double[initial];
+		this.low = new double[initial];
+		this.close = new double[initial];
+		this.volume = new double[initial];
+		this.baseVolume = new double[initial];
+	}
+
+	/**
+	 * Creates a series out of database candles.
+	 * @param candles the candles ordered from the oldest to the most recent one
+	 * @return a new series holding the parsed values
+	 */
+	public static CandleSeries of(List<Candle> candles) {
+		CandleSeries series = new CandleSeries(candles.size());
+		for (Candle candle : candles) {
+			series.add(candle);
+		}
+		return series;
+	}
+
+	/**
+	 * Appends a database candle, parsing its values once.
+	 * @param candle a non empty candle (see {@link Candle#isEmpty()})
+	 */
+	public void add(Candle candle) {
+		add(0, DecimalParser.parseDouble(candle.getOpen()), DecimalParser.parseDouble(candle.getMax()), DecimalParser.parseDouble(candle.getMin()),
+				DecimalParser.parseDouble(candle.getClose()), DecimalParser.parseDouble(candle.getVolume()), parseOptional(candle.getBaseVolume()));
+	}
+
+	/**
+	 * Appends a numeric candle.
+	 * @param candle the candle to append
+	 */
+	public void add(NumericCandle candle) {
+		add(0, candle.getOpen(), candle.getMax(), candle.getMin(), candle.getClose(), candle.getVolume(), candle.getBaseVolume());
+	}
+
+	/**
+	 * Appends a candle as the new most recent one.
+	 */
+	public void add(double open, double high, double low, double close, double volume) {
+		add(0, open, high, low, close, volume, 0);
+	}
+
+	/**
+	 * Appends a candle as the new most recent one.
+	 * @param timestamp the time of the candle, e.g. epoch millis as filled by {@link com.treslines.data.CandleCsvImporter}
+	 */
+	public void add(long timestamp, double open, double high, double low, double close, double volume, double baseVolume) {
+		if(size == this.open.length) {
+			grow(size + 1);
+		}
+		this.timestamp[size] = timestamp;
+		this.open[size] = open;
+		this.high[size] = high;
+		this.low[size] = low;
+		this.close[size] = close;
+		this.volume[size] = volume;
+		this.baseVolume[size] = baseVolume;
+		size++;
+	}
+
+	/**
+	 * Appends all candles of another series, e.g. one imported chunk of a larger file.
+	 * @param series the candles to append after the most recent one of this series
+	 */
+	public void addAll(CandleSeries series) {
+		if(size + series.size > open.length) {
+			grow(size + series.size);
+		}
+		System.arraycopy(series.timestamp, 0, timestamp, size, series.size);
+		System.arraycopy(series.open, 0, open, size, series.size);
+		System.arraycopy(series.high, 0, high, size, series.size);
+		System.arraycopy(series.low, 0, low, size, series.size);
+		System.arraycopy(series.close, 0, close, size, series.size);
+		System.arraycopy(series.volume, 0, volume, size, series.size);
+		System.arraycopy(series.baseVolume, 0, baseVolume, size, series.size);
+		size += series.size;
+	}
+
+	@Override
+	public NumericCandle load(int index, NumericCandle candle) {
+		candle.setOpen(open[index]);
+		candle.setMax(high[index]);
+		candle.setMin(low[index]);
+		candle.setClose(close[index]);
+		candle.setVolume(volume[index]);
+		candle.setBaseVolume(baseVolume[index]);
+		return candle;
+	}
+
+	private void grow(int needed) {
+		int capacity = Math.max(open.length * 2, needed);
+		timestamp = Arrays.copyOf(timestamp, capacity);
+		open = Arrays.copyOf(open, capacity);
+		high = Arrays.copyOf(high, capacity);
+		low = Arrays.copyOf(low, capacity);
+		close = Arrays.copyOf(close, capacity);
+		volume = Arrays.copyOf(volume, capacity);
+		baseVolume = Arrays.copyOf(baseVolume, capacity);
+	}
+
+	private static double parseOptional(String value) {
+		return value == null || value.isEmpty() ? 0 : DecimalParser.parseDouble(value);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Direct access to the backing columns for batch kernels, e.g. {@link com.treslines.candlestick.PatternKernel}.
+	 * The arrays are not copied: only the first {@link #size()} values are valid and they
+	 * are replaced by new arrays as the series grows.
+	 */
+	public double[] getOpenColumn() {
+		return open;
+	}
+
+	public double[] getHighColumn() {
+		return high;
+	}
+
+	public double[] getLowColumn() {
+		return low;
+	}
+
+	public double[] getCloseColumn() {
+		return close;
+	}
+
+	public long getTimestamp(int index) {
+		return timestamp[index];
+	}
+
+	public double getOpen(int index) {
+		return open[index];
+	}
+
+	public double getHigh(int index) {
+		return high[index];
+	}
+
+	public double getLow(int index) {
+		return low[index];
+	}
+
+	public double getClose(int index) {
+		return close[index];
+	}
+
+	public double getVolume(int index) {
+		return volume[index];
+	}
+
+	public double getBaseVolume(int index) {
+		return baseVolume[index];
+	}
+
+}
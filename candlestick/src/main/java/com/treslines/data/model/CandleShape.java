@@ -0,0 +1,120 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.data.model;
+
+/**
+ * Compact code of the shape of one candle, packed into the low 10 bits of an int:
+ * <ul>
+ * <li>bits 0-1: color, {@link #BULLISH}, {@link #BEARISH}, {@link #NEITHER} or {@link #NO_COLOR}</li>
+ * <li>bit 2: {@link #LONG}, the body is at least 5 times each shadow</li>
+ * <li>bit 3: {@link #LITTLE_BODY}, the full size is at least 7 times the body</li>
+ * <li>bits 4-6: class of upper shadow / body, see {@link #upper(int)}</li>
+ * <li>bits 7-9: class of lower shadow / body, see {@link #lower(int)}</li>
+ * </ul>
+ * The classes split a ratio exactly at the limits used by the single candle patterns,
+ * so a code decides them without any further arithmetic. See {@link CandleFeatures#getShape()}.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public final class CandleShape {
+
+	/** number of different codes, codes go from 0 to SIZE - 1 */
+	public static final int SIZE = 1 << 10;
+
+	/** no color, e.g. a candle with NaN prices */
+	public static final int NO_COLOR = 0;
+	public static final int BULLISH = 1;
+	public static final int BEARISH = 2;
+	public static final int NEITHER = 3;
+	public static final int COLOR_MASK = 3;
+
+	public static final int LONG = 1 << 2;
+	public static final int LITTLE_BODY = 1 << 3;
+
+	/** ratio classes; NO_RATIO for NaN, e.g. no shadow and no body */
+	public static final int NO_RATIO = 0;
+	public static final int BELOW_2 = 1;
+	public static final int AT_2 = 2;
+	public static final int BELOW_5 = 3;
+	public static final int FROM_5 = 4;
+
+	private static final int UPPER_SHIFT = 4;
+	private static final int LOWER_SHIFT = 7;
+	private static final int RATIO_MASK = 7;
+
+	private CandleShape() {
+		// static codes
+	}
+
+	/**
+	 * @param color the color code, see {@link CandleFeatures#getColor()}
+	 * @return the shape code of a candle with the given features
+	 */
+	public static int of(int color, double body, double upperShadow, double lowerShadow, double fullSize) {
+		int shape = color;
+		if(body/upperShadow >= 5 && body/lowerShadow >= 5) {
+			shape |= LONG;
+		}
+		if(fullSize/body >= 7) {
+			shape |= LITTLE_BODY;
+		}
+		shape |= ratio(upperShadow/body) << UPPER_SHIFT;
+		shape |= ratio(lowerShadow/body) << LOWER_SHIFT;
+		return shape;
+	}
+
+	/** @return the color code of the given shape */
+	public static int color(int shape) {
+		return shape & COLOR_MASK;
+	}
+
+	/** @return the class of upper shadow / body of the given shape */
+	public static int upper(int shape) {
+		return shape >>> UPPER_SHIFT & RATIO_MASK;
+	}
+
+	/** @return the class of lower shadow / body of the given shape */
+	public static int lower(int shape) {
+		return shape >>> LOWER_SHIFT & RATIO_MASK;
+	}
+
+	/** @return true if the given shape has all the given flags, e.g. {@link #LONG} */
+	public static boolean is(int shape, int flags) {
+		return (shape & flags) == flags;
+	}
+
+	private static int ratio(double ratio) {
+		if(ratio < 2) {
+			return BELOW_2;
+		}
+		if(ratio == 2) {
+			return AT_2;
+		}
+		if(ratio < 5) {
+			return BELOW_5;
+		}
+		return ratio >= 5 ? FROM_5 : NO_RATIO;
+	}
+
+}
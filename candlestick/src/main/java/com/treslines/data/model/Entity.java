@@ -22,6 +22,7 @@ OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
 package com.treslines.data.model;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -63,6 +64,10 @@ public abstract class Entity {
 		List<Boolean> exclussion = new ArrayList<>();
 		List<String> queryParams = new ArrayList<>();
 		for (Field param : getClass().getDeclaredFields()) {
+			if(Modifier.isTransient(param.getModifiers()) || Modifier.isStatic(param.getModifiers())) {
+				// not persisted
+				continue;
+			}
 			for (String toExclude : exclude) {
 				if(toExclude!=null && toExclude.equalsIgnoreCase(param.getName())){
 					exclussion.add(true);
@@ -0,0 +1,152 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.data.model;
+
+/**
+ * Fixed point representation of a {@link Candle}. Prices are stored as whole
+ * numbers of ticks of the market's {@link TickSize}, so pattern checks compare
+ * them exactly, without any floating point rounding.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public class FixedPointCandle {
+
+	/** the tick size all prices of this candle are expressed in */
+	private TickSize tickSize;
+
+	/** the name of the market BTC-ETH */
+	private String market;
+
+	/** time interval constant which this candle used to recorded */
+	private String interval;
+
+	/** the price which it opened, in ticks */
+	private long open;
+
+	/** the price which it closed, in ticks */
+	private long close;
+
+	/** min price, in ticks */
+	private long min;
+
+	/** max price, in ticks */
+	private long max;
+
+	public FixedPointCandle(TickSize tickSize) {
+		this.tickSize = tickSize;
+	}
+
+	public FixedPointCandle(TickSize tickSize, long open, long close, long min, long max) {
+		this.tickSize = tickSize;
+		this.open = open;
+		this.close = close;
+		this.min = min;
+		this.max = max;
+	}
+
+	/**
+	 * Converts the database model into its fixed point representation.
+	 * @param candle a non empty candle (see {@link Candle#isEmpty()})
+	 * @param tickSize the tick size of the candle's market
+	 * @return a new fixed point candle
+	 * @throws NumberFormatException if a price is not a multiple of the tick size
+	 */
+	public static FixedPointCandle of(Candle candle, TickSize tickSize) {
+		return new FixedPointCandle(tickSize).set(candle);
+	}
+
+	/**
+	 * Overwrites this candle with the values of the given database model.
+	 * @param candle a non empty candle (see {@link Candle#isEmpty()})
+	 * @return this candle
+	 * @throws NumberFormatException if a price is not a multiple of the tick size
+	 */
+	public FixedPointCandle set(Candle candle) {
+		this.market = candle.getMarket();
+		this.interval = candle.getInterval();
+		this.open = tickSize.toTicks(candle.getOpen());
+		this.close = tickSize.toTicks(candle.getClose());
+		this.min = tickSize.toTicks(candle.getMin());
+		this.max = tickSize.toTicks(candle.getMax());
+		return this;
+	}
+
+	public TickSize getTickSize() {
+		return tickSize;
+	}
+
+	public String getMarket() {
+		return market;
+	}
+
+	public void setMarket(String market) {
+		this.market = market;
+	}
+
+	public String getInterval() {
+		return interval;
+	}
+
+	public void setInterval(String interval) {
+		this.interval = interval;
+	}
+
+	public long getOpen() {
+		return open;
+	}
+
+	public void setOpen(long open) {
+		this.open = open;
+	}
+
+	public long getClose() {
+		return close;
+	}
+
+	public void setClose(long close) {
+		this.close = close;
+	}
+
+	public long getMin() {
+		return min;
+	}
+
+	public void setMin(long min) {
+		this.min = min;
+	}
+
+	public long getMax() {
+		return max;
+	}
+
+	public void setMax(long max) {
+		this.max = max;
+	}
+
+	/** Use it to print out this candle's values whenever needed */
+	public String toString() {
+		return "market:"+this.market+", open:"+tickSize.toPrice(open)+", close:"+tickSize.toPrice(close)+", min:"+tickSize.toPrice(min)+", max:"+tickSize.toPrice(max);
+	}
+
+}
@@ -0,0 +1,282 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.data.model;
+
+import java.math.BigDecimal;
+
+import com.treslines.data.DecimalParser;
+
+/**
+ * Primitive representation of a {@link Candle}. Prices and volumes are parsed
+ * once while converting from the database model, so pattern checkers can read
+ * them as plain doubles instead of parsing strings on every comparison.
+ * Its {@link CandleFeatures} are computed once and kept until a price changes.
+ * Not thread safe.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public class NumericCandle {
+
+	/** database id of the candle this one was created from */
+	private int id;
+
+	/** date in which those values has been recorded */
+	private String date;
+
+	/** time in which those values has been recorded */
+	private String time;
+
+	/** time interval constant which this candle used to recorded */
+	private String interval;
+
+	/** the name of the market BTC-ETH */
+	private String market;
+
+	/** the price which it opened */
+	private double open;
+
+	/** the price which it closed */
+	private double close;
+
+	/** min price */
+	private double min;
+
+	/** max price */
+	private double max;
+
+	/** traded volume in this date */
+	private double volume;
+
+	/** traded base volume in this date */
+	private double baseVolume;
+
+	/** cached geometry of this candle, see features() */
+	private final CandleFeatures features = new CandleFeatures();
+
+	/** false whenever a price changed since the features were computed */
+	private boolean featuresValid;
+
+	public NumericCandle() {
+		// empty candle, fill it over the setters
+	}
+
+	public NumericCandle(double open, double close, double min, double max) {
+		this.open = open;
+		this.close = close;
+		this.min = min;
+		this.max = max;
+	}
+
+	/**
+	 * Converts the database model into its primitive representation.
+	 * @param candle a non empty candle (see {@link Candle#isEmpty()})
+	 * @return a new numeric candle holding the parsed values
+	 * @throws NumberFormatException if one of the prices or volumes is not a number
+	 */
+	public static NumericCandle of(Candle candle) {
+		return new NumericCandle().set(candle);
+	}
+
+	/**
+	 * Overwrites this candle with the parsed values of the given database model.
+	 * Use it to reuse the same instance for every incoming candle.
+	 * @param candle a non empty candle (see {@link Candle#isEmpty()})
+	 * @return this candle
+	 * @throws NumberFormatException if one of the prices or volumes is not a number
+	 */
+	public NumericCandle set(Candle candle) {
+		this.id = candle.getId();
+		this.date = candle.getDate();
+		this.time = candle.getTime();
+		this.interval = candle.getInterval();
+		this.market = candle.getMarket();
+		this.open = DecimalParser.parseDouble(candle.getOpen());
+		this.close = DecimalParser.parseDouble(candle.getClose());
+		this.min = DecimalParser.parseDouble(candle.getMin());
+		this.max = DecimalParser.parseDouble(candle.getMax());
+		this.volume = DecimalParser.parseDouble(candle.getVolume());
+		this.baseVolume = DecimalParser.parseDouble(candle.getBaseVolume());
+		this.featuresValid = false;
+		return this;
+	}
+
+	/**
+	 * Overwrites this candle with the values of another numeric candle.
+	 * @param candle the candle to copy from
+	 * @return this candle
+	 */
+	public NumericCandle set(NumericCandle candle) {
+		this.id = candle.id;
+		this.date = candle.date;
+		this.time = candle.time;
+		this.interval = candle.interval;
+		this.market = candle.market;
+		this.open = candle.open;
+		this.close = candle.close;
+		this.min = candle.min;
+		this.max = candle.max;
+		this.volume = candle.volume;
+		this.baseVolume = candle.baseVolume;
+		this.featuresValid = candle.featuresValid;
+		if(candle.featuresValid) {
+			this.features.copy(candle.features);
+		}
+		return this;
+	}
+
+	/**
+	 * Converts this candle back into the database model.
+	 * @return a new candle whose prices are formatted as plain decimal strings
+	 */
+	public Candle toCandle() {
+		Candle candle = new Candle();
+		candle.setId(id);
+		candle.setDate(date);
+		candle.setTime(time);
+		candle.setInterval(interval);
+		candle.setMarket(market);
+		candle.setOpen(format(open));
+		candle.setClose(format(close));
+		candle.setMin(format(min));
+		candle.setMax(format(max));
+		candle.setVolume(format(volume));
+		candle.setBaseVolume(format(baseVolume));
+		return candle;
+	}
+
+	/**
+	 * Use it to read the geometry of this candle. It is computed on the first call
+	 * and cached until one of the prices changes.
+	 * @return the features of this candle
+	 */
+	public CandleFeatures features() {
+		if(!featuresValid) {
+			features.compute(open, close, min, max);
+			featuresValid = true;
+		}
+		return features;
+	}
+
+	private static String format(double value) {
+		return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public void setId(int id) {
+		this.id = id;
+	}
+
+	public String getDate() {
+		return date;
+	}
+
+	public void setDate(String date) {
+		this.date = date;
+	}
+
+	public String getTime() {
+		return time;
+	}
+
+	public void setTime(String time) {
+		this.time = time;
+	}
+
+	public String getInterval() {
+		return interval;
+	}
+
+	public void setInterval(String interval) {
+		this.interval = interval;
+	}
+
+	public String getMarket() {
+		return market;
+	}
+
+	public void setMarket(String market) {
+		this.market = market;
+	}
+
+	public double getOpen() {
+		return open;
+	}
+
+	public void setOpen(double open) {
+		this.open = open;
+		this.featuresValid = false;
+	}
+
+	public double getClose() {
+		return close;
+	}
+
+	public void setClose(double close) {
+		this.close = close;
+		this.featuresValid = false;
+	}
+
+	public double getMin() {
+		return min;
+	}
+
+	public void setMin(double min) {
+		this.min = min;
+		this.featuresValid = false;
+	}
+
+	public double getMax() {
+		return max;
+	}
+
+	public void setMax(double max) {
+		this.max = max;
+		this.featuresValid = false;
+	}
+
+	public double getVolume() {
+		return volume;
+	}
+
+	public void setVolume(double volume) {
+		this.volume = volume;
+	}
+
+	public double getBaseVolume() {
+		return baseVolume;
+	}
+
+	public void setBaseVolume(double baseVolume) {
+		this.baseVolume = baseVolume;
+	}
+
+	/** Use it to print out this candle's values whenever needed */
+	public String toString() {
+		return "date:"+this.date + ", market:"+this.market+", open:"+this.open+", close:"+this.close+", min:"+this.min+", max:"+this.max;
+	}
+
+}
@@ -0,0 +1,207 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.data.model;
+
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+import com.treslines.data.DecimalPersister;
+
+// CREATE TABLE `numeric_candles` (
+//	  `id` INTEGER AUTO_INCREMENT,
+//	  `market` VARCHAR(10) NOT NULL,
+//	  `interval` VARCHAR(30) NOT NULL,
+//	  `timestamp` BIGINT NOT NULL,
+//	  `open` DECIMAL(38,12) NOT NULL,
+//	  `close` DECIMAL(38,12) NOT NULL,
+//	  `min` DECIMAL(38,12) NOT NULL,
+//	  `max` DECIMAL(38,12) NOT NULL,
+//	  `volume` DECIMAL(38,12) NOT NULL,
+//	  `baseVolume` DECIMAL(38,12) NOT NULL,
+//	  PRIMARY KEY (`id`),
+//	  UNIQUE INDEX `numeric_candles_key_idx` (`market`, `interval`, `timestamp`)
+// );
+
+/**
+ * Numeric variant of the database model {@link Candle}. Date and time are kept as
+ * one epoch millis timestamp and every value as DECIMAL column mapped straight to a
+ * primitive double (see {@link DecimalPersister}), so candles read from this table
+ * need no parsing. The unique composite index over market, interval and timestamp
+ * serves range reads in time order, see {@link com.treslines.data.CandleKeysetReader}.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+
+@DatabaseTable(tableName = "numeric_candles")
+public class NumericCandleEntity extends Entity {
+
+	public static final String KEY_INDEX = "numeric_candles_key_idx";
+	private static final String DECIMAL = "DECIMAL(38,12) NOT NULL";
+
+	/** the name of the market BTC-ETH */
+	@DatabaseField(canBeNull = false, uniqueIndexName = KEY_INDEX)
+	private String market;
+
+	/** time interval constant which this candle used to recorded */
+	@DatabaseField(canBeNull = false, uniqueIndexName = KEY_INDEX)
+	private String interval;
+
+	/** time of the candle in epoch millis */
+	@DatabaseField(uniqueIndexName = KEY_INDEX)
+	private long timestamp;
+
+	/** the price which it opened */
+	@DatabaseField(persisterClass = DecimalPersister.class, columnDefinition = DECIMAL)
+	private double open;
+
+	/** the price which it closed */
+	@DatabaseField(persisterClass = DecimalPersister.class, columnDefinition = DECIMAL)
+	private double close;
+
+	/** min price */
+	@DatabaseField(persisterClass = DecimalPersister.class, columnDefinition = DECIMAL)
+	private double min;
+
+	/** max price */
+	@DatabaseField(persisterClass = DecimalPersister.class, columnDefinition = DECIMAL)
+	private double max;
+
+	/** traded volume in this date */
+	@DatabaseField(persisterClass = DecimalPersister.class, columnDefinition = DECIMAL)
+	private double volume;
+
+	/** traded base volume in this date */
+	@DatabaseField(persisterClass = DecimalPersister.class, columnDefinition = DECIMAL)
+	private double baseVolume;
+
+	public NumericCandleEntity() {
+		// ORMLite needs a no-arg constructor
+	}
+
+	public NumericCandleEntity(String market, String interval, long timestamp, NumericCandle candle) {
+		this.market = market;
+		this.interval = interval;
+		this.timestamp = timestamp;
+		this.open = candle.getOpen();
+		this.close = candle.getClose();
+		this.min = candle.getMin();
+		this.max = candle.getMax();
+		this.volume = candle.getVolume();
+		this.baseVolume = candle.getBaseVolume();
+	}
+
+	/**
+	 * Copies the values of this entity into a reusable candle.
+	 * @param candle the candle to overwrite
+	 * @return the given candle
+	 */
+	public NumericCandle load(NumericCandle candle) {
+		candle.setMarket(market);
+		candle.setInterval(interval);
+		candle.setOpen(open);
+		candle.setClose(close);
+		candle.setMin(min);
+		candle.setMax(max);
+		candle.setVolume(volume);
+		candle.setBaseVolume(baseVolume);
+		return candle;
+	}
+
+	public String getMarket() {
+		return market;
+	}
+
+	public void setMarket(String market) {
+		this.market = market;
+	}
+
+	public String getInterval() {
+		return interval;
+	}
+
+	public void setInterval(String interval) {
+		this.interval = interval;
+	}
+
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	public void setTimestamp(long timestamp) {
+		this.timestamp = timestamp;
+	}
+
+	public double getOpen() {
+		return open;
+	}
+
+	public void setOpen(double open) {
+		this.open = open;
+	}
+
+	public double getClose() {
+		return close;
+	}
+
+	public void setClose(double close) {
+		this.close = close;
+	}
+
+	public double getMin() {
+		return min;
+	}
+
+	public void setMin(double min) {
+		this.min = min;
+	}
+
+	public double getMax() {
+		return max;
+	}
+
+	public void setMax(double max) {
+		this.max = max;
+	}
+
+	public double getVolume() {
+		return volume;
+	}
+
+	public void setVolume(double volume) {
+		this.volume = volume;
+	}
+
+	public double getBaseVolume() {
+		return baseVolume;
+	}
+
+	public void setBaseVolume(double baseVolume) {
+		this.baseVolume = baseVolume;
+	}
+
+	/** Use it to print out this candle's values whenever needed */
+	public String toString() {
+		return "market:"+this.market+", interval:"+this.interval+", timestamp:"+this.timestamp+", open:"+this.open+", close:"+this.close+", min:"+this.min+", max:"+this.max;
+	}
+
+}
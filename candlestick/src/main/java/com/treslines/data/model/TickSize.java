@@ -0,0 +1,102 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.data.model;
+
+import java.math.BigDecimal;
+
+import com.treslines.data.DecimalParser;
+
+/**
+ * Smallest price step of a market, e.g. "0.01" or "0.00000001". In fixed point
+ * mode prices are stored as whole numbers of ticks, so all pattern arithmetic
+ * runs on longs and gives exactly the same result on every JVM.
+ * @author Ricardo Ferreira
+ * @since 17/10/2026
+ * @version 1.0.0
+ */
+public final class TickSize {
+
+	private final BigDecimal size;
+	private final int decimals;
+	private final long units;
+
+	/**
+	 * @param size the tick size as plain positive decimal, e.g. "0.05"
+	 * @throws NumberFormatException if the size is not a plain positive decimal number
+	 */
+	public TickSize(String size) {
+		BigDecimal tick = new BigDecimal(size).stripTrailingZeros();
+		if(tick.signum() <= 0) {
+			throw new NumberFormatException("Tick size must be positive: " + size);
+		}
+		this.decimals = Math.max(tick.scale(), 0);
+		this.size = tick.setScale(decimals);
+		// the tick expressed in units of 10^-decimals, e.g. 0.05 is 5 units of 0.01
+		this.units = this.size.unscaledValue().longValueExact();
+	}
+
+	/**
+	 * @param price a plain decimal price, e.g. "7663.25"
+	 * @return the price as exact number of ticks
+	 * @throws NumberFormatException if the price is not a multiple of this tick size
+	 */
+	public long toTicks(CharSequence price) {
+		long scaled = DecimalParser.parseScaled(price, decimals);
+		if(scaled % units != 0) {
+			throw new NumberFormatException("Price " + price + " is not a multiple of the tick size " + size.toPlainString());
+		}
+		return scaled / units;
+	}
+
+	/**
+	 * @param ticks a number of ticks
+	 * @return the price as plain decimal string
+	 */
+	public String toPrice(long ticks) {
+		return BigDecimal.valueOf(ticks).multiply(size).stripTrailingZeros().toPlainString();
+	}
+
+	/**
+	 * @param ticks a number of ticks
+	 * @return the price as double, for display or comparison with double based prices
+	 */
+	public double toDouble(long ticks) {
+		return BigDecimal.valueOf(ticks).multiply(size).doubleValue();
+	}
+
+	/** @return the tick size as plain decimal string */
+	public String toString() {
+		return size.toPlainString();
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof TickSize && ((TickSize) other).size.equals(size);
+	}
+
+	@Override
+	public int hashCode() {
+		return size.hashCode();
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.test.candlestick;
+
+import static com.treslines.candlestick.PatternCondition.bearish;
+import static com.treslines.candlestick.PatternCondition.current;
+import static com.treslines.candlestick.PatternCondition.middle;
+import static com.treslines.candlestick.PatternCondition.near;
+import static com.treslines.candlestick.PatternCondition.ratio;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.treslines.candlestick.AdaptivePatterns;
+import com.treslines.candlestick.CandleStickFactory;
+import com.treslines.candlestick.CompiledPatterns;
+import com.treslines.candlestick.PatternCondition;
+import com.treslines.candlestick.PatternCondition.Comparison;
+import com.treslines.candlestick.PatternCondition.Measure;
+import com.treslines.candlestick.PatternCondition.Position;
+import com.treslines.candlestick.PatternDefinition;
+import com.treslines.candlestick.PatternDefinitions;
+import com.treslines.data.model.CandleSeries;
+import com.treslines.data.model.NumericCandle;
+
+/**
+ * Adaptive pattern tests, reordered conditions must never change a result
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+public class AdaptivePatternsTest extends BaseCandleStickPatternTest {
+
+	@Test
+	public void testSameMasksAcrossPlans() {
+		NumericCandle[] candles = candles(CandleSeries.of(CandleSeriesScanTest.randomHistory(new Random(2201), 20000)));
+		AdaptivePatterns patterns = new AdaptivePatterns(PatternDefinitions.standard(), 1, 512, 4096);
+		assertEquals(CandleStickFactory.evaluate(candles[0]), patterns.evaluate(candles[0], null, null));
+		assertEquals(CandleStickFactory.evaluate(candles[1], candles[0]), patterns.evaluate(candles[1], candles[0], null));
+		for (int i = 2; i < candles.length; i++) {
+			int expected = CandleStickFactory.evaluate(candles[i], candles[i - 1], candles[i - 2]);
+			assertEquals("patterns at " + i, expected, patterns.evaluate(candles[i], candles[i - 1], candles[i - 2]));
+		}
+		assertEquals(4, patterns.getPlans());
+		assertTrue(patterns.getCompiles() <= patterns.getPlans());
+		assertEquals(20000L, patterns.getWindows());
+		assertEquals(16, patterns.getPlan().size());
+		assertEquals(PatternDefinitions.standard().get(10).getName(), patterns.getPlan().get(10).getName());
+		// every definition is checked exactly once
+		int checked = 0;
+		for (int index : patterns.getOrder()) {
+			checked |= 1 << index;
+		}
+		assertEquals(0xFFFF, checked);
+	}
+
+	@Test
+	public void testRejectingConditionMovesFirst() {
+		// the history rises only, the color check rejects every window
+		PatternCondition condition = PatternCondition.allOf(
+				near(current(Measure.BODY), middle(Measure.BODY), 100),
+				ratio(current(Measure.FULL_SIZE), current(Measure.BODY), Comparison.GREATER_OR_EQUAL, 1),
+				bearish(Position.CURRENT));
+		PatternDefinition falling = new PatternDefinition("falling", false, condition);
+		AdaptivePatterns patterns = new AdaptivePatterns(Arrays.asList(falling), 1, 64, 0);
+		NumericCandle[] candles = new NumericCandle[100];
+		for (int i = 0; i < candles.length; i++) {
+			candles[i] = new NumericCandle(100 + i, 101 + i, 99 + i, 102 + i);
+		}
+		for (int i = 1; i < candles.length; i++) {
+			assertEquals(0, patterns.evaluate(candles[i], candles[i - 1], null));
+		}
+		assertSame(condition, patterns.getPlan().get(0).getCondition());
+		patterns.replan();
+		assertEquals(1, patterns.getPlans());
+		assertTrue(patterns.getPlan().get(0).getCondition().toString(), patterns.getPlan().get(0).getCondition().toString().startsWith("allOf(bearish(current), "));
+		assertEquals(0, patterns.evaluate(candles[1], candles[0], null));
+		List<PatternDefinition> plan = patterns.getPlan();
+		assertEquals("falling", plan.get(0).getName());
+		// the same samples give the same plan, which is not compiled again
+		CompiledPatterns compiled = patterns.getCompiled();
+		patterns.replan();
+		assertEquals(2, patterns.getPlans());
+		assertEquals(1, patterns.getCompiles());
+		assertSame(compiled, patterns.getCompiled());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidSampling() {
+		new AdaptivePatterns(PatternDefinitions.standard(), 0, 64, 0);
+	}
+
+	private static NumericCandle[] candles(CandleSeries series) {
+		NumericCandle[] candles = new NumericCandle[series.size()];
+		for (int i = 0; i < candles.length; i++) {
+			candles[i] = series.load(i, new NumericCandle());
+		}
+		return candles;
+	}
+
+}
@@ -0,0 +1,153 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.test.candlestick;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.treslines.data.CandleCsvImporter;
+import com.treslines.data.CandleHistoryFile;
+import com.treslines.data.CandleHistoryWriter;
+import com.treslines.data.model.Candle;
+import com.treslines.data.model.CandleSeries;
+
+/**
+ * CSV bulk import tests
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+public class CandleCsvImporterTest extends BaseCandleStickPatternTest {
+
+	private Path directory;
+	private Path csv;
+	private Path binary;
+
+	@Before
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("csv");
+		csv = directory.resolve("BTC-ETH_fiveMin.csv");
+		binary = CandleHistoryFile.path(directory, "BTC-ETH", "fiveMin");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(csv);
+		Files.deleteIfExists(binary);
+		Files.deleteIfExists(directory);
+	}
+
+	@Test
+	public void testReadSingleLine() throws IOException {
+		write("date,time,interval,market,open,close,min,max,volume,baseVolume\r\n"
+				+ "2018-01-01,17:00,fiveMin,BTC-ETH,7663,7666.5,7306,7680,123456,0.5\r\n");
+		CandleSeries series = CandleCsvImporter.read(csv);
+		assertEquals(1, series.size());
+		assertEquals(1514826000000L, series.getTimestamp(0));
+		assertEquals(7663, series.getOpen(0), 0);
+		assertEquals(7666.5, series.getClose(0), 0);
+		assertEquals(7306, series.getLow(0), 0);
+		assertEquals(7680, series.getHigh(0), 0);
+		assertEquals(123456, series.getVolume(0), 0);
+		assertEquals(0.5, series.getBaseVolume(0), 0);
+	}
+	
+	@Test
+	public void testChunksMatchSequentialImport() throws IOException {
+		List<Candle> history = CandleSeriesScanTest.randomHistory(new Random(1210), 3000);
+		StringBuilder text = new StringBuilder("date,time,interval,market,open,close,min,max,volume,baseVolume\n");
+		for (int i = 0; i < history.size(); i++) {
+			Candle candle = history.get(i);
+			text.append("2018-01-").append(10 + i / 288).append(',').append(String.format("%02d:%02d", (i % 288) / 12, (i % 12) * 5)).append(",fiveMin,BTC-ETH,")
+				.append(candle.getOpen()).append(',').append(candle.getClose()).append(',').append(candle.getMin()).append(',').append(candle.getMax())
+				.append(',').append(i).append('.').append(i % 7).append(i % 2 == 0 ? ",1\n" : ",2.25\r\n");
+		}
+		write(text.toString());
+		CandleSeries expected = CandleSeries.of(history);
+		CandleSeries sequential = CandleCsvImporter.read(csv);
+		assertSame(expected, sequential);
+		// chunk sizes cutting lines, commas and line ends at every possible position
+		for (long chunkSize : new long[] {1, 7, 61, 62, 63, 64, 1000, 4096}) {
+			CandleSeries parallel = CandleCsvImporter.read(csv, 4, chunkSize);
+			assertSame(sequential, parallel);
+			for (int i = 0; i < sequential.size(); i++) {
+				assertEquals(sequential.getTimestamp(i), parallel.getTimestamp(i));
+				assertEquals(sequential.getVolume(i), parallel.getVolume(i), 0);
+				assertEquals(sequential.getBaseVolume(i), parallel.getBaseVolume(i), 0);
+			}
+		}
+		assertEquals(1515542400000L + 300000L * 2999, sequential.getTimestamp(2999));
+	}
+	
+	@Test
+	public void testWriteIntoBinaryHistory() throws IOException {
+		write("2018-01-01,17:00,fiveMin,BTC-ETH,7663,7666,7306,7680,123456,1\n"
+				+ "2018-01-01,17:05:30,fiveMin,BTC-ETH,7666,7600,7590,7670,654321,2");
+		try (CandleHistoryWriter writer = CandleHistoryWriter.open(binary)) {
+			assertEquals(2L, CandleCsvImporter.write(csv, writer, 2));
+		}
+		try (CandleHistoryFile file = CandleHistoryFile.open(binary)) {
+			assertEquals(2, file.size());
+			assertEquals(1514826330000L, file.getTimestamp(1));
+			assertEquals(7600, file.getClose(1), 0);
+			assertEquals(2, file.getBaseVolume(1), 0);
+		}
+	}
+	
+	@Test
+	public void testMalformedLine() throws IOException {
+		write("2018-01-01,17:00,fiveMin,BTC-ETH,7663,7666,7306,7680,123456,1\n"
+				+ "2018-01-01,17:05,fiveMin,BTC-ETH,7666,oops,7590,7670,654321,2\n");
+		try {
+			CandleCsvImporter.read(csv, 2, 16);
+			assertTrue("malformed line imported", false);
+		} catch (IOException e) {
+			assertTrue(e.getMessage(), e.getMessage().startsWith("Malformed candle at byte 62"));
+		}
+	}
+	
+	private void assertSame(CandleSeries expected, CandleSeries actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals("open at " + i, expected.getOpen(i), actual.getOpen(i), 0);
+			assertEquals("high at " + i, expected.getHigh(i), actual.getHigh(i), 0);
+			assertEquals("low at " + i, expected.getLow(i), actual.getLow(i), 0);
+			assertEquals("close at " + i, expected.getClose(i), actual.getClose(i), 0);
+		}
+	}
+	
+	private void write(String text) throws IOException {
+		Files.write(csv, text.getBytes(StandardCharsets.US_ASCII));
+	}
+	
+}
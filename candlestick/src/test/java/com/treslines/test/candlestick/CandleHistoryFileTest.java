@@ -0,0 +1,150 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.test.candlestick;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.treslines.candlestick.CandleStickFactory;
+import com.treslines.data.CandleHistoryFile;
+import com.treslines.data.CandleHistoryWriter;
+import com.treslines.data.model.Candle;
+import com.treslines.data.model.CandleSeries;
+import com.treslines.data.model.NumericCandle;
+
+/**
+ * Memory mapped candle history tests
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+public class CandleHistoryFileTest extends BaseCandleStickPatternTest {
+
+	private Path directory;
+	private Path path;
+
+	@Before
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("candles");
+		path = CandleHistoryFile.path(directory, "BTC-ETH", "ONE_MIN");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(path);
+		Files.deleteIfExists(directory);
+	}
+
+	@Test
+	public void testScanInPlaceMatchesSeries() throws IOException {
+		List<Candle> history = CandleSeriesScanTest.randomHistory(new Random(1110), 5000);
+		CandleSeries series = CandleSeries.of(history);
+		try (CandleHistoryWriter writer = CandleHistoryWriter.open(path)) {
+			for (int i = 0; i < history.size(); i++) {
+				writer.append(60000L * i, history.get(i));
+			}
+		}
+		try (CandleHistoryFile file = CandleHistoryFile.open(path)) {
+			assertEquals(history.size(), file.size());
+			assertEquals(60000L * 4999, file.getTimestamp(4999));
+			assertEquals(series.getClose(10), file.getClose(10), 0);
+			int[] expected = CandleStickFactory.scan(series);
+			int[] hits = CandleStickFactory.scan(file);
+			for (int i = 0; i < expected.length; i++) {
+				assertEquals("patterns at " + i, expected[i], hits[i]);
+			}
+		}
+	}
+	
+	@Test
+	public void testAppendToExistingFile() throws IOException {
+		try (CandleHistoryWriter writer = CandleHistoryWriter.open(path)) {
+			writer.append(1L, 10, 12, 9, 11, 100, 1000);
+		}
+		try (CandleHistoryWriter writer = CandleHistoryWriter.open(path)) {
+			assertEquals(1L, writer.size());
+			writer.append(2L, new NumericCandle(11, 13, 10, 14));
+			assertEquals(2L, writer.size());
+		}
+		try (CandleHistoryFile file = CandleHistoryFile.open(path)) {
+			assertEquals(2, file.size());
+			NumericCandle candle = file.load(0, new NumericCandle());
+			assertEquals(10, candle.getOpen(), 0);
+			assertEquals(12, candle.getMax(), 0);
+			assertEquals(9, candle.getMin(), 0);
+			assertEquals(11, candle.getClose(), 0);
+			assertEquals(100, candle.getVolume(), 0);
+			assertEquals(1000, candle.getBaseVolume(), 0);
+			assertEquals(2L, file.getTimestamp(1));
+			assertEquals(13, file.getClose(1), 0);
+		}
+	}
+	
+	@Test
+	public void testReadersOnlySeeFlushedCandles() throws IOException {
+		try (CandleHistoryWriter writer = CandleHistoryWriter.open(path)) {
+			writer.append(1L, 10, 12, 9, 11, 100, 1000);
+			writer.flush();
+			writer.append(2L, 11, 13, 10, 12, 100, 1000);
+			try (CandleHistoryFile file = CandleHistoryFile.open(path)) {
+				assertEquals(1, file.size());
+			}
+		}
+	}
+	
+	@Test
+	public void testRejectsForeignFiles() throws IOException {
+		Files.write(path, "date,open,close\n".getBytes("UTF-8"));
+		try {
+			CandleHistoryFile.open(path).close();
+			fail("foreign file opened");
+		} catch (IOException e) {
+			assertTrue(e.getMessage().startsWith("Not a candle history file"));
+		}
+	}
+	
+	@Test
+	public void testPathStaysInDirectory() {
+		Path directory = path.getParent();
+		assertEquals(directory.resolve("BTC-ETH_ONE_MIN.candles"), CandleHistoryFile.path(directory, "BTC-ETH", "ONE_MIN"));
+		for (String market : new String[] {"BTC/ETH", "..", "../BTC-ETH", "BTC\\ETH", "C:BTC", ""}) {
+			try {
+				CandleHistoryFile.path(directory, market, "ONE_MIN");
+				fail("market " + market + " accepted");
+			} catch (IllegalArgumentException e) {
+				// rejected
+			}
+		}
+	}
+	
+}
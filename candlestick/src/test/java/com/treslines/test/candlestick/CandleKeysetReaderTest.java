@@ -0,0 +1,174 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.test.candlestick;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.GenericRawResults;
+import com.j256.ormlite.jdbc.JdbcConnectionSource;
+import com.treslines.candlestick.CandleStickFactory;
+import com.treslines.candlestick.StreamingCandleStickDetector;
+import com.treslines.data.CandleKeysetReader;
+import com.treslines.data.CandleKeysetReader.CandleCursor;
+import com.treslines.data.CandleRepository;
+import com.treslines.data.model.Candle;
+import com.treslines.data.model.CandleSeries;
+import com.treslines.data.model.NumericCandle;
+import com.treslines.data.model.NumericCandleEntity;
+
+/**
+ * Numeric schema and keyset reader tests, run against an in-memory H2 database
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+public class CandleKeysetReaderTest extends BaseCandleStickPatternTest {
+
+	private static int databases;
+
+	private JdbcConnectionSource source;
+	private CandleKeysetReader reader;
+
+	@Before
+	public void setUp() throws SQLException {
+		source = new JdbcConnectionSource("jdbc:h2:mem:numeric" + (databases++));
+		reader = new CandleKeysetReader(source, 100);
+		reader.createTable();
+	}
+
+	@After
+	public void tearDown() throws SQLException {
+		source.close();
+	}
+
+	@Test
+	public void testReplayPageByPage() throws Exception {
+		List<Candle> history = CandleSeriesScanTest.randomHistory(new Random(1410), 1050);
+		final CandleSeries series = CandleSeries.of(history);
+		store("BTC-ETH", series);
+		store("BTC-LTC", CandleSeries.of(CandleSeriesScanTest.randomHistory(new Random(1411), 50)));
+		int[] expected = CandleStickFactory.scan(series);
+
+		StreamingCandleStickDetector detector = new StreamingCandleStickDetector();
+		NumericCandle candle = new NumericCandle();
+		int index = 0;
+		try (CandleCursor cursor = reader.replay("BTC-ETH", "fiveMin", Long.MIN_VALUE)) {
+			while (cursor.next()) {
+				assertEquals(60000L * index, cursor.getTimestamp());
+				cursor.load(candle);
+				assertEquals(series.getClose(index), candle.getClose(), 0);
+				assertEquals("patterns at " + index, expected[index], detector.onCandle(candle));
+				index++;
+			}
+			assertFalse(cursor.next());
+		}
+		assertEquals(series.size(), index);
+	}
+	
+	@Test
+	public void testReplayAfterTimestamp() throws Exception {
+		store("BTC-ETH", CandleSeries.of(CandleSeriesScanTest.randomHistory(new Random(1412), 300)));
+		int count = 0;
+		try (CandleCursor cursor = reader.replay("BTC-ETH", "fiveMin", 60000L * 199)) {
+			while (cursor.next()) {
+				assertEquals(60000L * (200 + count), cursor.getTimestamp());
+				count++;
+			}
+		}
+		assertEquals(100, count);
+	}
+	
+	@Test
+	public void testFindLastAndExactDecimals() throws Exception {
+		CandleSeries series = new CandleSeries();
+		for (int i = 0; i < 20; i++) {
+			series.add(60000L * i, i + 0.5, 0.3, 0.1, 0.2, 123456.123456789, 0.000000012345);
+		}
+		store("BTC-ETH", series);
+		CandleSeries last = reader.findLast("BTC-ETH", "fiveMin", 5);
+		assertEquals(5, last.size());
+		assertEquals(60000L * 15, last.getTimestamp(0));
+		assertEquals(60000L * 19, last.getTimestamp(4));
+		assertEquals(19.5, last.getOpen(4), 0);
+		assertEquals(0.3, last.getHigh(4), 0);
+		assertEquals(0.2, last.getClose(4), 0);
+		assertEquals(123456.123456789, last.getVolume(4), 0);
+		assertEquals(0.000000012345, last.getBaseVolume(4), 0);
+	}
+	
+	@Test
+	public void testCompositeIndexes() throws SQLException, IOException {
+		new CandleRepository(source).createTable();
+		assertEquals("MARKET,INTERVAL,DATE,TIME", indexColumns(Candle.KEY_INDEX));
+		assertEquals("MARKET,INTERVAL,TIMESTAMP", indexColumns(NumericCandleEntity.KEY_INDEX));
+		NumericCandleEntity duplicate = new NumericCandleEntity("BTC-ETH", "fiveMin", 0, new NumericCandle(1, 2, 1, 2));
+		reader.getDao().create(duplicate);
+		try {
+			reader.getDao().create(new NumericCandleEntity("BTC-ETH", "fiveMin", 0, new NumericCandle(1, 2, 1, 2)));
+			assertTrue("duplicate candle stored", false);
+		} catch (SQLException e) {
+			// expected, one candle per market, interval and time
+		}
+	}
+	
+	private String indexColumns(String index) throws SQLException, IOException {
+		GenericRawResults<String[]> rows = reader.getDao().queryRaw("SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = '"
+				+ index.toUpperCase() + "' ORDER BY ORDINAL_POSITION");
+		StringBuilder columns = new StringBuilder();
+		try {
+			for (String[] row : rows) {
+				columns.append(columns.length() == 0 ? "" : ",").append(row[0].toUpperCase());
+			}
+		} finally {
+			rows.close();
+		}
+		return columns.toString();
+	}
+	
+	private void store(final String market, final CandleSeries series) throws Exception {
+		final Dao<NumericCandleEntity, Integer> dao = reader.getDao();
+		dao.callBatchTasks(new Callable<Void>() {
+			public Void call() throws Exception {
+				NumericCandle candle = new NumericCandle();
+				for (int i = 0; i < series.size(); i++) {
+					long timestamp = series.getTimestamp(i) == 0 ? 60000L * i : series.getTimestamp(i);
+					dao.create(new NumericCandleEntity(market, "fiveMin", timestamp, series.load(i, candle)));
+				}
+				return null;
+			}
+		});
+	}
+	
+}
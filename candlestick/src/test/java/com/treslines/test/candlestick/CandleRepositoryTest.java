@@ -0,0 +1,144 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.test.candlestick;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.j256.ormlite.jdbc.JdbcConnectionSource;
+import com.treslines.data.CandleRepository;
+import com.treslines.data.model.Candle;
+
+/**
+ * Batched candle repository tests, run against an in-memory H2 database
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+public class CandleRepositoryTest extends BaseCandleStickPatternTest {
+
+	private static int databases;
+
+	private JdbcConnectionSource source;
+	private CandleRepository repository;
+
+	@Before
+	public void setUp() throws SQLException {
+		source = new JdbcConnectionSource("jdbc:h2:mem:candles" + (databases++));
+		repository = new CandleRepository(source, 100);
+		repository.createTable();
+	}
+
+	@After
+	public void tearDown() throws SQLException {
+		source.close();
+	}
+
+	@Test
+	public void testInsertInBatches() throws SQLException {
+		List<Candle> history = minutes(0, 250, "7666");
+		assertEquals(250, repository.insert(history));
+		assertEquals(250L, repository.getDao().countOf());
+		assertEquals(3L, repository.getBatches());
+		assertEquals(250L, repository.getRows());
+		assertEquals(50, repository.getLastBatchSize());
+		assertTrue(repository.getMaxCommitNanos() >= repository.getLastCommitNanos());
+		assertTrue(repository.getAverageCommitNanos() > 0);
+		Candle stored = repository.getDao().queryForId(history.get(249).getId());
+		assertEquals(history.get(249).getTime(), stored.getTime());
+		assertEquals("7666", stored.getClose());
+		assertEquals("fiveMin", stored.getInterval());
+	}
+	
+	@Test
+	public void testUpsertByMarketIntervalDateAndTime() throws SQLException {
+		repository.insert(minutes(0, 150, "7666"));
+		// 100 existing candles with a new close, 50 new ones and a duplicate of the last one
+		List<Candle> corrected = minutes(50, 150, "7777");
+		Candle duplicate = createCandle("7888", "7663", "7680", "7306");
+		duplicate.setTime(corrected.get(149).getTime());
+		corrected.add(duplicate);
+		// the duplicate is written once
+		assertEquals(150, repository.upsert(corrected));
+		assertEquals(200L, repository.getDao().countOf());
+		assertEquals(50, repository.getDao().queryForEq("close", "7666").size());
+		assertEquals(149, repository.getDao().queryForEq("close", "7777").size());
+		assertEquals(1, repository.getDao().queryForEq("close", "7888").size());
+		assertTrue(corrected.get(0).getId() > 0);
+	}
+	
+	@Test
+	public void testUpsertInsertsCandlesWithoutKey() throws SQLException {
+		List<Candle> candles = minutes(0, 2, "7666");
+		candles.get(0).setTime(null);
+		repository.upsert(candles);
+		repository.upsert(candles);
+		assertEquals(3L, repository.getDao().countOf());
+	}
+	
+	@Test
+	public void testKeyIsUnique() throws SQLException {
+		repository.insert(minutes(0, 1, "7666"));
+		try {
+			repository.insert(minutes(0, 1, "7777"));
+			fail("duplicate candle inserted");
+		} catch (SQLException e) {
+			// the unique key index rejects it
+		}
+		assertEquals(1L, repository.getDao().countOf());
+	}
+	
+	@Test
+	public void testFailedBatchIsRolledBack() throws SQLException {
+		repository.insert(minutes(150, 1, "7666"));
+		// the second batch holds the stored candle in its middle
+		List<Candle> history = minutes(0, 200, "7777");
+		try {
+			repository.insert(history);
+			fail("duplicate candle inserted");
+		} catch (SQLException e) {
+			// the unique key index rejects the whole batch
+		}
+		assertEquals(101L, repository.getDao().countOf());
+		assertEquals(1, repository.getDao().queryForEq("close", "7666").size());
+	}
+	
+	private List<Candle> minutes(int from, int count, String close) {
+		List<Candle> candles = new ArrayList<Candle>();
+		for (int i = from; i < from + count; i++) {
+			Candle candle = createCandle(close, "7663", "7680", "7306");
+			candle.setTime(String.format("%02d:%02d", i / 60, i % 60));
+			candles.add(candle);
+		}
+		return candles;
+	}
+	
+}
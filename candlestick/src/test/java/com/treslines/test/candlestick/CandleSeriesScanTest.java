@@ -0,0 +1,123 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.test.candlestick;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import com.treslines.candlestick.CandlePattern;
+import com.treslines.candlestick.CandleStickFactory;
+import com.treslines.data.model.Candle;
+import com.treslines.data.model.CandleSeries;
+
+/**
+ * Whole history scan tests
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+public class CandleSeriesScanTest extends BaseCandleStickPatternTest {
+
+	@Test
+	public void testScanFindsThreeBlackCrows() {
+		CandleSeries series = new CandleSeries();
+		// oldest first
+		series.add(createCandle("750", "850", "855", "745"));
+		series.add(createCandle("650", "750", "755", "645"));
+		series.add(createCandle("500", "600", "610", "490"));
+		int[] hits = CandleStickFactory.scan(series);
+		assertEquals(3, hits.length);
+		assertTrue(CandlePattern.BEARISH_THREE_BLACK_CROWS.in(hits[2]));
+		assertTrue(CandlePattern.isBearish(hits[2]));
+		assertFalse(CandlePattern.isBullish(hits[2]));
+	}
+	
+	@Test
+	public void testScanMatchesFactoryOnEveryWindow() {
+		List<Candle> history = randomHistory(new Random(7307), 2000);
+		int[] hits = CandleStickFactory.scan(CandleSeries.of(history));
+		int found = 0;
+		for (int i = 0; i < history.size(); i++) {
+			// the factory expects the most recent candle first
+			List<Candle> window = new ArrayList<Candle>();
+			for (int j = i; j >= 0 && j > i - 3; j--) {
+				window.add(history.get(j));
+			}
+			boolean bullish = CandleStickFactory.single(window).isBullish() || CandleStickFactory.doubl(window).isBullish() || CandleStickFactory.triple(window).isBullish();
+			boolean bearish = CandleStickFactory.single(window).isBearish() || CandleStickFactory.doubl(window).isBearish() || CandleStickFactory.triple(window).isBearish();
+			assertEquals("bullish at " + i, bullish, CandlePattern.isBullish(hits[i]));
+			assertEquals("bearish at " + i, bearish, CandlePattern.isBearish(hits[i]));
+			if(hits[i] != 0) {
+				found++;
+			}
+		}
+		assertTrue(found > 0);
+	}
+	
+	@Test
+	public void testParallelScanMatchesSequentialScan() {
+		CandleSeries series = CandleSeries.of(randomHistory(new Random(1510), 50000));
+		int[] expected = CandleStickFactory.scan(series);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			// tiny chunks put boundaries right before and inside every triple window
+			for (int chunkSize : new int[] {1, 2, 3, 1000, CandleStickFactory.PARALLEL_CHUNK_SIZE}) {
+				int[] hits = CandleStickFactory.parallelScan(series, pool, chunkSize);
+				assertEquals(expected.length, hits.length);
+				for (int i = 0; i < expected.length; i++) {
+					assertEquals("patterns at " + i + " with chunks of " + chunkSize, expected[i], hits[i]);
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+		int[] common = CandleStickFactory.parallelScan(series);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], common[i]);
+		}
+	}
+	
+	/** Random walk of small integer prices with gaps, so that patterns show up often */
+	static List<Candle> randomHistory(Random random, int size) {
+		List<Candle> history = new ArrayList<Candle>();
+		int price = 500;
+		BaseCandleStickPatternTest base = new BaseCandleStickPatternTest();
+		for (int i = 0; i < size; i++) {
+			int open = Math.max(1, price + random.nextInt(31) - 15);
+			int close = Math.max(1, open + random.nextInt(41) - 20);
+			int high = Math.max(open, close) + random.nextInt(11);
+			int low = Math.max(0, Math.min(open, close) - random.nextInt(11));
+			history.add(base.createCandle(String.valueOf(close), String.valueOf(open), String.valueOf(high), String.valueOf(low)));
+			price = close;
+		}
+		return history;
+	}
+	
+}
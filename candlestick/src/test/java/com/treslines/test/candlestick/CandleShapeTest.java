@@ -0,0 +1,93 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+
+package com.treslines.test.candlestick;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.treslines.data.model.CandleFeatures;
+import com.treslines.data.model.CandleShape;
+import com.treslines.data.model.NumericCandle;
+
+/**
+ * Shape code tests
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+public class CandleShapeTest extends BaseCandleStickPatternTest {
+
+	@Test
+	public void testRatiosExactlyAtTheLimits() {
+		// body 10, both shadows 20
+		int shape = new NumericCandle(100, 110, 80, 130).features().getShape();
+		assertEquals(CandleShape.BULLISH, CandleShape.color(shape));
+		assertEquals(CandleShape.AT_2, CandleShape.upper(shape));
+		assertEquals(CandleShape.AT_2, CandleShape.lower(shape));
+		assertFalse(CandleShape.is(shape, CandleShape.LITTLE_BODY));
+		// body 10, upper shadow 1, lower shadow 50
+		shape = new NumericCandle(110, 100, 50, 111).features().getShape();
+		assertEquals(CandleShape.BEARISH, CandleShape.color(shape));
+		assertEquals(CandleShape.BELOW_2, CandleShape.upper(shape));
+		assertEquals(CandleShape.FROM_5, CandleShape.lower(shape));
+		assertFalse(CandleShape.is(shape, CandleShape.LONG));
+	}
+	
+	@Test
+	public void testLongBody() {
+		// body 10, both shadows 2
+		int shape = new NumericCandle(100, 110, 98, 112).features().getShape();
+		assertTrue(CandleShape.is(shape, CandleShape.LONG));
+		assertEquals(CandleShape.BELOW_2, CandleShape.upper(shape));
+		shape = new NumericCandle(100, 110, 97.5, 112).features().getShape();
+		assertFalse(CandleShape.is(shape, CandleShape.LONG));
+	}
+	
+	@Test
+	public void testNoBody() {
+		int shape = new NumericCandle(100, 100, 90, 110).features().getShape();
+		assertEquals(CandleShape.NEITHER, CandleShape.color(shape));
+		assertEquals(CandleShape.FROM_5, CandleShape.upper(shape));
+		assertEquals(CandleShape.FROM_5, CandleShape.lower(shape));
+		assertTrue(CandleShape.is(shape, CandleShape.LITTLE_BODY));
+		// no body and no shadows: every ratio is NaN
+		shape = new NumericCandle(100, 100, 100, 100).features().getShape();
+		assertEquals(CandleShape.NEITHER, shape);
+		assertEquals(CandleShape.NO_RATIO, CandleShape.upper(shape));
+	}
+	
+	@Test
+	public void testShapeFollowsReusedCandle() {
+		NumericCandle candle = new NumericCandle(100, 110, 98, 112);
+		assertTrue(CandleShape.is(candle.features().getShape(), CandleShape.LONG));
+		candle.set(new NumericCandle(110, 100, 80, 130));
+		CandleFeatures features = candle.features();
+		assertEquals(CandleShape.BEARISH, features.getColor());
+		assertEquals(CandleShape.of(features.getColor(), features.getBody(), features.getUpperShadow(), features.getLowerShadow(), features.getFullSize()), features.getShape());
+		assertFalse(CandleShape.is(features.getShape(), CandleShape.LONG));
+	}
+	
+}
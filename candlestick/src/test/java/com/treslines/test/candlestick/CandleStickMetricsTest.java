@@ -0,0 +1,136 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.test.candlestick;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.treslines.candlestick.CandlePattern;
+import com.treslines.candlestick.CandleStickFactory;
+import com.treslines.candlestick.CandleStickMetrics;
+import com.treslines.data.model.Candle;
+
+/**
+ * Factory metrics tests
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+public class CandleStickMetricsTest extends BaseCandleStickPatternTest {
+
+	private final CandleStickMetrics metrics = CandleStickMetrics.getInstance();
+
+	@Before
+	public void setUp() {
+		metrics.setEnabled(true);
+		metrics.reset();
+	}
+
+	@After
+	public void tearDown() {
+		CandleStickMetrics.unregister();
+		metrics.reset();
+	}
+
+	@Test
+	public void testPatternCounters() {
+		// most recent first
+		List<Candle> soldiers = Arrays.asList(createCandle("850", "750", "855", "745"), createCandle("750", "650", "755", "645"), createCandle("600", "500", "610", "490"));
+		assertTrue(CandleStickFactory.triple(soldiers).isBullish());
+		// the morning star is checked first and misses, the kicker is never reached
+		assertEquals(1L, metrics.getEvaluations(CandlePattern.BULLISH_MORNING_STAR));
+		assertEquals(0L, metrics.getHits(CandlePattern.BULLISH_MORNING_STAR));
+		assertEquals(1L, metrics.getEvaluations(CandlePattern.BULLISH_WHITE_SOLDIERS));
+		assertEquals(1L, metrics.getHits(CandlePattern.BULLISH_WHITE_SOLDIERS));
+		assertEquals(0L, metrics.getEvaluations(CandlePattern.BULLISH_KICKER));
+		assertFalse(CandleStickFactory.triple(soldiers).isBearish());
+		assertEquals(1L, metrics.getEvaluations(CandlePattern.BEARISH_KICKER));
+		assertEquals(2L, metrics.getChecks()[2]);
+		// latencies are sampled
+		assertTrue(sum(metrics.getTripleLatency()) <= 2);
+		assertEquals(0L, sum(metrics.getSingleLatency()));
+	}
+
+	@Test
+	public void testInvalidWindows() {
+		List<Candle> one = Arrays.asList(createCandle("850", "750", "855", "745"));
+		assertFalse(CandleStickFactory.doubl(one).isBullish());
+		assertFalse(CandleStickFactory.triple(one).isBearish());
+		assertFalse(CandleStickFactory.single(Arrays.asList(new Candle())).isBullish());
+		assertEquals(Arrays.toString(new long[] {1, 1, 1}), Arrays.toString(metrics.getInvalidWindows()));
+		assertEquals(1L, metrics.getRejections(CandlePattern.BULLISH_ENGOLFER));
+		assertEquals(1L, metrics.getRejections(CandlePattern.BEARISH_EVENING_STAR));
+		assertEquals(1L, metrics.getRejections(CandlePattern.BULLISH_DOJI));
+		assertEquals(0L, metrics.getEvaluations(CandlePattern.BULLISH_ENGOLFER));
+	}
+
+	@Test
+	public void testDisabled() {
+		metrics.setEnabled(false);
+		List<Candle> one = Arrays.asList(createCandle("850", "750", "855", "745"));
+		CandleStickFactory.single(one).isBullish();
+		CandleStickFactory.doubl(one).isBullish();
+		metrics.setEnabled(true);
+		assertEquals(0L, sum(metrics.getEvaluations()) + sum(metrics.getRejections()) + sum(metrics.getInvalidWindows()) + sum(metrics.getChecks()));
+	}
+
+	@Test
+	public void testJmx() throws Exception {
+		CandleStickMetrics.register();
+		// registering twice does no harm
+		CandleStickMetrics.register();
+		CandleStickFactory.single(Arrays.asList(createCandle("850", "750", "855", "745"))).isBullish();
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName(CandleStickMetrics.OBJECT_NAME);
+		long[] evaluations = (long[]) server.getAttribute(name, "Evaluations");
+		String[] patterns = (String[]) server.getAttribute(name, "Patterns");
+		assertEquals(CandlePattern.values().length, patterns.length);
+		assertEquals("BULLISH_DOJI", patterns[0]);
+		assertEquals(1L, evaluations[CandlePattern.BULLISH_DOJI.ordinal()]);
+		assertEquals(1L, ((long[]) server.getAttribute(name, "Checks"))[0]);
+		server.invoke(name, "reset", null, null);
+		assertEquals(0L, metrics.getEvaluations(CandlePattern.BULLISH_DOJI));
+		CandleStickMetrics.unregister();
+		assertFalse(server.isRegistered(name));
+	}
+
+	private static long sum(long[] values) {
+		long sum = 0;
+		for (long value : values) {
+			sum += value;
+		}
+		return sum;
+	}
+
+}
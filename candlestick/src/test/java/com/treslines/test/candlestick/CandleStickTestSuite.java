@@ -34,7 +34,28 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
 	SingleCandleStickPatternTest.class,
 	DoubleCandleStickPatternTest.class,
-	TripleCandleStickPatternTest.class
+	TripleCandleStickPatternTest.class,
+	NumericCandleTest.class,
+	CandleSeriesScanTest.class,
+	StreamingCandleStickDetectorTest.class,
+	ShardedDetectionEngineTest.class,
+	PatternEvaluatorTest.class,
+	DecimalParserTest.class,
+	FixedPointCandleTest.class,
+	CandleHistoryFileTest.class,
+	CandleCsvImporterTest.class,
+	CandleRepositoryTest.class,
+	CandleKeysetReaderTest.class,
+	PatternKernelTest.class,
+	MultiTimeframeAggregatorTest.class,
+	TickCandleBuilderTest.class,
+	CompiledPatternsTest.class,
+	PatternCacheTest.class,
+	CandleStickMetricsTest.class,
+	AdaptivePatternsTest.class,
+	CandleShapeTest.class,
+	DetectionPipelineTest.class,
+	PatternSignalPublisherTest.class
 })
 public class CandleStickTestSuite {
 	// test  suite
@@ -0,0 +1,139 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.test.candlestick;
+
+import static com.treslines.candlestick.PatternCondition.bullish;
+import static com.treslines.candlestick.PatternCondition.compare;
+import static com.treslines.candlestick.PatternCondition.current;
+import static com.treslines.candlestick.PatternCondition.middle;
+import static com.treslines.candlestick.PatternCondition.ratio;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.treslines.candlestick.CandlePattern;
+import com.treslines.candlestick.CandleStickFactory;
+import com.treslines.candlestick.CompiledPatterns;
+import com.treslines.candlestick.PatternCondition;
+import com.treslines.candlestick.PatternCondition.Comparison;
+import com.treslines.candlestick.PatternCondition.Measure;
+import com.treslines.candlestick.PatternCondition.Position;
+import com.treslines.candlestick.PatternDefinition;
+import com.treslines.candlestick.PatternDefinitions;
+import com.treslines.candlestick.PatternThresholds;
+import com.treslines.data.model.Candle;
+import com.treslines.data.model.CandleSeries;
+import com.treslines.data.model.NumericCandle;
+
+/**
+ * Declarative pattern tests, the compiled standard definitions must match the built-in patterns
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+public class CompiledPatternsTest extends BaseCandleStickPatternTest {
+
+	private static final MethodHandle STANDARD = CompiledPatterns.compile(PatternDefinitions.standard()).handle();
+
+	@Test
+	public void testStandardMatchesBuiltIn() throws Throwable {
+		List<Candle> history = CandleSeriesScanTest.randomHistory(new Random(1901), 20000);
+		// flat candles, candles without shadows and three black crows, see PatternKernelTest
+		history.add(createCandle("500", "500", "510", "490"));
+		history.add(createCandle("500", "500", "500", "500"));
+		history.add(createCandle("505.5", "500.25", "505.5", "500.25"));
+		history.add(createCandle("750", "850", "855", "745"));
+		history.add(createCandle("650", "750", "755", "645"));
+		history.add(createCandle("500", "600", "610", "490"));
+		CandleSeries series = CandleSeries.of(history);
+		int[] expected = CandleStickFactory.scan(series);
+		int found = 0;
+		for (int i = 0; i < series.size(); i++) {
+			NumericCandle current = series.load(i, new NumericCandle());
+			NumericCandle middle = i > 0 ? series.load(i - 1, new NumericCandle()) : null;
+			NumericCandle last = i > 1 ? series.load(i - 2, new NumericCandle()) : null;
+			int patterns = (int) STANDARD.invokeExact(current, middle, last);
+			assertEquals("patterns at " + i, expected[i], patterns);
+			found |= patterns;
+		}
+		assertEquals((1 << CandlePattern.values().length) - 1, found);
+	}
+	
+	@Test
+	public void testStandardMasks() {
+		CompiledPatterns patterns = CompiledPatterns.compile(PatternDefinitions.standard());
+		assertEquals(CandlePattern.BULLISH_MASK, patterns.getBullishMask());
+		assertEquals(CandlePattern.BEARISH_MASK, patterns.getBearishMask());
+		assertEquals(Arrays.asList("BULLISH_HAMMER", "BEARISH_KICKER"),
+				patterns.names(CandlePattern.BULLISH_HAMMER.mask() | CandlePattern.BEARISH_KICKER.mask()));
+	}
+	
+	@Test
+	public void testThresholds() {
+		// lower shadow 2.5 times the body
+		NumericCandle hammer = new NumericCandle(100, 102, 95, 102.5);
+		assertTrue(CandlePattern.BULLISH_HAMMER.in(CandleStickFactory.evaluate(hammer)));
+		CompiledPatterns standard = CompiledPatterns.compile(PatternDefinitions.standard());
+		assertTrue(CandlePattern.BULLISH_HAMMER.in(standard.evaluate(hammer, null, null)));
+		CompiledPatterns strict = CompiledPatterns.compile(PatternDefinitions.standard(PatternThresholds.DEFAULT.withShadow(3)));
+		assertFalse(CandlePattern.BULLISH_HAMMER.in(strict.evaluate(hammer, null, null)));
+		assertEquals(2, PatternThresholds.DEFAULT.getShadow(), 0);
+	}
+	
+	@Test
+	public void testCustomPattern() {
+		List<PatternDefinition> definitions = new ArrayList<>();
+		// a bullish candle almost without shadows
+		definitions.add(new PatternDefinition("BULLISH_MARUBOZU", true,
+				PatternCondition.allOf(bullish(Position.CURRENT), ratio(current(Measure.BODY), current(Measure.FULL_SIZE), Comparison.GREATER_OR_EQUAL, 0.95))));
+		// a candle closing above the max of the one before
+		definitions.add(new PatternDefinition("BREAKOUT", true, compare(current(Measure.CLOSE), Comparison.GREATER, middle(Measure.MAX))));
+		CompiledPatterns patterns = CompiledPatterns.compile(definitions);
+		assertEquals(2, definitions.get(1).candles());
+		NumericCandle marubozu = new NumericCandle(100, 120, 99.5, 120.5);
+		NumericCandle before = new NumericCandle(100, 101, 98, 110);
+		assertEquals(1, patterns.evaluate(marubozu, null, null));
+		assertEquals(3, patterns.evaluate(marubozu, before, null));
+		assertEquals(2, patterns.evaluate(before, new NumericCandle(99, 100, 95, 100.5), null));
+		assertEquals(Arrays.asList("BREAKOUT"), patterns.names(2));
+		assertEquals(3, patterns.getBullishMask());
+		assertEquals(0, patterns.getBearishMask());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testTooManyPatterns() {
+		List<PatternDefinition> definitions = new ArrayList<>();
+		for (int i = 0; i <= CompiledPatterns.MAX_PATTERNS; i++) {
+			definitions.add(new PatternDefinition("P" + i, true, bullish(Position.CURRENT)));
+		}
+		CompiledPatterns.compile(definitions);
+	}
+	
+}
@@ -0,0 +1,102 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.test.candlestick;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.treslines.data.DecimalParser;
+
+/**
+ * Decimal parser tests, every result must be identical to Double.parseDouble
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+public class DecimalParserTest {
+
+	@Test
+	public void testExchangeFormats() {
+		String[] values = {"7666", "7666.5", "0.00012345", "-12.5", "+3.25", "0", "-0", "-0.0", ".5", "5.", "00012.3400",
+				"0.1", "0.2", "0.3", "9007199254740992", "9007199254740993", "123456789.123456789", "1e5", "1.5E-7",
+				" 42 ", "NaN", "-Infinity", "0x1p3", "12.5d", "0.0000000000000000000001", "0.00000000000000000000001"};
+		for (String value : values) {
+			assertSame(value);
+		}
+	}
+	
+	@Test
+	public void testRandomPrices() {
+		Random random = new Random(31072018);
+		for (int i = 0; i < 200000; i++) {
+			StringBuilder value = new StringBuilder();
+			if(random.nextInt(10) == 0) {
+				value.append('-');
+			}
+			value.append(random.nextInt(1 + random.nextInt(1000000)));
+			if(random.nextBoolean()) {
+				value.append('.');
+				int decimals = 1 + random.nextInt(12);
+				for (int j = 0; j < decimals; j++) {
+					value.append(random.nextInt(10));
+				}
+			}
+			assertSame(value.toString());
+		}
+	}
+	
+	@Test
+	public void testRanges() {
+		String line = "2018-01-01,17:00,fiveMin,BTC-ETH,7663.25,7666";
+		byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+		int start = line.indexOf("7663");
+		int end = line.lastIndexOf(',');
+		assertEquals(7663.25, DecimalParser.parseDouble(line, start, end), 0);
+		assertEquals(7663.25, DecimalParser.parseDouble(bytes, start, end), 0);
+		assertEquals(7663.25, DecimalParser.parseDouble(ByteBuffer.wrap(bytes), start, end), 0);
+		assertEquals(7666, DecimalParser.parseDouble(bytes, end + 1, bytes.length), 0);
+	}
+	
+	@Test(expected = NumberFormatException.class)
+	public void testEmpty() {
+		DecimalParser.parseDouble("");
+	}
+	
+	@Test(expected = NumberFormatException.class)
+	public void testNotANumber() {
+		DecimalParser.parseDouble("12.5.3");
+	}
+	
+	private void assertSame(String value) {
+		long expected = Double.doubleToRawLongBits(Double.parseDouble(value));
+		byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+		assertEquals(value, expected, Double.doubleToRawLongBits(DecimalParser.parseDouble(value)));
+		assertEquals(value, expected, Double.doubleToRawLongBits(DecimalParser.parseDouble(bytes, 0, bytes.length)));
+		assertEquals(value, expected, Double.doubleToRawLongBits(DecimalParser.parseDouble(ByteBuffer.wrap(bytes), 0, bytes.length)));
+	}
+	
+}
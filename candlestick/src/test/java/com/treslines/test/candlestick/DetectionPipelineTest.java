@@ -0,0 +1,179 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+
+package com.treslines.test.candlestick;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.treslines.candlestick.CandleStickFactory;
+import com.treslines.candlestick.DetectionPipeline;
+import com.treslines.candlestick.SpscRing;
+import com.treslines.candlestick.WaitStrategy;
+import com.treslines.data.model.Candle;
+import com.treslines.data.model.CandleSeries;
+import com.treslines.data.model.NumericCandle;
+
+/**
+ * Ring buffer pipeline tests
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+public class DetectionPipelineTest extends BaseCandleStickPatternTest {
+
+	private static final String[] MARKETS = {"BTC-ETH", "BTC-LTC", "BTC-XRP"};
+
+	@Test
+	public void testRingWrapsAround() {
+		Integer[] slots = {0, 1, 2, 3};
+		SpscRing<Integer> ring = new SpscRing<Integer>(slots);
+		for (int round = 0; round < 3; round++) {
+			for (int i = 0; i < 4; i++) {
+				assertSame(slots[i], ring.claim());
+				ring.publish();
+			}
+			assertNull(ring.claim());
+			assertEquals(4, ring.size());
+			for (int i = 0; i < 4; i++) {
+				assertSame(slots[i], ring.peek());
+				ring.release();
+			}
+			assertNull(ring.peek());
+			assertEquals(0, ring.size());
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testRingNeedsPowerOfTwo() {
+		new SpscRing<Integer>(new Integer[3]);
+	}
+	
+	@Test(timeout = 60000)
+	public void testSignalsMatchScanWithEveryWaitStrategy() throws Exception {
+		for (WaitStrategy wait : WaitStrategy.values()) {
+			assertSignals(wait);
+		}
+	}
+	
+	@Test(expected = IllegalStateException.class)
+	public void testShutdownStopsAcceptingCandles() throws Exception {
+		DetectionPipeline pipeline = new DetectionPipeline(8, WaitStrategy.PARK);
+		pipeline.shutdown();
+		assertTrue(pipeline.awaitTermination(10, TimeUnit.SECONDS));
+		pipeline.onCandle(new NumericCandle(100, 110, 90, 120));
+	}
+	
+	@Test(timeout = 20000)
+	public void testShutdownOnlyByIngestionThread() throws Exception {
+		final DetectionPipeline pipeline = new DetectionPipeline(8, WaitStrategy.PARK);
+		final CountDownLatch offered = new CountDownLatch(1);
+		final CountDownLatch checked = new CountDownLatch(1);
+		Thread producer = new Thread() {
+			public void run() {
+				pipeline.onCandle(new NumericCandle(100, 110, 90, 120));
+				offered.countDown();
+				try {
+					checked.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				pipeline.shutdown();
+			}
+		};
+		producer.start();
+		offered.await();
+		try {
+			pipeline.shutdown();
+			fail("Pipeline shut down by another thread than its ingestion thread");
+		} catch (IllegalStateException e) {
+			// a candle passed in at the same time could be left in the ring
+		} finally {
+			checked.countDown();
+		}
+		producer.join();
+		assertTrue(pipeline.awaitTermination(10, TimeUnit.SECONDS));
+	}
+	
+	private void assertSignals(WaitStrategy wait) throws Exception {
+		final List<List<NumericCandle>> histories = new ArrayList<List<NumericCandle>>();
+		final int[] expected = new int[MARKETS.length];
+		final int[] found = new int[MARKETS.length];
+		for (int m = 0; m < MARKETS.length; m++) {
+			List<Candle> history = CandleSeriesScanTest.randomHistory(new Random(m), 2000);
+			List<NumericCandle> candles = new ArrayList<NumericCandle>();
+			for (Candle candle : history) {
+				candle.setMarket(MARKETS[m]);
+				candles.add(NumericCandle.of(candle));
+			}
+			for (int hit : CandleStickFactory.scan(CandleSeries.of(history))) {
+				expected[m] += hit != 0 ? 1 : 0;
+			}
+			histories.add(candles);
+		}
+		// small rings keep both sides waiting on each other
+		final DetectionPipeline pipeline = new DetectionPipeline(16, wait);
+		Thread producer = new Thread() {
+			public void run() {
+				// markets interleaved, each one in order
+				for (int i = 0; i < 2000; i++) {
+					for (List<NumericCandle> history : histories) {
+						pipeline.onCandle(history.get(i));
+					}
+				}
+				pipeline.shutdown();
+			}
+		};
+		producer.start();
+		DetectionPipeline.SignalHandler handler = new DetectionPipeline.SignalHandler() {
+			public void onSignal(NumericCandle candle, int patterns) {
+				for (int m = 0; m < MARKETS.length; m++) {
+					if(MARKETS[m].equals(candle.getMarket())) {
+						found[m]++;
+					}
+				}
+			}
+		};
+		while (pipeline.take(handler) > 0) {
+			// drain until the detector has finished
+		}
+		producer.join();
+		assertTrue(pipeline.isTerminated());
+		for (int m = 0; m < MARKETS.length; m++) {
+			assertEquals(wait + " " + MARKETS[m], expected[m], found[m]);
+		}
+		assertEquals(0, pipeline.getPendingCandles());
+		assertEquals(0, pipeline.getPendingSignals());
+	}
+	
+}
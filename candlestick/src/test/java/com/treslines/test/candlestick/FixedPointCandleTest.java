@@ -0,0 +1,162 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+
+package com.treslines.test.candlestick;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.treslines.candlestick.CandlePattern;
+import com.treslines.candlestick.CandleStickFactory;
+import com.treslines.data.DecimalParser;
+import com.treslines.data.model.Candle;
+import com.treslines.data.model.FixedPointCandle;
+import com.treslines.data.model.TickSize;
+
+/**
+ * Fixed point price mode tests
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+public class FixedPointCandleTest extends BaseCandleStickPatternTest {
+
+	@Test
+	public void testParseScaled() {
+		assertEquals(766325L, DecimalParser.parseScaled("7663.25", 2));
+		assertEquals(766300L, DecimalParser.parseScaled("7663", 2));
+		assertEquals(766300L, DecimalParser.parseScaled("7663.000", 2));
+		assertEquals(-5L, DecimalParser.parseScaled("-0.05", 2));
+		assertEquals(12345L, DecimalParser.parseScaled("0.00012345", 8));
+		assertEquals(Long.MAX_VALUE, DecimalParser.parseScaled("9223372036854775807", 0));
+		String[] invalid = {"", "-", ".", "7663.251", "1e5", "NaN", "12.5d", " 42", "9223372036854775808", "92233720368547758.08"};
+		for (String value : invalid) {
+			try {
+				DecimalParser.parseScaled(value, 2);
+				assertTrue("expected failure for " + value, false);
+			} catch (NumberFormatException e) {
+				// expected
+			}
+		}
+	}
+	
+	@Test
+	public void testTickSize() {
+		TickSize tick = new TickSize("0.05");
+		assertEquals(153265L, tick.toTicks("7663.25"));
+		assertEquals("7663.25", tick.toPrice(153265L));
+		assertEquals("0.05", tick.toString());
+		assertEquals(new TickSize("0.050"), tick);
+		try {
+			tick.toTicks("7663.26");
+			assertTrue("7663.26 is not a multiple of 0.05", false);
+		} catch (NumberFormatException e) {
+			// expected
+		}
+		assertEquals(7663L, new TickSize("1").toTicks("7663"));
+	}
+	
+	@Test
+	public void testFixedPointCandleRoundTrip() {
+		TickSize tick = new TickSize("0.01");
+		FixedPointCandle candle = FixedPointCandle.of(createCandle("8103.1", "8126", "8126.99", "8021.05"), tick);
+		assertEquals(810310L, candle.getClose());
+		assertEquals(812600L, candle.getOpen());
+		assertEquals(812699L, candle.getMax());
+		assertEquals(802105L, candle.getMin());
+		assertEquals("market:BTC-ETH, open:8126, close:8103.1, min:8021.05, max:8126.99", candle.toString());
+	}
+	
+	@Test
+	public void testFixedPointMatchesDoubleOnIntegerPrices() {
+		TickSize tick = new TickSize("1");
+		List<Candle> history = CandleSeriesScanTest.randomHistory(new Random(1710), 20000);
+		history.add(createCandle("500", "500", "510", "490"));
+		history.add(createCandle("500", "500", "500", "500"));
+		int found = 0;
+		for (int i = 0; i < history.size(); i++) {
+			int size = Math.min(3, i + 1);
+			FixedPointCandle[] window = new FixedPointCandle[size];
+			for (int j = 0; j < size; j++) {
+				window[j] = FixedPointCandle.of(history.get(i - j), tick);
+			}
+			int expected = CandleStickFactory.evaluate(window(history, i, size));
+			int patterns = CandleStickFactory.evaluate(window);
+			assertEquals("patterns at " + i, expected, patterns);
+			if(patterns != 0) {
+				found++;
+			}
+		}
+		assertTrue(found > 0);
+	}
+	
+	@Test
+	public void testDecimalPricesAreScaleInvariant() {
+		// the same window in cents and in whole units must match the same patterns,
+		// which only holds if no rounding happens on the decimal prices
+		TickSize cents = new TickSize("0.01");
+		TickSize units = new TickSize("1");
+		List<Candle> history = CandleSeriesScanTest.randomHistory(new Random(1910), 5000);
+		for (int i = 2; i < history.size(); i++) {
+			FixedPointCandle[] scaled = new FixedPointCandle[3];
+			FixedPointCandle[] whole = new FixedPointCandle[3];
+			for (int j = 0; j < 3; j++) {
+				Candle candle = history.get(i - j);
+				whole[j] = FixedPointCandle.of(candle, units);
+				scaled[j] = FixedPointCandle.of(createCandle(cents.toPrice(Long.parseLong(candle.getClose())), cents.toPrice(Long.parseLong(candle.getOpen())),
+						cents.toPrice(Long.parseLong(candle.getMax())), cents.toPrice(Long.parseLong(candle.getMin()))), cents);
+			}
+			assertEquals("patterns at " + i, CandleStickFactory.evaluate(whole), CandleStickFactory.evaluate(scaled));
+		}
+	}
+	
+	@Test
+	public void testBullishPiercingOnDecimalPrices() {
+		TickSize tick = new TickSize("0.01");
+		// current body top 0.2 is exactly the middle of the previous body 0.1..0.3
+		FixedPointCandle current = FixedPointCandle.of(createCandle("0.2", "0.05", "0.21", "0.04"), tick);
+		FixedPointCandle previous = FixedPointCandle.of(createCandle("0.1", "0.3", "0.31", "0.09"), tick);
+		assertTrue(CandlePattern.BULLISH_PIERCING.in(CandleStickFactory.evaluate(current, previous)));
+	}
+	
+	@Test
+	public void testInvalidWindow() {
+		assertEquals(0, CandleStickFactory.evaluate(new FixedPointCandle[0]));
+		assertEquals(0, CandleStickFactory.evaluate((FixedPointCandle) null));
+	}
+	
+	/** @return the window ending at index, most recent candle first */
+	private List<Candle> window(List<Candle> history, int index, int size) {
+		List<Candle> window = new ArrayList<Candle>();
+		for (int j = 0; j < size; j++) {
+			window.add(history.get(index - j));
+		}
+		return window;
+	}
+	
+}
@@ -0,0 +1,166 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.test.candlestick;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.treslines.candlestick.CandleStickListener;
+import com.treslines.candlestick.MultiTimeframeAggregator;
+import com.treslines.candlestick.StreamingCandleStickDetector;
+import com.treslines.data.model.Candle;
+import com.treslines.data.model.CandleInterval;
+import com.treslines.data.model.NumericCandle;
+
+/**
+ * Multi timeframe aggregation tests, rolled up candles must be those aggregated from the whole history
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+public class MultiTimeframeAggregatorTest extends BaseCandleStickPatternTest {
+
+	private static final long MINUTE = CandleInterval.ONE_MIN.getMillis();
+
+	@Test
+	public void testRollUp() {
+		MultiTimeframeAggregator aggregator = new MultiTimeframeAggregator("BTC-ETH", CandleInterval.ONE_MIN, null,
+				CandleInterval.FIVE_MIN, CandleInterval.FIFTEEN_MIN);
+		for (int i = 0; i < 4; i++) {
+			aggregator.onCandle(i * MINUTE, 100 + i, 110 + i, 90 - i, 101 + i, 1, 0.5);
+		}
+		assertNull(aggregator.getCandle(CandleInterval.FIVE_MIN));
+		// the fifth minute closes the first 5 minute candle
+		aggregator.onCandle(4 * MINUTE, 104, 120, 95, 99, 1, 0.5);
+		NumericCandle candle = aggregator.getCandle(CandleInterval.FIVE_MIN);
+		assertEquals(100, candle.getOpen(), 0);
+		assertEquals(120, candle.getMax(), 0);
+		assertEquals(87, candle.getMin(), 0);
+		assertEquals(99, candle.getClose(), 0);
+		assertEquals(5, candle.getVolume(), 0);
+		assertEquals(2.5, candle.getBaseVolume(), 0);
+		assertEquals("1970-01-01", candle.getDate());
+		assertEquals("00:00", candle.getTime());
+		assertEquals("fiveMin", candle.getInterval());
+		assertEquals("BTC-ETH", candle.getMarket());
+		assertNull(aggregator.getCandle(CandleInterval.FIFTEEN_MIN));
+	}
+	
+	@Test
+	public void testGapClosesCandle() {
+		MultiTimeframeAggregator aggregator = new MultiTimeframeAggregator("BTC-ETH", CandleInterval.ONE_MIN, null, CandleInterval.FIVE_MIN);
+		aggregator.onCandle(0, 100, 110, 90, 105, 1, 1);
+		aggregator.onCandle(MINUTE, 105, 112, 95, 108, 1, 1);
+		// minutes 2 to 6 are missing
+		aggregator.onCandle(7 * MINUTE, 108, 109, 100, 101, 1, 1);
+		NumericCandle candle = aggregator.getCandle(CandleInterval.FIVE_MIN);
+		assertEquals(108, candle.getClose(), 0);
+		assertEquals(2, candle.getVolume(), 0);
+		aggregator.flush();
+		candle = aggregator.getCandle(CandleInterval.FIVE_MIN);
+		assertEquals("00:05", candle.getTime());
+		assertEquals(101, candle.getClose(), 0);
+	}
+	
+	@Test
+	public void testCandleInput() {
+		MultiTimeframeAggregator aggregator = new MultiTimeframeAggregator("BTC-ETH", CandleInterval.FIVE_MIN, null, CandleInterval.FIFTEEN_MIN);
+		for (String time : new String[] {"17:00", "17:05", "17:10"}) {
+			Candle candle = createCandle("7666", "7663", "7680", "7306");
+			candle.setTime(time);
+			aggregator.onCandle(candle);
+		}
+		assertEquals("2018-01-01", aggregator.getCandle(CandleInterval.FIFTEEN_MIN).getDate());
+		assertEquals("17:00", aggregator.getCandle(CandleInterval.FIFTEEN_MIN).getTime());
+		assertEquals(3 * 123456, aggregator.getCandle(CandleInterval.FIFTEEN_MIN).getVolume(), 0);
+	}
+	
+	@Test
+	public void testPatternsMatchAggregatedHistory() {
+		CandleInterval[] intervals = {CandleInterval.FIVE_MIN, CandleInterval.FIFTEEN_MIN, CandleInterval.HOUR, CandleInterval.FOUR_HOURS};
+		final List<String> found = new ArrayList<>();
+		MultiTimeframeAggregator aggregator = new MultiTimeframeAggregator("BTC-ETH", CandleInterval.ONE_MIN, new CandleStickListener() {
+			@Override
+			public void onPatterns(Candle candle, int patterns) {
+				found.add(candle.getInterval() + " " + candle.getTime() + " " + patterns);
+			}
+		}, intervals);
+		Random random = new Random(1701);
+		int minutes = 4 * 24 * 60;
+		double[][] history = new double[minutes][];
+		double price = 5000;
+		for (int i = 0; i < minutes; i++) {
+			double open = price + random.nextInt(11) - 5;
+			double close = open + random.nextInt(21) - 10;
+			history[i] = new double[] {open, Math.max(open, close) + random.nextInt(6), Math.min(open, close) - random.nextInt(6), close};
+			aggregator.onCandle(i * MINUTE, history[i][0], history[i][1], history[i][2], history[i][3], 1, 1);
+			price = close;
+		}
+		// the same intervals aggregated from the whole history at once
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < minutes; i++) {
+			for (CandleInterval interval : intervals) {
+				int size = (int) (interval.getMillis() / MINUTE);
+				if(i % size != size - 1) {
+					continue;
+				}
+				StreamingCandleStickDetector detector = new StreamingCandleStickDetector();
+				int patterns = 0;
+				for (int start = Math.max(0, i + 1 - 3 * size); start <= i; start += size) {
+					double high = Double.NEGATIVE_INFINITY;
+					double low = Double.POSITIVE_INFINITY;
+					for (int j = start; j < start + size; j++) {
+						high = Math.max(high, history[j][1]);
+						low = Math.min(low, history[j][2]);
+					}
+					patterns = detector.onCandle(history[start][0], high, low, history[start + size - 1][3], size);
+				}
+				if(patterns != 0) {
+					long start = (i + 1 - size) * MINUTE;
+					expected.add(interval.getName() + " " + String.format("%02d:%02d", start / 3600000 % 24, start / MINUTE % 60) + " " + patterns);
+				}
+			}
+		}
+		assertFalse(found.isEmpty());
+		assertEquals(expected, found);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testIntervalMustBeMultiple() {
+		new MultiTimeframeAggregator("BTC-ETH", CandleInterval.THIRTY_MIN, null, CandleInterval.FIVE_MIN);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testOutOfOrderCandle() {
+		MultiTimeframeAggregator aggregator = new MultiTimeframeAggregator("BTC-ETH", CandleInterval.ONE_MIN, null, CandleInterval.FIVE_MIN);
+		aggregator.onCandle(MINUTE, 100, 110, 90, 105, 1, 1);
+		aggregator.onCandle(0, 100, 110, 90, 105, 1, 1);
+	}
+	
+}
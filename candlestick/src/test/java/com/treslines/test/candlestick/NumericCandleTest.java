@@ -0,0 +1,117 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.test.candlestick;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.treslines.candlestick.CandleStickFactory;
+import com.treslines.data.model.Candle;
+import com.treslines.data.model.CandleFeatures;
+import com.treslines.data.model.NumericCandle;
+
+/**
+ * Numeric candle conversion and pattern tests
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+public class NumericCandleTest extends BaseCandleStickPatternTest {
+
+	@Test
+	public void testConversionRoundTrip() {
+		Candle candle = createCandle("7666.5", "7663", "7680.25", "7306");
+		NumericCandle numeric = NumericCandle.of(candle);
+		assertEquals(7666.5, numeric.getClose(), 0);
+		assertEquals(7663, numeric.getOpen(), 0);
+		assertEquals(7680.25, numeric.getMax(), 0);
+		assertEquals(7306, numeric.getMin(), 0);
+		assertEquals(123456, numeric.getVolume(), 0);
+		assertEquals("BTC-ETH", numeric.getMarket());
+		Candle back = numeric.toCandle();
+		assertEquals("7666.5", back.getClose());
+		assertEquals("7663", back.getOpen());
+		assertEquals("7680.25", back.getMax());
+		assertEquals("7306", back.getMin());
+		assertEquals(candle.getDate(), back.getDate());
+		assertEquals(candle.getTime(), back.getTime());
+		assertEquals(candle.getInterval(), back.getInterval());
+		assertFalse(back.isEmpty());
+	}
+	
+	@Test
+	public void testFeaturesFollowPriceChanges() {
+		NumericCandle candle = new NumericCandle(8103, 8126, 8021, 8126);
+		CandleFeatures features = candle.features();
+		assertTrue(features.isBullish());
+		assertEquals(23, features.getBody(), 0);
+		assertEquals(8126, features.getBodyTop(), 0);
+		assertEquals(8103, features.getBodyBottom(), 0);
+		assertEquals(0, features.getUpperShadow(), 0);
+		assertEquals(82, features.getLowerShadow(), 0);
+		assertEquals(105, features.getFullSize(), 0);
+		candle.setOpen(8126);
+		candle.setClose(8103);
+		assertTrue(candle.features().isBearish());
+		assertEquals(8126, candle.features().getBodyTop(), 0);
+		assertEquals(82, candle.features().getLowerShadow(), 0);
+		candle.setClose(8126);
+		assertTrue(candle.features().isNeitherBullishNorBearish());
+		assertEquals(0, candle.features().getBody(), 0);
+	}
+	
+	@Test
+	public void testSingleOnNumericCandles() {
+		NumericCandle bullishHammer = NumericCandle.of(createCandle("8126", "8103", "8126", "8021"));
+		assertTrue(CandleStickFactory.single(bullishHammer).isBullish());
+		assertFalse(CandleStickFactory.single(bullishHammer).isBearish());
+	}
+	
+	@Test
+	public void testDoubleOnNumericCandles() {
+		NumericCandle first = NumericCandle.of(createCandle("7054", "6942", "7055", "6940"));
+		NumericCandle second = NumericCandle.of(createCandle("6965", "7017", "7019", "6942"));
+		assertTrue(CandleStickFactory.doubl(first, second).isBullish());
+		assertFalse(CandleStickFactory.doubl(first, second).isBearish());
+	}
+	
+	@Test
+	public void testTripleOnNumericCandles() {
+		NumericCandle first = NumericCandle.of(createCandle("500", "600", "610", "490"));
+		NumericCandle second = NumericCandle.of(createCandle("650", "750", "755", "645"));
+		NumericCandle third = NumericCandle.of(createCandle("750", "850", "855", "745"));
+		assertFalse(CandleStickFactory.triple(first, second, third).isBullish());
+		assertTrue(CandleStickFactory.triple(first, second, third).isBearish());
+	}
+	
+	@Test
+	public void testNotEnoughNumericCandles() {
+		NumericCandle first = NumericCandle.of(createCandle("500", "600", "610", "490"));
+		assertFalse(CandleStickFactory.doubl(first).isBullish());
+		assertFalse(CandleStickFactory.triple(first, first).isBearish());
+		assertFalse(CandleStickFactory.single().isBullish());
+	}
+	
+}
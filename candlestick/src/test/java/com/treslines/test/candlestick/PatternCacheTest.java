@@ -0,0 +1,155 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.test.candlestick;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.treslines.candlestick.CandlePattern;
+import com.treslines.candlestick.CandleStickFactory;
+import com.treslines.candlestick.PatternCache;
+import com.treslines.data.model.Candle;
+
+/**
+ * Pattern cache tests
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+public class PatternCacheTest extends BaseCandleStickPatternTest {
+
+	@Test
+	public void testSameResultAsFactory() {
+		List<Candle> history = history(1000);
+		PatternCache cache = new PatternCache(4096);
+		for (int round = 0; round < 2; round++) {
+			for (int i = 0; i < history.size() - 3; i++) {
+				List<Candle> window = window(history, i);
+				assertEquals("patterns at " + i, CandleStickFactory.evaluate(window), cache.evaluate(window));
+			}
+		}
+		assertEquals(997L, cache.getMisses());
+		assertEquals(997L, cache.getHits());
+		assertEquals(997, cache.size());
+		assertEquals(0.5, cache.getHitRatio(), 0);
+		List<Candle> window = window(history, 10);
+		int patterns = cache.evaluate(window);
+		assertEquals(CandleStickFactory.triple(window).isBullish(), CandlePattern.isBullish(patterns & CandlePattern.TRIPLE_MASK));
+		assertEquals(CandleStickFactory.single(window).isBearish(), CandlePattern.isBearish(patterns & CandlePattern.SINGLE_MASK));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEvicted() {
+		List<Candle> history = history(10);
+		PatternCache cache = new PatternCache(2, 1);
+		cache.evaluate(window(history, 0));
+		cache.evaluate(window(history, 1));
+		// touch the first one, the second one becomes the eldest
+		cache.evaluate(window(history, 0));
+		cache.evaluate(window(history, 2));
+		assertEquals(2, cache.size());
+		assertEquals(1L, cache.getEvictions());
+		cache.evaluate(window(history, 0));
+		assertEquals(2L, cache.getHits());
+		cache.evaluate(window(history, 1));
+		assertEquals(4L, cache.getMisses());
+	}
+
+	@Test
+	public void testKeyedByMarketIntervalAndCandles() throws CloneNotSupportedException {
+		List<Candle> history = history(10);
+		PatternCache cache = new PatternCache(16);
+		List<Candle> window = window(history, 0);
+		cache.evaluate(window);
+		cache.evaluate(window.subList(0, 1));
+		Candle other = window.get(0).clone();
+		other.setMarket("BTC-LTC");
+		cache.evaluate(Collections.singletonList(other));
+		other.setInterval("oneMin");
+		cache.evaluate(Collections.singletonList(other));
+		assertEquals(4, cache.size());
+		assertEquals(0L, cache.getHits());
+		// not stored yet, never cached
+		other.setId(0);
+		cache.evaluate(Collections.singletonList(other));
+		assertEquals(4, cache.size());
+		cache.clear();
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testConcurrentAccess() throws InterruptedException {
+		final List<Candle> history = history(500);
+		final PatternCache cache = new PatternCache(128);
+		final AtomicInteger failures = new AtomicInteger();
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			final long seed = t;
+			threads[t] = new Thread() {
+				@Override
+				public void run() {
+					Random random = new Random(seed);
+					for (int i = 0; i < 20000; i++) {
+						List<Candle> window = window(history, random.nextInt(history.size() - 3));
+						if(cache.evaluate(window) != CandleStickFactory.evaluate(window)) {
+							failures.incrementAndGet();
+						}
+					}
+				}
+			};
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(0, failures.get());
+		assertEquals(80000L, cache.getHits() + cache.getMisses());
+		assertTrue(cache.size() <= 128);
+	}
+
+	/** random history, oldest first, every candle stored with its own id */
+	private static List<Candle> history(int size) {
+		List<Candle> history = CandleSeriesScanTest.randomHistory(new Random(2026), size);
+		for (int i = 0; i < history.size(); i++) {
+			history.get(i).setId(i + 1);
+			history.get(i).setMarket("BTC-ETH");
+			history.get(i).setInterval("fiveMin");
+		}
+		return history;
+	}
+
+	/** three candles ending at index + 2, most recent first */
+	private static List<Candle> window(List<Candle> history, int index) {
+		List<Candle> window = new ArrayList<>(history.subList(index, index + 3));
+		Collections.reverse(window);
+		return window;
+	}
+
+}
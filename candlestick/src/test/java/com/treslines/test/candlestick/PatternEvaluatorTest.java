@@ -0,0 +1,130 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.test.candlestick;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.treslines.candlestick.CandlePattern;
+import com.treslines.candlestick.CandleStickFactory;
+import com.treslines.data.model.Candle;
+
+/**
+ * Single pass evaluation tests
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+public class PatternEvaluatorTest extends BaseCandleStickPatternTest {
+
+	@Test
+	public void testBullishHammer() {
+		candles.clear();
+		candles.add(createCandle("8126", "8103", "8126", "8021"));
+		int patterns = CandleStickFactory.evaluate(candles);
+		assertEquals(EnumSet.of(CandlePattern.BULLISH_HAMMER), CandlePattern.toSet(patterns));
+	}
+	
+	@Test
+	public void testBearishEveningStar() {
+		candles.clear();
+		candles.add(createCandle("400", "470", "481", "399"));
+		candles.add(createCandle("480", "500", "501", "480"));
+		candles.add(createCandle("436", "200", "437", "199"));
+		int patterns = CandleStickFactory.evaluate(candles);
+		assertTrue(CandlePattern.BEARISH_EVENING_STAR.in(patterns));
+		assertFalse(CandlePattern.isBullish(patterns));
+	}
+	
+	@Test
+	public void testInvalidWindow() {
+		candles.clear();
+		assertEquals(0, CandleStickFactory.evaluate(candles));
+		candles.add(new Candle());
+		candles.add(createCandle("400", "470", "481", "399"));
+		assertEquals(0, CandleStickFactory.evaluate(candles));
+	}
+	
+	@Test
+	public void testOnlyCandlesReadAreValidated() {
+		candles.clear();
+		candles.add(createCandle("8126", "8103", "8126", "8021"));
+		candles.add(new Candle());
+		assertTrue(CandleStickFactory.single(candles).isBullish());
+		assertFalse(CandleStickFactory.doubl(candles).isBullish());
+		assertEquals(EnumSet.of(CandlePattern.BULLISH_HAMMER), CandlePattern.toSet(CandleStickFactory.evaluate(candles)));
+	}
+	
+	@Test
+	public void testSettersResetValidity() {
+		Candle candle = createCandle("8126", "8103", "8126", "8021");
+		assertFalse(candle.isEmpty());
+		candle.setClose("");
+		assertTrue(candle.isEmpty());
+		candle.setClose("8126");
+		assertFalse(candle.isEmpty());
+		assertFalse(candle.excludeQueryParams().contains("validity"));
+	}
+	
+	@Test
+	public void testEvaluateMatchesEachCheckerGroup() {
+		Random random = new Random(3107);
+		List<Candle> history = CandleSeriesScanTest.randomHistory(random, 20000);
+		// flat candles and candles without shadows exercise the division corner cases
+		history.add(createCandle("500", "500", "510", "490"));
+		history.add(createCandle("500", "500", "500", "500"));
+		history.add(createCandle("505.5", "500.25", "505.5", "500.25"));
+		history.add(createCandle("500.25", "505.5", "505.5", "500.25"));
+		for (int i = 0; i < history.size(); i++) {
+			List<Candle> window = new ArrayList<Candle>();
+			for (int j = i; j >= 0 && j > i - 3; j--) {
+				window.add(history.get(j));
+			}
+			int patterns = CandleStickFactory.evaluate(window);
+			assertGroup(i, 1, patterns, CandleStickFactory.single(window).isBullish(), CandleStickFactory.single(window).isBearish());
+			assertGroup(i, 2, patterns, CandleStickFactory.doubl(window).isBullish(), CandleStickFactory.doubl(window).isBearish());
+			assertGroup(i, 3, patterns, CandleStickFactory.triple(window).isBullish(), CandleStickFactory.triple(window).isBearish());
+		}
+	}
+	
+	private void assertGroup(int index, int candles, int patterns, boolean bullish, boolean bearish) {
+		boolean foundBullish = false;
+		boolean foundBearish = false;
+		for (CandlePattern pattern : CandlePattern.toSet(patterns)) {
+			if(pattern.candles() == candles) {
+				foundBullish |= pattern.isBullish();
+				foundBearish |= !pattern.isBullish();
+			}
+		}
+		assertEquals("bullish " + candles + " at " + index, bullish, foundBullish);
+		assertEquals("bearish " + candles + " at " + index, bearish, foundBearish);
+	}
+	
+}
@@ -0,0 +1,113 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.test.candlestick;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.treslines.candlestick.CandlePattern;
+import com.treslines.candlestick.CandleStickFactory;
+import com.treslines.candlestick.PatternKernel;
+import com.treslines.data.model.Candle;
+import com.treslines.data.model.CandleSeries;
+import com.treslines.data.model.NumericCandle;
+
+/**
+ * Batch kernel tests, every mask must be the one of the per window evaluation
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+public class PatternKernelTest extends BaseCandleStickPatternTest {
+
+	@Test
+	public void testKernelMatchesPerWindowEvaluation() {
+		List<Candle> history = CandleSeriesScanTest.randomHistory(new Random(1610), 20000);
+		// flat candles and candles without shadows exercise the division corner cases
+		history.add(createCandle("500", "500", "510", "490"));
+		history.add(createCandle("500", "500", "500", "500"));
+		history.add(createCandle("500", "500", "500", "500"));
+		history.add(createCandle("505.5", "500.25", "505.5", "500.25"));
+		history.add(createCandle("500.25", "505.5", "505.5", "500.25"));
+		// three black crows, too rare in random walks
+		history.add(createCandle("750", "850", "855", "745"));
+		history.add(createCandle("650", "750", "755", "645"));
+		history.add(createCandle("500", "600", "610", "490"));
+		CandleSeries series = CandleSeries.of(history);
+		int[] hits = new int[series.size()];
+		PatternKernel.evaluate(series.getOpenColumn(), series.getHighColumn(), series.getLowColumn(), series.getCloseColumn(), 0, series.size(), hits);
+		int[] expected = perWindow(series);
+		int found = 0;
+		for (int i = 0; i < series.size(); i++) {
+			assertEquals("patterns at " + i, expected[i], hits[i]);
+			found |= hits[i];
+		}
+		// every pattern shows up at least once
+		assertEquals((1 << CandlePattern.values().length) - 1, found);
+	}
+	
+	@Test
+	public void testRanges() {
+		CandleSeries series = CandleSeries.of(CandleSeriesScanTest.randomHistory(new Random(1611), 3000));
+		int[] expected = perWindow(series);
+		for (int from : new int[] {0, 1, 2, 3, 1500}) {
+			int[] hits = new int[series.size()];
+			PatternKernel.evaluate(series.getOpenColumn(), series.getHighColumn(), series.getLowColumn(), series.getCloseColumn(), from, series.size(), hits);
+			for (int i = from; i < series.size(); i++) {
+				assertEquals("patterns at " + i + " from " + from, expected[i], hits[i]);
+			}
+		}
+	}
+	
+	@Test
+	public void testSelect() {
+		int[] hits = new int[130];
+		hits[3] = CandlePattern.BULLISH_HAMMER.mask();
+		hits[64] = CandlePattern.BULLISH_HAMMER.mask() | CandlePattern.BEARISH_KICKER.mask();
+		hits[129] = CandlePattern.BEARISH_DOJI.mask();
+		BitSet bullish = BitSet.valueOf(PatternKernel.select(hits, CandlePattern.BULLISH_MASK));
+		assertEquals(2, bullish.cardinality());
+		assertTrue(bullish.get(3));
+		assertTrue(bullish.get(64));
+		BitSet bearish = BitSet.valueOf(PatternKernel.select(hits, CandlePattern.BEARISH_MASK));
+		assertEquals("{64, 129}", bearish.toString());
+	}
+	
+	private static int[] perWindow(CandleSeries series) {
+		int[] hits = new int[series.size()];
+		for (int i = 0; i < series.size(); i++) {
+			NumericCandle current = series.load(i, new NumericCandle());
+			NumericCandle middle = i > 0 ? series.load(i - 1, new NumericCandle()) : null;
+			NumericCandle last = i > 1 ? series.load(i - 2, new NumericCandle()) : null;
+			hits[i] = middle == null ? CandleStickFactory.evaluate(current) : last == null ? CandleStickFactory.evaluate(current, middle)
+					: CandleStickFactory.evaluate(current, middle, last);
+		}
+		return hits;
+	}
+	
+}
@@ -0,0 +1,213 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+
+package com.treslines.test.candlestick;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.treslines.candlestick.CandlePattern;
+import com.treslines.candlestick.CandleStickFactory;
+import com.treslines.candlestick.PatternFlow;
+import com.treslines.candlestick.PatternSignal;
+import com.treslines.candlestick.PatternSignalPublisher;
+import com.treslines.candlestick.ShardedDetectionEngine;
+import com.treslines.data.model.Candle;
+import com.treslines.data.model.CandleSeries;
+
+/**
+ * Pattern signal publisher tests
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+public class PatternSignalPublisherTest extends BaseCandleStickPatternTest {
+
+	private static final Executor DIRECT = new Executor() {
+		public void execute(Runnable task) {
+			task.run();
+		}
+	};
+
+	@Test
+	public void testSubscribeByMarketAndPattern() {
+		PatternSignalPublisher publisher = new PatternSignalPublisher(DIRECT, 16);
+		Recorder all = new Recorder(Long.MAX_VALUE);
+		Recorder market = new Recorder(Long.MAX_VALUE);
+		Recorder bullish = new Recorder(Long.MAX_VALUE);
+		publisher.subscribe(all);
+		publisher.subscribe(market, "BTC-ETH");
+		publisher.subscribe(bullish, CandlePattern.BULLISH_MASK);
+		publisher.submit(signal("BTC-ETH", CandlePattern.BULLISH_HAMMER.mask()));
+		publisher.submit(signal("BTC-LTC", CandlePattern.BULLISH_HAMMER.mask()));
+		publisher.submit(signal("BTC-ETH", CandlePattern.BEARISH_DOJI.mask()));
+		publisher.close();
+		assertEquals(3, all.signals.size());
+		assertEquals(2, market.signals.size());
+		assertEquals(2, bullish.signals.size());
+		assertTrue(all.completed.getCount() == 0 && market.completed.getCount() == 0 && bullish.completed.getCount() == 0);
+		assertEquals(0, publisher.getSubscriberCount());
+	}
+	
+	@Test
+	public void testDemandIsHonored() {
+		PatternSignalPublisher publisher = new PatternSignalPublisher(DIRECT, 16);
+		Recorder recorder = new Recorder(2);
+		publisher.subscribe(recorder);
+		for (int i = 0; i < 5; i++) {
+			publisher.submit(signal("BTC-ETH", CandlePattern.BULLISH_HAMMER.mask()));
+		}
+		assertEquals(2, recorder.signals.size());
+		publisher.close();
+		// completes only once the buffered signals were requested
+		assertEquals(1L, recorder.completed.getCount());
+		recorder.subscription.request(3);
+		assertEquals(5, recorder.signals.size());
+		assertEquals(0L, recorder.completed.getCount());
+	}
+	
+	@Test
+	public void testInvalidDemandFails() {
+		PatternSignalPublisher publisher = new PatternSignalPublisher(DIRECT, 16);
+		Recorder recorder = new Recorder(0);
+		publisher.subscribe(recorder);
+		assertTrue(recorder.error instanceof IllegalArgumentException);
+		assertEquals(0, publisher.getSubscriberCount());
+	}
+	
+	@Test
+	public void testFailingOnCompleteDoesNotStopOthers() {
+		PatternSignalPublisher publisher = new PatternSignalPublisher(DIRECT, 16);
+		Recorder failing = new Recorder(Long.MAX_VALUE) {
+			@Override
+			public void onComplete() {
+				super.onComplete();
+				throw new IllegalStateException("closed twice");
+			}
+		};
+		Recorder other = new Recorder(Long.MAX_VALUE);
+		publisher.subscribe(failing);
+		publisher.subscribe(other);
+		publisher.close();
+		assertEquals(0L, failing.completed.getCount());
+		assertEquals(0L, other.completed.getCount());
+		assertEquals(0, publisher.getSubscriberCount());
+	}
+	
+	@Test(timeout = 20000)
+	public void testSlowSubscriberDoesNotHoldUpFastOne() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			PatternSignalPublisher publisher = new PatternSignalPublisher(executor, 8);
+			Recorder fast = new Recorder(Long.MAX_VALUE);
+			Recorder slow = new Recorder(1);
+			publisher.subscribe(fast);
+			publisher.subscribe(slow);
+			for (int i = 0; i < 100; i++) {
+				publisher.submit(signal("BTC-ETH", CandlePattern.BULLISH_HAMMER.mask()));
+				// the fast subscriber keeps up while the slow one stays full
+				while (fast.signals.size() <= i) {
+					Thread.yield();
+				}
+			}
+			publisher.close();
+			assertTrue(fast.completed.await(10, TimeUnit.SECONDS));
+			assertEquals(100, fast.signals.size());
+			// the slow subscriber never got more than its buffer
+			assertTrue(slow.signals.size() <= 1);
+			assertTrue(publisher.getDropped() >= 100 - 1 - 8);
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	@Test(timeout = 20000)
+	public void testPublishesDetectedPatterns() throws Exception {
+		PatternSignalPublisher publisher = new PatternSignalPublisher();
+		Recorder recorder = new Recorder(Long.MAX_VALUE);
+		publisher.subscribe(recorder, "BTC-ETH");
+		List<Candle> history = CandleSeriesScanTest.randomHistory(new Random(2510), 200);
+		int expected = 0;
+		for (int hit : CandleStickFactory.scan(CandleSeries.of(history))) {
+			expected += hit != 0 ? 1 : 0;
+		}
+		ShardedDetectionEngine engine = new ShardedDetectionEngine(2, publisher);
+		for (Candle candle : history) {
+			candle.setMarket("BTC-ETH");
+			engine.submit(candle);
+		}
+		engine.shutdown();
+		assertTrue(engine.awaitTermination(10, TimeUnit.SECONDS));
+		publisher.close();
+		assertTrue(recorder.completed.await(10, TimeUnit.SECONDS));
+		assertEquals(expected, recorder.signals.size());
+	}
+	
+	private static PatternSignal signal(String market, int patterns) {
+		return new PatternSignal(market, "fiveMin", "2018-01-01", "17:00", patterns);
+	}
+	
+	/**
+	 * Requests a fixed demand on subscribe and records what it gets.
+	 */
+	private static class Recorder implements PatternFlow.Subscriber<PatternSignal> {
+		private final long demand;
+		private final List<PatternSignal> signals = Collections.synchronizedList(new ArrayList<PatternSignal>());
+		private final CountDownLatch completed = new CountDownLatch(1);
+		private volatile PatternFlow.Subscription subscription;
+		private volatile Throwable error;
+
+		private Recorder(long demand) {
+			this.demand = demand;
+		}
+
+		public void onSubscribe(PatternFlow.Subscription subscription) {
+			this.subscription = subscription;
+			subscription.request(demand);
+		}
+
+		public void onNext(PatternSignal item) {
+			signals.add(item);
+		}
+
+		public void onError(Throwable throwable) {
+			error = throwable;
+		}
+
+		public void onComplete() {
+			completed.countDown();
+		}
+	}
+	
+}
@@ -0,0 +1,181 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.test.candlestick;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.treslines.candlestick.CandlePattern;
+import com.treslines.candlestick.CandleStickFactory;
+import com.treslines.candlestick.CandleStickListener;
+import com.treslines.candlestick.ShardedDetectionEngine;
+import com.treslines.data.model.Candle;
+import com.treslines.data.model.CandleSeries;
+
+/**
+ * Sharded multi market engine tests
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+public class ShardedDetectionEngineTest extends BaseCandleStickPatternTest {
+
+	private static final String[] MARKETS = {"BTC-ETH", "BTC-LTC", "BTC-XRP", "USDT-BTC", "BTC-ADA", "BTC-NEO"};
+
+	@Test(timeout = 20000)
+	public void testEveryStreamIsOwnedByOneShard() throws Exception {
+		final Map<String, Set<String>> threadsByMarket = new ConcurrentHashMap<String, Set<String>>();
+		final Map<String, AtomicInteger> hitsByMarket = new ConcurrentHashMap<String, AtomicInteger>();
+		final ShardedDetectionEngine engine = new ShardedDetectionEngine(3, new CandleStickListener() {
+			public void onPatterns(Candle candle, int patterns) {
+				threadsByMarket.get(candle.getMarket()).add(Thread.currentThread().getName());
+				hitsByMarket.get(candle.getMarket()).incrementAndGet();
+			}
+		});
+		Thread[] producers = new Thread[MARKETS.length];
+		int expected = 0;
+		for (int m = 0; m < MARKETS.length; m++) {
+			final String market = MARKETS[m];
+			final List<Candle> history = CandleSeriesScanTest.randomHistory(new Random(m), 1000);
+			for (Candle candle : history) {
+				candle.setMarket(market);
+			}
+			for (int hit : CandleStickFactory.scan(CandleSeries.of(history))) {
+				if(hit != 0) {
+					expected++;
+				}
+			}
+			threadsByMarket.put(market, ConcurrentHashMap.<String> newKeySet());
+			hitsByMarket.put(market, new AtomicInteger());
+			// each market is fed by its own producer thread
+			producers[m] = new Thread() {
+				public void run() {
+					try {
+						for (Candle candle : history) {
+							engine.submit(candle);
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			};
+			producers[m].start();
+		}
+		for (Thread producer : producers) {
+			producer.join();
+		}
+		engine.shutdown();
+		assertTrue(engine.awaitTermination(10, TimeUnit.SECONDS));
+		int found = 0;
+		for (String market : MARKETS) {
+			assertTrue(threadsByMarket.get(market).size() <= 1);
+			found += hitsByMarket.get(market).get();
+		}
+		assertEquals(expected, found);
+		for (int i = 0; i < engine.getShardCount(); i++) {
+			assertEquals(0, engine.getQueueDepth(i));
+		}
+	}
+	
+	@Test(timeout = 20000)
+	public void testMalformedCandleDoesNotStopShard() throws Exception {
+		final List<Integer> found = new CopyOnWriteArrayList<Integer>();
+		final List<Throwable> reported = new CopyOnWriteArrayList<Throwable>();
+		Thread.UncaughtExceptionHandler handler = Thread.getDefaultUncaughtExceptionHandler();
+		Thread.setDefaultUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+			public void uncaughtException(Thread thread, Throwable e) {
+				reported.add(e);
+			}
+		});
+		try {
+			ShardedDetectionEngine engine = new ShardedDetectionEngine(1, new CandleStickListener() {
+				public void onPatterns(Candle candle, int patterns) {
+					found.add(patterns);
+				}
+			});
+			engine.submit(createCandle("600", "500", "610", "490"));
+			engine.submit(createCandle("750", "650", "755", "645"));
+			engine.submit(createCandle("N/A", "700", "755", "645"));
+			engine.submit(createCandle("850", "750", "855", "745"));
+			engine.shutdown();
+			assertTrue(engine.awaitTermination(10, TimeUnit.SECONDS));
+			assertEquals(1, reported.size());
+			assertTrue(reported.get(0) instanceof NumberFormatException);
+			assertTrue(CandlePattern.BULLISH_WHITE_SOLDIERS.in(found.get(found.size() - 1)));
+		} finally {
+			Thread.setDefaultUncaughtExceptionHandler(handler);
+		}
+	}
+	
+	@Test(timeout = 20000)
+	public void testSubmitRacingShutdownIsChecked() throws Exception {
+		// every candle is malformed, so each checked one is reported to the handler
+		final AtomicInteger checked = new AtomicInteger();
+		Thread.UncaughtExceptionHandler handler = Thread.getDefaultUncaughtExceptionHandler();
+		Thread.setDefaultUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+			public void uncaughtException(Thread thread, Throwable e) {
+				checked.incrementAndGet();
+			}
+		});
+		try {
+			for (int round = 0; round < 50; round++) {
+				checked.set(0);
+				final ShardedDetectionEngine engine = new ShardedDetectionEngine(2, null);
+				final AtomicInteger accepted = new AtomicInteger();
+				Thread producer = new Thread() {
+					public void run() {
+						try {
+							for (int i = 0; ; i++) {
+								Candle candle = createCandle("N/A", "100", "110", "90");
+								candle.setMarket(MARKETS[i % MARKETS.length]);
+								engine.submit(candle);
+								accepted.incrementAndGet();
+							}
+						} catch (IllegalStateException | InterruptedException e) {
+							// shut down
+						}
+					}
+				};
+				producer.start();
+				Thread.yield();
+				engine.shutdown();
+				producer.join();
+				assertTrue(engine.awaitTermination(10, TimeUnit.SECONDS));
+				assertEquals(accepted.get(), checked.get());
+			}
+		} finally {
+			Thread.setDefaultUncaughtExceptionHandler(handler);
+		}
+	}
+	
+}
@@ -0,0 +1,99 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.test.candlestick;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.treslines.candlestick.CandlePattern;
+import com.treslines.candlestick.CandleStickFactory;
+import com.treslines.candlestick.StreamingCandleStickDetector;
+import com.treslines.data.model.Candle;
+import com.treslines.data.model.CandleSeries;
+
+/**
+ * Streaming detector tests
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+public class StreamingCandleStickDetectorTest extends BaseCandleStickPatternTest {
+
+	@Test
+	public void testBullishWhiteSoldiers() {
+		StreamingCandleStickDetector detector = new StreamingCandleStickDetector();
+		// oldest first
+		detector.onCandle(createCandle("600", "500", "610", "490"));
+		detector.onCandle(createCandle("750", "650", "755", "645"));
+		int patterns = detector.onCandle(createCandle("850", "750", "855", "745"));
+		assertTrue(CandlePattern.BULLISH_WHITE_SOLDIERS.in(patterns));
+		assertTrue(detector.isBullish());
+		assertFalse(detector.isBearish());
+		assertEquals(3, detector.size());
+	}
+	
+	@Test
+	public void testEmptyCandleClearsWindow() {
+		StreamingCandleStickDetector detector = new StreamingCandleStickDetector();
+		detector.onCandle(createCandle("600", "500", "610", "490"));
+		detector.onCandle(createCandle("750", "650", "755", "645"));
+		assertEquals(0, detector.onCandle(new Candle()));
+		assertEquals(0, detector.size());
+		detector.onCandle(createCandle("850", "750", "855", "745"));
+		assertFalse(CandlePattern.BULLISH_WHITE_SOLDIERS.in(detector.getPatterns()));
+	}
+	
+	@Test
+	public void testStreamMatchesScan() {
+		List<Candle> history = CandleSeriesScanTest.randomHistory(new Random(1807), 2000);
+		int[] hits = CandleStickFactory.scan(CandleSeries.of(history));
+		StreamingCandleStickDetector detector = new StreamingCandleStickDetector();
+		for (int i = 0; i < history.size(); i++) {
+			assertEquals("patterns at " + i, hits[i], detector.onCandle(history.get(i)));
+		}
+	}
+	
+	@Test
+	public void testMalformedCandleLeavesWindow() {
+		StreamingCandleStickDetector detector = new StreamingCandleStickDetector();
+		detector.onCandle(createCandle("600", "500", "610", "490"));
+		detector.onCandle(createCandle("750", "650", "755", "645"));
+		try {
+			detector.onCandle(createCandle("N/A", "700", "755", "645"));
+			fail("Malformed price must not be accepted");
+		} catch (NumberFormatException e) {
+			assertEquals(2, detector.size());
+		}
+		// the soldiers are still found as if the malformed candle never came
+		int patterns = detector.onCandle(createCandle("850", "750", "855", "745"));
+		assertTrue(CandlePattern.BULLISH_WHITE_SOLDIERS.in(patterns));
+		assertEquals(3, detector.size());
+	}
+	
+}
@@ -0,0 +1,123 @@
+/*
+Copyright 2018 Ricardo Ferreira
+
+Permission is hereby granted, free of charge, to any person obtaining a copy 
+of this software and associated documentation files (the "Software"), to deal 
+in the Software without restriction, including without limitation the rights 
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies 
+of the Software, and to permit persons to whom the Software is furnished to do 
+so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all 
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A 
+PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT 
+HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF 
+CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE 
+OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+
+package com.treslines.test.candlestick;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.treslines.candlestick.CandlePattern;
+import com.treslines.candlestick.CandleStickFactory;
+import com.treslines.candlestick.TickCandleBuilder;
+import com.treslines.data.model.Candle;
+import com.treslines.data.model.CandleInterval;
+import com.treslines.data.model.CandleSeries;
+import com.treslines.data.model.NumericCandle;
+
+/**
+ * Trade to candle builder tests
+ * @author Ricardo Ferreira, 17/10/2026
+ * @version 1.0.0
+ */
+public class TickCandleBuilderTest extends BaseCandleStickPatternTest {
+
+	private static final long MINUTE = CandleInterval.ONE_MIN.getMillis();
+
+	@Test
+	public void testBuildCandle() {
+		TickCandleBuilder builder = new TickCandleBuilder("BTC-ETH", CandleInterval.ONE_MIN);
+		builder.onTrade(MINUTE + 10, 100, 1);
+		builder.onTrade(MINUTE + 20, 104, 2);
+		builder.onTrade(MINUTE + 30, 98, 1);
+		builder.onTrade(2 * MINUTE - 1, 101, 0.5);
+		assertTrue(builder.isBuilding());
+		assertEquals(0L, builder.getClosedCount());
+		assertEquals(MINUTE, builder.getStart());
+		// first trade of the next minute closes the candle
+		builder.onTrade(2 * MINUTE, 101, 1);
+		assertEquals(1L, builder.getClosedCount());
+		assertEquals(MINUTE, builder.getClosedStart());
+		NumericCandle candle = builder.getClosed();
+		assertEquals(100, candle.getOpen(), 0);
+		assertEquals(104, candle.getMax(), 0);
+		assertEquals(98, candle.getMin(), 0);
+		assertEquals(101, candle.getClose(), 0);
+		assertEquals(4.5, candle.getVolume(), 0);
+		assertEquals(100 + 208 + 98 + 50.5, candle.getBaseVolume(), 0);
+		assertEquals("BTC-ETH", candle.getMarket());
+		assertEquals("oneMin", candle.getInterval());
+		assertEquals(101, builder.getCurrent().getOpen(), 0);
+	}
+	
+	@Test
+	public void testCloseOnTime() {
+		TickCandleBuilder builder = new TickCandleBuilder("BTC-ETH", CandleInterval.FIVE_MIN);
+		builder.onTrade(1000, 100, 1);
+		builder.onTime(5 * MINUTE - 1);
+		assertTrue(builder.isBuilding());
+		builder.onTime(5 * MINUTE);
+		assertFalse(builder.isBuilding());
+		assertEquals(1L, builder.getClosedCount());
+		// a later trade starts the candle of its own interval, skipping the empty ones
+		builder.onTrade(17 * MINUTE, 102, 1);
+		assertEquals(15 * MINUTE, builder.getStart());
+		assertEquals(1L, builder.getClosedCount());
+	}
+	
+	@Test
+	public void testPatternsMatchScan() {
+		// four trades per candle: open, high, low and close
+		List<Candle> history = CandleSeriesScanTest.randomHistory(new Random(1801), 2000);
+		CandleSeries series = CandleSeries.of(history);
+		int[] hits = CandleStickFactory.scan(series);
+		TickCandleBuilder builder = new TickCandleBuilder("BTC-ETH", CandleInterval.ONE_MIN);
+		NumericCandle candle = new NumericCandle();
+		int found = 0;
+		for (int i = 0; i < series.size(); i++) {
+			series.load(i, candle);
+			int patterns = builder.onTrade(i * MINUTE, candle.getOpen(), 1);
+			if(i > 0) {
+				assertEquals("patterns at " + (i - 1), hits[i - 1], patterns);
+			}
+			builder.onTrade(i * MINUTE + 1, candle.getMax(), 1);
+			builder.onTrade(i * MINUTE + 2, candle.getMin(), 1);
+			builder.onTrade(i * MINUTE + 3, candle.getClose(), 1);
+			found |= hits[i];
+		}
+		assertEquals(hits[series.size() - 1], builder.onTime(series.size() * MINUTE));
+		assertTrue(CandlePattern.isBullish(found));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testOutOfOrderTrade() {
+		TickCandleBuilder builder = new TickCandleBuilder("BTC-ETH", CandleInterval.ONE_MIN);
+		builder.onTrade(2000, 100, 1);
+		builder.onTrade(1000, 100, 1);
+	}
+	
+}